@@ -4,13 +4,20 @@ import android.content.Context;
 import android.content.Intent;
 import android.graphics.Canvas;
 import android.graphics.Paint;
+import android.graphics.Rect;
 import android.util.AttributeSet;
 import android.util.Log;
 import android.view.MotionEvent;
 import android.view.SurfaceHolder;
 import android.view.SurfaceView;
 
+import com.example.templerunclone.engine.BackendBenchmark;
+import com.example.templerunclone.engine.FrameProfiler;
 import com.example.templerunclone.engine.GameEngine;
+import com.example.templerunclone.engine.GameMode;
+import com.example.templerunclone.engine.QualityGovernor;
+import com.example.templerunclone.engine.RenderBackend;
+import com.example.templerunclone.managers.HighScoreManager;
 import com.example.templerunclone.managers.ResourceManager;
 import com.example.templerunclone.managers.SoundManager;
 import com.example.templerunclone.ui.LoadingScreen;
@@ -23,6 +30,7 @@ public class GameView extends SurfaceView implements Runnable {
     private static final String TAG = "GameView";
     private static final int TARGET_FPS = 60;
     private static final long FRAME_TIME = 1000 / TARGET_FPS;
+    private static final long IDLE_FRAME_TIME = 250; // poll rate while a static screen is shown
     
     // Core components
     private Thread gameThread;
@@ -39,10 +47,33 @@ public class GameView extends SurfaceView implements Runnable {
     // Screen dimensions
     private int screenWidth = 0, screenHeight = 0;
     
+    // Selected game mode (set before the surface is created)
+    private GameMode gameMode = GameMode.CLASSIC;
+    
+    // Resume the run saved before the process was killed instead of starting a new one
+    private boolean restoreSnapshot = false;
+    
+    // Frame timing and adaptive quality (game thread only)
+    private final FrameProfiler profiler = new FrameProfiler();
+    private final QualityGovernor qualityGovernor = new QualityGovernor();
+    
+    // Canvas backend for the current surface, verified on its first frame
+    private RenderBackend renderBackend = RenderBackend.SOFTWARE;
+    private volatile boolean backendProbed = false;
+    private volatile boolean backendFailed = false;
+    private BackendBenchmark backendBenchmark;
+    
+    // Partial redraws on static screens; the loop sleeps on idleLock until touched
+    private final Rect dirtyRect = new Rect();
+    private final Object idleLock = new Object();
+    
     // Surface state
     private volatile boolean surfaceReady = false;
     private volatile boolean resourcesLoaded = false;
     
+    // Set while the stress benchmark runs, so the live loop does not compete for the CPU
+    private volatile boolean loopHeld = false;
+    
     public GameView(Context context) {
         super(context);
         initialize(context);
@@ -63,7 +94,8 @@ public class GameView extends SurfaceView implements Runnable {
             @Override
             public void surfaceCreated(SurfaceHolder surfaceHolder) {
                 surfaceReady = true;
-                Log.d(TAG, "Surface created");
+                backendProbed = false;
+                Log.d(TAG, "Surface created (" + renderBackend + " canvas)");
                 
                 if (isPlaying && (gameThread == null || !gameThread.isAlive())) {
                     startGameThread();
@@ -81,6 +113,11 @@ public class GameView extends SurfaceView implements Runnable {
                 
                 // Initialize game engine with screen dimensions
                 initializeGameEngine();
+                
+                // A new surface has no content to preserve
+                if (gameEngine != null) {
+                    gameEngine.invalidateScreen();
+                }
             }
             
             @Override
@@ -98,8 +135,19 @@ public class GameView extends SurfaceView implements Runnable {
             Log.d(TAG, "Initializing game engine with dimensions: " + screenWidth + "x" + screenHeight);
             
             // Initialize game engine first (lightweight)
-            gameEngine = new GameEngine(screenWidth, screenHeight);
+            gameEngine = new GameEngine(screenWidth, screenHeight, gameMode);
+            if (restoreSnapshot) {
+                gameEngine.requestSnapshotRestore();
+            }
             gameEngine.setContext(getContext());
+            gameEngine.applyQualityTier(qualityGovernor.getTier());
+            profiler.setTier(qualityGovernor.getTier());
+            qualityGovernor.setListener((oldTier, newTier, avgFrameMs) -> {
+                profiler.onTierChanged(oldTier, newTier, avgFrameMs);
+                if (gameEngine != null) {
+                    gameEngine.applyQualityTier(newTier);
+                }
+            });
             
             // Load resources in background thread to avoid blocking UI
             new Thread(() -> {
@@ -114,11 +162,15 @@ public class GameView extends SurfaceView implements Runnable {
                     soundManager = new SoundManager();
                     soundManager.initialize(getContext());
                     
+                    // Replays the score history on first use (shared with the high score screen)
+                    final HighScoreManager highScores = HighScoreManager.getInstance(getContext());
+                    
                     // Set managers on main thread
                     post(() -> {
                         if (gameEngine != null) {
                             gameEngine.setResourceManager(resourceManager);
                             gameEngine.setSoundManager(soundManager);
+                            gameEngine.setHighScoreManager(highScores);
                             resourcesLoaded = true;
                             Log.d(TAG, "Game engine initialized successfully");
                         }
@@ -203,7 +255,35 @@ public class GameView extends SurfaceView implements Runnable {
         if (soundManager != null) {
             soundManager.resumeMusic();
         }
-    }    private void startGameThread() {
+    }
+    
+    /**
+     * Stop the game thread without ending the game, until releaseGameLoop()
+     */
+    public void holdGameLoop() {
+        loopHeld = true;
+        if (gameThread != null) {
+            try {
+                gameThread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            gameThread = null;
+        }
+    }
+    
+    /**
+     * Let the game thread run again; call on the UI thread
+     */
+    public void releaseGameLoop() {
+        loopHeld = false;
+        if (isPlaying && surfaceReady) {
+            startGameThread();
+        }
+    }
+    
+    private void startGameThread() {
+        if (loopHeld) return;
         if (gameThread == null || !gameThread.isAlive()) {
             gameThread = new Thread(this);
             gameThread.start();
@@ -218,7 +298,7 @@ public class GameView extends SurfaceView implements Runnable {
         int frameCount = 0;
         long lastFpsTime = System.currentTimeMillis();
         
-        while (isPlaying && surfaceReady) {
+        while (isPlaying && surfaceReady && !loopHeld) {
             long currentTime = System.currentTimeMillis();
             long deltaTime = currentTime - lastTime;
             
@@ -228,6 +308,10 @@ public class GameView extends SurfaceView implements Runnable {
             }
             
             // Update game logic only if resources are loaded
+            boolean profiling = gameEngine != null && resourcesLoaded;
+            if (profiling) {
+                profiler.beginUpdate();
+            }
             if (gameEngine != null && resourcesLoaded) {
                 gameEngine.update();
                 
@@ -242,7 +326,23 @@ public class GameView extends SurfaceView implements Runnable {
             }
             
             // Render game
-            render();
+            if (profiling) {
+                profiler.beginRender();
+            }
+            boolean rendered = render();
+            if (profiling && rendered) {
+                profiler.recordBackground(gameEngine.getBackgroundDrawMs());
+                // Work time only (no pacing sleep) drives the quality tier
+                float workMs = profiler.endFrame();
+                if (backendBenchmark != null) {
+                    // Tier held steady so both backends draw the same scene
+                    if (backendBenchmark.onFrame(workMs)) {
+                        finishBackendBenchmark();
+                    }
+                } else {
+                    qualityGovernor.onFrame(workMs);
+                }
+            }
             
             // Reduced logging frequency to every 3 seconds
             frameCount++;
@@ -255,7 +355,17 @@ public class GameView extends SurfaceView implements Runnable {
             
             // Control frame rate with better timing
             long frameTime = System.currentTimeMillis() - currentTime;
-            if (frameTime < FRAME_TIME) {
+            if (!rendered) {
+                // Static screen: wait for a touch (or the idle poll) instead of spinning
+                try {
+                    synchronized (idleLock) {
+                        idleLock.wait(IDLE_FRAME_TIME);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            } else if (frameTime < FRAME_TIME) {
                 try {
                     Thread.sleep(FRAME_TIME - frameTime);
                 } catch (InterruptedException e) {
@@ -270,6 +380,31 @@ public class GameView extends SurfaceView implements Runnable {
         Log.d(TAG, "Game thread ended");
     }
     
+    /**
+     * The surface is already bound to the hardware path, so fall back by recreating
+     * the activity; the failure is remembered and the new surface starts in software
+     */
+    private void onHardwareCanvasFailed(String reason) {
+        backendFailed = true;
+        RenderBackend.markHardwareFailed(getContext(), reason);
+        post(() -> {
+            if (getContext() instanceof MainActivity) {
+                ((MainActivity) getContext()).recreate();
+            }
+        });
+    }
+    
+    private void finishBackendBenchmark() {
+        BackendBenchmark finished = backendBenchmark;
+        backendBenchmark = null;
+        finished.finish(getContext());
+        post(() -> {
+            if (getContext() instanceof MainActivity) {
+                ((MainActivity) getContext()).onBackendBenchmarkPhaseDone();
+            }
+        });
+    }
+    
     private void handleGameAction(String action) {
         switch (action) {
             case "HOME":
@@ -287,26 +422,50 @@ public class GameView extends SurfaceView implements Runnable {
         }
     }
     
-    private void render() {
-        if (!surfaceReady || holder == null) {
-            return; // Reduce logging spam
+    /**
+     * Draw one frame; returns false when a static screen had nothing to redraw
+     */
+    private boolean render() {
+        if (!surfaceReady || holder == null || backendFailed) {
+            return true; // Reduce logging spam
+        }
+        
+        boolean engineReady = gameEngine != null && resourcesLoaded;
+        if (engineReady && !gameEngine.collectDirtyRegion(dirtyRect)) {
+            return false;
         }
         
         Canvas canvas = null;
+        boolean posted = false;
         try {
-            canvas = holder.lockCanvas();
+            boolean hardware = renderBackend == RenderBackend.HARDWARE;
+            if (hardware) {
+                // Hardware frames are always full; the dirty area only decides whether to draw
+                canvas = holder.lockHardwareCanvas();
+            } else {
+                // Partial lock keeps the previous frame outside the dirty area
+                boolean partial = engineReady && !gameEngine.isFullScreen(dirtyRect);
+                canvas = partial ? holder.lockCanvas(dirtyRect) : holder.lockCanvas();
+            }
+            if (canvas != null && !backendProbed) {
+                backendProbed = true;
+                String failedOp = RenderBackend.probe(canvas, hardware);
+                if (failedOp != null && hardware) {
+                    onHardwareCanvasFailed(failedOp);
+                }
+            }
             if (canvas != null) {
-                // Clear canvas with optimized method
-                canvas.drawColor(android.graphics.Color.BLACK);
-                
-                if (gameEngine != null && resourcesLoaded) {
-                    // Only render if all components are ready
+                if (engineReady) {
+                    // Only render if all components are ready (the opaque background covers the frame)
                     gameEngine.render(canvas, paint);
+                    profiler.draw(canvas);
                 } else if (loadingScreen != null) {
                     // Show loading screen
+                    canvas.drawColor(android.graphics.Color.BLACK);
                     loadingScreen.draw(canvas);
                 } else {
                     // Fallback loading text
+                    canvas.drawColor(android.graphics.Color.BLACK);
                     paint.setColor(android.graphics.Color.WHITE);
                     paint.setTextSize(60);
                     paint.setTextAlign(Paint.Align.CENTER);
@@ -315,15 +474,24 @@ public class GameView extends SurfaceView implements Runnable {
             }
         } catch (Exception e) {
             Log.e(TAG, "Error during rendering", e);
+            if (renderBackend == RenderBackend.HARDWARE && !backendProbed) {
+                backendProbed = true;
+                onHardwareCanvasFailed(e.toString());
+            }
         } finally {
             if (canvas != null) {
                 try {
                     holder.unlockCanvasAndPost(canvas);
+                    posted = true;
                 } catch (Exception e) {
                     Log.e(TAG, "Error unlocking canvas", e);
                 }
             }
         }
+        if (posted && engineReady) {
+            gameEngine.onFramePosted();
+        }
+        return true;
     }
     
     @Override
@@ -333,6 +501,11 @@ public class GameView extends SurfaceView implements Runnable {
         float x = event.getX();
         float y = event.getY();
         
+        // Static screens sleep between redraws; let the loop react to this touch now
+        synchronized (idleLock) {
+            idleLock.notify();
+        }
+        
         switch (event.getAction()) {
             case MotionEvent.ACTION_DOWN:
                 gameEngine.handleTouch(x, y, true);
@@ -352,6 +525,36 @@ public class GameView extends SurfaceView implements Runnable {
     }
     
     // Public API
+    public void setGameMode(GameMode gameMode) {
+        this.gameMode = gameMode != null ? gameMode : GameMode.CLASSIC;
+    }
+    
+    /**
+     * Choose the canvas backend; takes effect for the next surface
+     */
+    public void setRenderBackend(RenderBackend backend) {
+        this.renderBackend = RenderBackend.resolve(getContext(), backend);
+    }
+    
+    /**
+     * Measure frame times on one backend for the A/B benchmark
+     */
+    public void startBackendBenchmark(RenderBackend backend) {
+        setRenderBackend(backend);
+        backendBenchmark = new BackendBenchmark(renderBackend);
+    }
+    
+    /**
+     * Call before the surface is created
+     */
+    public void setRestoreSnapshot(boolean restoreSnapshot) {
+        this.restoreSnapshot = restoreSnapshot;
+    }
+    
+    public RenderBackend getRenderBackend() {
+        return renderBackend;
+    }
+    
     public boolean isGameOver() {
         return gameEngine != null && gameEngine.isGameOver();
     }
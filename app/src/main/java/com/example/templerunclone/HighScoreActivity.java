@@ -1,29 +1,53 @@
 package com.example.templerunclone;
 
 import android.app.Activity;
+import android.content.Context;
 import android.graphics.Color;
 import android.graphics.Typeface;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.Button;
 import android.widget.LinearLayout;
+import android.widget.ListView;
 import android.widget.TextView;
+import com.example.templerunclone.levels.LevelCatalog;
 import com.example.templerunclone.managers.HighScoreManager;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import com.example.templerunclone.managers.Leaderboard;
+import com.example.templerunclone.managers.LeaderboardIndex;
+import com.example.templerunclone.ui.HighScoreAdapter;
 import java.util.List;
-import java.util.Locale;
 
 public class HighScoreActivity extends Activity {
+    private static final Leaderboard.Period[] PERIODS = {
+        Leaderboard.Period.ALL_TIME, Leaderboard.Period.WEEK, Leaderboard.Period.DAY
+    };
+    private static final String[] PERIOD_NAMES = {"ALL TIME", "THIS WEEK", "TODAY"};
+    
     private HighScoreManager highScoreManager;
+    private HighScoreAdapter scoreAdapter;
+    private int levelFilter = LeaderboardIndex.ALL_LEVELS;
+    private int periodIndex = 0;
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         
-        highScoreManager = new HighScoreManager(this);
-        
+        // The level filter cycles through the levels that exist
+        LevelCatalog.getInstance().load(this);
+        scoreAdapter = new HighScoreAdapter(this);
         setupUI();
+        
+        // The first use replays the whole score history from disk: keep it off the
+        // UI thread and fill the list once it is ready (instant if the game loaded it)
+        final Context appContext = getApplicationContext();
+        new Thread(() -> {
+            final HighScoreManager loaded = HighScoreManager.getInstance(appContext);
+            runOnUiThread(() -> {
+                if (isFinishing()) return;
+                highScoreManager = loaded;
+                showLeaderboard();
+            });
+        }, "HighScoreLoad").start();
     }
     
     private void setupUI() {
@@ -43,61 +67,46 @@ public class HighScoreActivity extends Activity {
         titleView.setPadding(0, 0, 0, 40);
         mainLayout.addView(titleView);
         
-        // High scores list
-        List<HighScoreManager.HighScore> scores = highScoreManager.getHighScores();
-        SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
+        // Leaderboard filters: level and period, each cycled by its button
+        LinearLayout filterLayout = new LinearLayout(this);
+        filterLayout.setOrientation(LinearLayout.HORIZONTAL);
+        filterLayout.setPadding(0, 0, 0, 20);
         
-        for (int i = 0; i < Math.max(8, scores.size()); i++) {
-            LinearLayout scoreLayout = new LinearLayout(this);
-            scoreLayout.setOrientation(LinearLayout.HORIZONTAL);
-            scoreLayout.setPadding(0, 10, 0, 10);
-            
-            // Rank
-            TextView rankView = new TextView(this);
-            rankView.setText(String.valueOf(i + 1) + ".");
-            rankView.setTextColor(Color.WHITE);
-            rankView.setTextSize(24);
-            rankView.setMinWidth(80);
-            rankView.setTypeface(Typeface.DEFAULT_BOLD);
-            scoreLayout.addView(rankView);
-            
-            if (i < scores.size()) {
-                HighScoreManager.HighScore score = scores.get(i);
-                
-                // Score
-                TextView scoreView = new TextView(this);
-                scoreView.setText(String.valueOf(score.score));
-                scoreView.setTextColor(i < 3 ? Color.rgb(255, 215, 0) : Color.WHITE); // Gold for top 3
-                scoreView.setTextSize(24);
-                scoreView.setTypeface(i < 3 ? Typeface.DEFAULT_BOLD : Typeface.DEFAULT);
-                scoreView.setMinWidth(200);
-                scoreLayout.addView(scoreView);
-                
-                // Level
-                TextView levelView = new TextView(this);
-                levelView.setText("Level " + score.level);
-                levelView.setTextColor(Color.CYAN);
-                levelView.setTextSize(20);
-                levelView.setMinWidth(150);
-                scoreLayout.addView(levelView);
-                
-                // Date
-                TextView dateView = new TextView(this);
-                dateView.setText(dateFormat.format(new Date(score.timestamp)));
-                dateView.setTextColor(Color.GRAY);
-                dateView.setTextSize(16);
-                scoreLayout.addView(dateView);
-            } else {
-                // Empty slot
-                TextView emptyView = new TextView(this);
-                emptyView.setText("---");
-                emptyView.setTextColor(Color.GRAY);
-                emptyView.setTextSize(24);
-                scoreLayout.addView(emptyView);
+        final Button levelButton = new Button(this);
+        levelButton.setText("ALL LEVELS");
+        levelButton.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                levelFilter = (levelFilter + 1) % (LevelCatalog.getInstance().getLevelCount() + 1);
+                levelButton.setText(levelFilter == LeaderboardIndex.ALL_LEVELS ? "ALL LEVELS" : "LEVEL " + levelFilter);
+                showLeaderboard();
             }
-            
-            mainLayout.addView(scoreLayout);
-        }
+        });
+        filterLayout.addView(levelButton);
+        
+        final Button periodButton = new Button(this);
+        periodButton.setText(PERIOD_NAMES[periodIndex]);
+        periodButton.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                periodIndex = (periodIndex + 1) % PERIODS.length;
+                periodButton.setText(PERIOD_NAMES[periodIndex]);
+                showLeaderboard();
+            }
+        });
+        filterLayout.addView(periodButton);
+        mainLayout.addView(filterLayout);
+        
+        // High scores list: a recycled list view over the selected leaderboard,
+        // which only builds and formats the rows on screen
+        ListView scoreList = new ListView(this);
+        scoreList.setDivider(null);
+        scoreList.setFastScrollEnabled(true);
+        scoreList.setLayoutParams(new LinearLayout.LayoutParams(
+            LinearLayout.LayoutParams.MATCH_PARENT, 0, 1f));
+        scoreList.setAdapter(scoreAdapter);
+        mainLayout.addView(scoreList);
+        showLeaderboard();
         
         // Back button
         Button backButton = new Button(this);
@@ -142,8 +151,9 @@ public class HighScoreActivity extends Activity {
         clearButton.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View v) {
+                if (highScoreManager == null) return; // still loading
                 highScoreManager.clearHighScores();
-                setupUI(); // Refresh the UI
+                scoreAdapter.refresh(); // Refresh the list
             }
         });
         
@@ -151,4 +161,24 @@ public class HighScoreActivity extends Activity {
         
         setContentView(mainLayout);
     }
+    
+    /**
+     * Point the list at the leaderboard picked by the filter buttons
+     */
+    private void showLeaderboard() {
+        if (highScoreManager == null) return; // shown when loading finishes
+        final int level = levelFilter;
+        final Leaderboard.Period period = PERIODS[periodIndex];
+        scoreAdapter.setSource(new HighScoreAdapter.Source() {
+            @Override
+            public int getCount() {
+                return highScoreManager.getScoreCount(level, period);
+            }
+            
+            @Override
+            public List<HighScoreManager.HighScore> getPage(int offset, int limit) {
+                return highScoreManager.getScores(level, period, offset, limit);
+            }
+        });
+    }
 }
\ No newline at end of file
@@ -1,11 +1,25 @@
 package com.example.templerunclone;
 
 import android.os.Bundle;
+import android.util.Log;
 import android.view.Window;
 import android.view.WindowManager;
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.example.templerunclone.engine.BackendBenchmark;
+import com.example.templerunclone.engine.GameMode;
+import com.example.templerunclone.engine.RenderBackend;
+import com.example.templerunclone.engine.StressBenchmark;
+
 public class MainActivity extends AppCompatActivity {
+    
+    // Intent extras: game mode name, and a flag to run the headless stress benchmark
+    public static final String EXTRA_GAME_MODE = "game_mode";
+    public static final String EXTRA_RUN_BENCHMARK = "run_benchmark";
+    
+    // Intent extras: canvas backend name, and a flag to run the software/hardware A/B benchmark
+    public static final String EXTRA_RENDER_BACKEND = "render_backend";
+    public static final String EXTRA_BENCHMARK_BACKENDS = "benchmark_backends";
 
     private GameView gameView;
 
@@ -20,7 +34,55 @@ public class MainActivity extends AppCompatActivity {
         
         // Create and set the game view
         gameView = new GameView(this);
+        gameView.setGameMode(GameMode.fromName(getIntent().getStringExtra(EXTRA_GAME_MODE)));
+        // Recreated after the process was killed or a config change: pick the run back up.
+        // The old instance saved on pause; GameSnapshot reads only after that save lands.
+        gameView.setRestoreSnapshot(savedInstanceState != null);
+        
+        // adb shell am start -n com.example.templerunclone/.MainActivity --ez benchmark_backends true --es game_mode bullet_hell
+        if (getIntent().getBooleanExtra(EXTRA_BENCHMARK_BACKENDS, false)) {
+            if (savedInstanceState == null) {
+                BackendBenchmark.reset(this);
+            }
+            RenderBackend next = BackendBenchmark.nextBackend(this);
+            if (next != null) {
+                gameView.startBackendBenchmark(next);
+            } else {
+                Log.i("MainActivity", BackendBenchmark.report(this));
+                gameView.setRenderBackend(RenderBackend.preferred(this));
+            }
+        } else {
+            gameView.setRenderBackend(RenderBackend.fromName(
+                getIntent().getStringExtra(EXTRA_RENDER_BACKEND), RenderBackend.preferred(this)));
+        }
         setContentView(gameView);
+        
+        // adb shell am start -n com.example.templerunclone/.MainActivity --ez run_benchmark true
+        if (getIntent().getBooleanExtra(EXTRA_RUN_BENCHMARK, false)) {
+            runStressBenchmark();
+        }
+    }
+    
+    private void runStressBenchmark() {
+        final int width = getResources().getDisplayMetrics().widthPixels;
+        final int height = getResources().getDisplayMetrics().heightPixels;
+        // The live game loop would compete with the benchmark for the CPU
+        gameView.holdGameLoop();
+        new Thread(() -> {
+            StressBenchmark.run(getApplicationContext(), width, height, 180, 600, true);
+            runOnUiThread(() -> gameView.releaseGameLoop());
+        }, "StressBenchmark").start();
+    }
+    
+    /**
+     * One benchmark phase finished: recreate on the next backend, or report the A/B result
+     */
+    void onBackendBenchmarkPhaseDone() {
+        if (BackendBenchmark.nextBackend(this) != null) {
+            recreate();
+        } else {
+            Log.i("MainActivity", BackendBenchmark.report(this));
+        }
     }
 
     @Override
@@ -9,6 +9,8 @@ import android.widget.ImageButton;
 import android.widget.ProgressBar;
 import android.widget.Toast;
 
+import com.example.templerunclone.engine.GameMode;
+
 public class MainMenuActivity extends Activity {
 
     private PreloadManager pm;
@@ -45,6 +47,7 @@ public class MainMenuActivity extends Activity {
 
     private void setupMenu() {
         Button btnPlay = findViewById(R.id.btnPlay);
+        Button btnBulletHell = findViewById(R.id.btnBulletHell);
         Button btnExit = findViewById(R.id.btnExit);
         ImageButton btnMusic = findViewById(R.id.btnMusic);
         ImageButton btnSound = findViewById(R.id.btnSound);
@@ -54,6 +57,13 @@ public class MainMenuActivity extends Activity {
             Intent intent = new Intent(MainMenuActivity.this, MainActivity.class);
             startActivity(intent);
         });
+        
+        // nút Bullet Hell (stress mode)
+        btnBulletHell.setOnClickListener(v -> {
+            Intent intent = new Intent(MainMenuActivity.this, MainActivity.class);
+            intent.putExtra(MainActivity.EXTRA_GAME_MODE, GameMode.BULLET_HELL.name());
+            startActivity(intent);
+        });
 
         // nút Exit
         btnExit.setOnClickListener(v -> finish());
@@ -63,10 +73,10 @@ public class MainMenuActivity extends Activity {
             musicOn = !musicOn;
             btnMusic.setImageBitmap(musicOn ? pm.getMusicOn() : pm.getMusicOff());
             Toast.makeText(this, musicOn ? "Music On" : "Music Off", Toast.LENGTH_SHORT).show();
-            if (musicOn && pm.getBgMusic() != null) {
-                pm.getBgMusic().start();
-            } else if (pm.getBgMusic() != null) {
-                pm.getBgMusic().pause();
+            if (musicOn && pm.getMusic() != null) {
+                pm.getMusic().resume();
+            } else if (pm.getMusic() != null) {
+                pm.getMusic().pause();
             }
         });
 
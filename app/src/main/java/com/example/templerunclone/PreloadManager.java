@@ -3,14 +3,13 @@ package com.example.templerunclone;
 import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
-import android.media.AudioAttributes;
-import android.media.MediaPlayer;
 import android.media.SoundPool;
 import android.os.Handler;
 import android.os.Looper;
 import android.util.Log;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import com.example.templerunclone.managers.AudioBank;
+import com.example.templerunclone.managers.MusicEngine;
 
 public class PreloadManager {
     private static final String TAG = "PreloadManager";
@@ -36,10 +35,6 @@ public class PreloadManager {
     private Bitmap soundOn, soundOff;
     private Bitmap explosion;
 
-    private SoundPool soundPool;
-    private int soundShoot, soundBorder, soundWarning, soundPlayerExplode, soundEnemyExplode;
-    private MediaPlayer bgMusic;
-
     // ==== Getter ====
     public boolean isLoaded() { return loaded; }
     public Bitmap getBackground() { return background; }
@@ -53,13 +48,13 @@ public class PreloadManager {
     public Bitmap getSoundOff() { return soundOff; }
     public Bitmap getExplosion() { return explosion; }
 
-    public SoundPool getSoundPool() { return soundPool; }
-    public int getSoundShoot() { return soundShoot; }
-    public int getSoundBorder() { return soundBorder; }
-    public int getSoundWarning() { return soundWarning; }
-    public int getSoundPlayerExplode() { return soundPlayerExplode; }
-    public int getSoundEnemyExplode() { return soundEnemyExplode; }
-    public MediaPlayer getBgMusic() { return bgMusic; }
+    public SoundPool getSoundPool() { return AudioBank.getInstance().getSoundPool(); }
+    public int getSoundShoot() { return AudioBank.getInstance().getSoundId(AudioBank.SAMPLE_SHOOT); }
+    public int getSoundBorder() { return AudioBank.getInstance().getSoundId(AudioBank.SAMPLE_BORDER); }
+    public int getSoundWarning() { return AudioBank.getInstance().getSoundId(AudioBank.SAMPLE_WARNING); }
+    public int getSoundPlayerExplode() { return AudioBank.getInstance().getSoundId(AudioBank.SAMPLE_PLAYER_EXPLODE); }
+    public int getSoundEnemyExplode() { return AudioBank.getInstance().getSoundId(AudioBank.SAMPLE_ENEMY_EXPLODE); }
+    public MusicEngine getMusic() { return AudioBank.getInstance().getMusic(); }
 
     // ==== Helpers ====
     private static int calculateInSampleSize(BitmapFactory.Options options, int reqWidth, int reqHeight) {
@@ -150,63 +145,14 @@ public class PreloadManager {
                 opts.inJustDecodeBounds = false;
                 explosion = BitmapFactory.decodeResource(appCtx.getResources(), R.drawable.explosion1, opts);
 
-                // Prepare SoundPool
-                AudioAttributes audioAttributes = new AudioAttributes.Builder()
-                        .setUsage(AudioAttributes.USAGE_GAME)
-                        .setContentType(AudioAttributes.CONTENT_TYPE_SONIFICATION)
-                        .build();
-
-                soundPool = new SoundPool.Builder()
-                        .setMaxStreams(6)
-                        .setAudioAttributes(audioAttributes)
-                        .build();
-
-                // load sound effects and wait for load completion
-                final int expectedSounds = 5; // shoot, border, warning, player explode, enemy explode
-                AtomicInteger remaining = new AtomicInteger(expectedSounds);
-
-                soundPool.setOnLoadCompleteListener((sp, sampleId, status) -> {
-                    if (status != 0) {
-                        Log.w(TAG, "Sound load failed id=" + sampleId);
-                    }
-                    if (remaining.decrementAndGet() <= 0) {
-                        // All sounds loaded: mark loaded true and notify on main thread (unless already set)
-                        loaded = true;
-                        if (bgMusic != null) {
-                            // nothing
-                        }
-                        new Handler(Looper.getMainLooper()).post(() -> {
-                            if (listener != null) listener.onPreloadFinished();
-                        });
-                    }
-                });
-
-                soundShoot = soundPool.load(appCtx, R.raw.shoot, 1);
-                soundBorder = soundPool.load(appCtx, R.raw.border, 1);
-                soundWarning = soundPool.load(appCtx, R.raw.warning, 1);
-
-                // Optional additional sounds — add these resources if present in res/raw
-                // If your project doesn't have these files, remove or comment next two lines
-                soundPlayerExplode = soundPool.load(appCtx, R.raw.player_explode, 1);
-                soundEnemyExplode = soundPool.load(appCtx, R.raw.enemy_explode, 1);
-
-                // Background music — use application context and prepare (create returns prepared MediaPlayer)
-                try {
-                    bgMusic = MediaPlayer.create(appCtx, R.raw.bg_music);
-                    if (bgMusic != null) bgMusic.setLooping(true);
-                } catch (Exception e) {
-                    Log.w(TAG, "bgMusic create failed", e);
-                }
-
-                // Note: loaded will be set true in OnLoadComplete after all sounds are loaded.
-                // However if sound load isn't critical, you may set loaded=true here instead.
-                // For safety, if there are zero sounds to load (edge-case), post listener:
-                if (expectedSounds == 0) {
+                // Sound effects and music come from the shared audio bank, which the
+                // game reuses instead of decoding the same files again
+                AudioBank.getInstance().load(appCtx, () -> {
                     loaded = true;
                     new Handler(Looper.getMainLooper()).post(() -> {
                         if (listener != null) listener.onPreloadFinished();
                     });
-                }
+                });
 
             } catch (Throwable t) {
                 Log.e(TAG, "Preload error", t);
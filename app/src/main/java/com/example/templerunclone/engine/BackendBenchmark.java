@@ -0,0 +1,104 @@
+package com.example.templerunclone.engine;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import java.util.Arrays;
+
+/**
+ * On-device A/B benchmark of the render backends.
+ * Each phase measures the live game loop's frame work time on one backend; since a
+ * Surface cannot switch backends, the activity is recreated between phases and the
+ * results are carried over in SharedPreferences.
+ */
+public class BackendBenchmark {
+    private static final String TAG = "BackendBenchmark";
+    private static final String PREFS_NAME = "BackendBenchmark";
+    private static final int WARMUP_FRAMES = 120;
+    private static final int MEASURED_FRAMES = 600;
+    
+    private final RenderBackend backend;
+    private final float[] frameMs = new float[MEASURED_FRAMES];
+    private int warmup = 0;
+    private int frames = 0;
+    
+    public BackendBenchmark(RenderBackend backend) {
+        this.backend = backend;
+    }
+    
+    /**
+     * Record one frame's work time; true once the phase has enough samples
+     */
+    public boolean onFrame(float workMs) {
+        if (warmup < WARMUP_FRAMES) {
+            warmup++;
+            return false;
+        }
+        if (frames < MEASURED_FRAMES) {
+            frameMs[frames++] = workMs;
+        }
+        return frames == MEASURED_FRAMES;
+    }
+    
+    /**
+     * Store this phase's result and log it
+     */
+    public void finish(Context context) {
+        float[] sorted = Arrays.copyOf(frameMs, frames);
+        Arrays.sort(sorted);
+        float total = 0f;
+        for (float ms : sorted) {
+            total += ms;
+        }
+        float avg = frames > 0 ? total / frames : 0f;
+        float p95 = frames > 0 ? sorted[Math.min(frames - 1, (int) (frames * 0.95f))] : 0f;
+        
+        Log.i(TAG, String.format(java.util.Locale.US, "%s: frames=%d avg=%.2fms p95=%.2fms",
+            backend, frames, avg, p95));
+        prefs(context).edit()
+            .putString(backend.name(), String.format(java.util.Locale.US, "avg=%.2fms p95=%.2fms", avg, p95))
+            .apply();
+    }
+    
+    public RenderBackend getBackend() { return backend; }
+    
+    /**
+     * Forget results from an earlier run (call when the benchmark is launched)
+     */
+    public static void reset(Context context) {
+        prefs(context).edit().clear().commit();
+    }
+    
+    /**
+     * The next backend to measure in this run, or null when every available one is done
+     */
+    public static RenderBackend nextBackend(Context context) {
+        SharedPreferences prefs = prefs(context);
+        if (!prefs.contains(RenderBackend.SOFTWARE.name())) {
+            return RenderBackend.SOFTWARE;
+        }
+        if (!prefs.contains(RenderBackend.HARDWARE.name())
+                && RenderBackend.preferred(context) == RenderBackend.HARDWARE) {
+            return RenderBackend.HARDWARE;
+        }
+        return null;
+    }
+    
+    /**
+     * Side-by-side summary of the phases measured so far
+     */
+    public static String report(Context context) {
+        SharedPreferences prefs = prefs(context);
+        StringBuilder sb = new StringBuilder("Render backend A/B:");
+        for (RenderBackend backend : RenderBackend.values()) {
+            sb.append(' ').append(backend.name().toLowerCase(java.util.Locale.US)).append('[')
+                .append(prefs.getString(backend.name(), "unavailable")).append(']');
+        }
+        return sb.toString();
+    }
+    
+    private static SharedPreferences prefs(Context context) {
+        return context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+}
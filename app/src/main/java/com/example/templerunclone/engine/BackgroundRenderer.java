@@ -2,43 +2,78 @@ package com.example.templerunclone.engine;
 
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Rect;
+
+import java.util.Random;
 
 /**
- * Handles scrolling background rendering
+ * Handles scrolling background rendering.
+ * The level background is pre-composited once into a screen-sized opaque RGB_565 strip,
+ * so each frame is an unfiltered, unblended copy at whole-pixel offsets. Extra parallax
+ * layers (transparent, each with its own speed factor) scroll on top of it.
  */
 public class BackgroundRenderer {
-    private Bitmap backgroundBitmap;
-    private float bgY1, bgY2;
+    private static final String TAG = "BackgroundRenderer";
+    private static final int MAX_LAYERS = 4;
+    private static final float DUST_SPEED_FACTOR = 3f;
+    
+    private Bitmap backgroundBitmap; // level art as handed in (not owned)
     private float bgSpeed = 12f;
     private int screenWidth, screenHeight;
+    private int scrollLayers = 1; // 0 = static background, one blit per frame
+    
+    // Layer 0 is the opaque strip; the rest are parallax overlays
+    private final Bitmap[] layerBitmaps = new Bitmap[MAX_LAYERS];
+    private final float[] layerSpeeds = new float[MAX_LAYERS];
+    private final float[] layerOffsets = new float[MAX_LAYERS];
+    private int layerCount = 0;
+    private boolean stripOwned = false; // false when drawing the source directly
+    
+    // Whole-pixel blits: no filtering, dithering or anti-aliasing
+    private final Paint blitPaint;
+    
+    private long lastDrawNanos;
     
     public BackgroundRenderer(int screenWidth, int screenHeight) {
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
-        this.bgY1 = 0f;
-        this.bgY2 = -screenHeight;
+        
+        blitPaint = new Paint();
+        blitPaint.setAntiAlias(false);
+        blitPaint.setFilterBitmap(false);
+        blitPaint.setDither(false);
     }
     
     public void update(float deltaTime, float speedMultiplier) {
-        float actualSpeed = bgSpeed * speedMultiplier * deltaTime / 1000f;
-        
-        bgY1 += actualSpeed;
-        bgY2 += actualSpeed;
+        if (scrollLayers == 0 || layerCount == 0 || layerBitmaps[0] == null) return;
         
-        // Reset positions when off screen
-        if (bgY1 >= screenHeight) {
-            bgY1 = bgY2 - screenHeight;
-        }
-        if (bgY2 >= screenHeight) {
-            bgY2 = bgY1 - screenHeight;
+        float distance = bgSpeed * speedMultiplier * deltaTime / 1000f;
+        int active = Math.min(scrollLayers, layerCount);
+        for (int i = 0; i < active; i++) {
+            float offset = layerOffsets[i] + distance * layerSpeeds[i];
+            int height = layerBitmaps[i].getHeight();
+            // Keep the offset inside one layer height so the wrap is a single extra blit
+            if (offset >= height) {
+                offset %= height;
+            }
+            layerOffsets[i] = offset;
         }
     }
     
-    public void draw(Canvas canvas, Paint paint) {
-        if (backgroundBitmap != null && !backgroundBitmap.isRecycled()) {
-            canvas.drawBitmap(backgroundBitmap, 0, bgY1, paint);
-            canvas.drawBitmap(backgroundBitmap, 0, bgY2, paint);
+    public void draw(Renderer renderer, Paint paint) {
+        long start = System.nanoTime();
+        Bitmap strip = layerCount > 0 ? layerBitmaps[0] : null;
+        if (strip != null && !strip.isRecycled()) {
+            if (scrollLayers == 0) {
+                renderer.drawSprite(strip, 0, 0, screenWidth, screenHeight, blitPaint);
+            } else {
+                int active = Math.min(scrollLayers, layerCount);
+                for (int i = 0; i < active; i++) {
+                    drawWrapped(renderer, layerBitmaps[i], (int) layerOffsets[i]);
+                }
+            }
         } else {
             // Draw a visible fallback background instead of dark blue
             if (paint == null) {
@@ -47,28 +82,145 @@ public class BackgroundRenderer {
             
             // Create a bright, obvious fallback pattern
             paint.setColor(android.graphics.Color.MAGENTA); // Bright magenta base
-            canvas.drawRect(0, 0, screenWidth, screenHeight, paint);
+            renderer.drawRect(0, 0, screenWidth, screenHeight, paint);
             
             // Add white stripes to make it obvious this is fallback
             paint.setColor(android.graphics.Color.WHITE);
-            paint.setStrokeWidth(10);
             for (int i = 0; i < screenWidth; i += 50) {
-                canvas.drawLine(i, 0, i, screenHeight, paint);
+                renderer.drawRect(i - 5, 0, i + 5, screenHeight, paint);
             }
             
-            android.util.Log.w("BackgroundRenderer", "Drawing BRIGHT FALLBACK background - no bitmap available");
+            android.util.Log.w(TAG, "Drawing BRIGHT FALLBACK background - no bitmap available");
+        }
+        lastDrawNanos = System.nanoTime() - start;
+    }
+    
+    /**
+     * Tile a layer vertically: the copy at offsetY plus the wrapped copy above it
+     */
+    private void drawWrapped(Renderer renderer, Bitmap layer, int offsetY) {
+        int height = layer.getHeight();
+        renderer.drawSprite(layer, 0, offsetY, screenWidth, height, blitPaint);
+        for (int y = offsetY - height; y > -height; y -= height) {
+            renderer.drawSprite(layer, 0, y, screenWidth, height, blitPaint);
+        }
+        for (int y = offsetY + height; y < screenHeight; y += height) {
+            renderer.drawSprite(layer, 0, y, screenWidth, height, blitPaint);
         }
     }
     
+    /**
+     * Number of layers to draw (strip plus parallax overlays); 0 freezes the background
+     */
+    public void setScrollLayers(int scrollLayers) {
+        this.scrollLayers = Math.max(0, scrollLayers);
+        if (this.scrollLayers > 1 && layerCount == 1) {
+            addParallaxLayer(createDustLayer(), DUST_SPEED_FACTOR);
+        }
+    }
+    
+    /**
+     * Add a transparent overlay that scrolls at speedFactor times the base speed
+     */
+    public void addParallaxLayer(Bitmap layer, float speedFactor) {
+        if (layer == null || layerCount == 0 || layerCount >= MAX_LAYERS) return;
+        layerBitmaps[layerCount] = layer;
+        layerSpeeds[layerCount] = speedFactor;
+        layerOffsets[layerCount] = 0f;
+        layerCount++;
+    }
+    
     public void setBackground(Bitmap backgroundBitmap) {
+        if (backgroundBitmap == this.backgroundBitmap && layerCount > 0) {
+            return; // Same art, strip is already composed
+        }
         this.backgroundBitmap = backgroundBitmap;
         if (backgroundBitmap != null && !backgroundBitmap.isRecycled()) {
-            android.util.Log.d("BackgroundRenderer", "Background set: " + backgroundBitmap.getWidth() + "x" + backgroundBitmap.getHeight());
+            android.util.Log.d(TAG, "Background set: " + backgroundBitmap.getWidth() + "x" + backgroundBitmap.getHeight());
+            releaseStrip();
+            Bitmap strip = composeStrip(backgroundBitmap);
+            stripOwned = strip != backgroundBitmap;
+            layerBitmaps[0] = strip;
+            layerSpeeds[0] = 1f;
+            if (layerCount == 0) {
+                layerCount = 1;
+                setScrollLayers(scrollLayers);
+            }
             // Reset scroll positions to ensure bitmap is visible immediately after swap
-            this.bgY1 = 0f;
-            this.bgY2 = -screenHeight;
+            for (int i = 0; i < layerCount; i++) {
+                layerOffsets[i] = 0f;
+            }
         } else {
-            android.util.Log.w("BackgroundRenderer", "Background set to null or recycled bitmap");
+            android.util.Log.w(TAG, "Background set to null or recycled bitmap");
+            releaseStrip();
+            layerBitmaps[0] = null;
+        }
+    }
+    
+    /**
+     * Scale the level art once into an opaque screen-sized RGB_565 bitmap
+     */
+    private Bitmap composeStrip(Bitmap source) {
+        try {
+            Bitmap strip = Bitmap.createBitmap(screenWidth, screenHeight, Bitmap.Config.RGB_565);
+            Canvas canvas = new Canvas(strip);
+            Paint scalePaint = new Paint(Paint.FILTER_BITMAP_FLAG); // one-time filtered scale
+            canvas.drawBitmap(source, null, new Rect(0, 0, screenWidth, screenHeight), scalePaint);
+            strip.prepareToDraw();
+            return strip;
+        } catch (OutOfMemoryError e) {
+            android.util.Log.w(TAG, "Could not compose background strip, drawing source directly", e);
+            return source;
+        }
+    }
+    
+    private void releaseStrip() {
+        Bitmap strip = layerBitmaps[0];
+        if (stripOwned && strip != null && !strip.isRecycled()) {
+            strip.recycle();
+        }
+        stripOwned = false;
+    }
+    
+    /**
+     * Sparse drifting specks, generated once for the top quality tier
+     */
+    private Bitmap createDustLayer() {
+        try {
+            Bitmap dust = Bitmap.createBitmap(screenWidth, screenHeight, Bitmap.Config.ARGB_8888);
+            Canvas canvas = new Canvas(dust);
+            Paint speckPaint = new Paint();
+            speckPaint.setStrokeWidth(3);
+            Random random = new Random(7);
+            int specks = screenWidth * screenHeight / 6000;
+            for (int i = 0; i < specks; i++) {
+                speckPaint.setColor(Color.argb(60 + random.nextInt(100), 255, 255, 255));
+                canvas.drawPoint(random.nextInt(screenWidth), random.nextInt(screenHeight), speckPaint);
+            }
+            return dust;
+        } catch (OutOfMemoryError e) {
+            android.util.Log.w(TAG, "Skipping parallax dust layer", e);
+            return null;
+        }
+    }
+    
+    /**
+     * Time spent in the last draw() call, for the frame profiler
+     */
+    public float getLastDrawMs() {
+        return lastDrawNanos / 1e6f;
+    }
+    
+    public void cleanup() {
+        releaseStrip();
+        for (int i = 1; i < layerCount; i++) {
+            if (layerBitmaps[i] != null && !layerBitmaps[i].isRecycled()) {
+                layerBitmaps[i].recycle();
+            }
+            layerBitmaps[i] = null;
         }
+        layerBitmaps[0] = null;
+        layerCount = 0;
+        backgroundBitmap = null;
     }
-}
\ No newline at end of file
+}
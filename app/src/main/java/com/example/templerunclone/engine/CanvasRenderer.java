@@ -0,0 +1,59 @@
+package com.example.templerunclone.engine;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+/**
+ * Renderer backed by an android.graphics.Canvas; re-targeted every frame
+ * with setCanvas() so no wrapper is allocated per frame.
+ */
+public class CanvasRenderer implements Renderer {
+    private Canvas canvas;
+    private int width, height;
+    
+    public CanvasRenderer(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+    
+    public CanvasRenderer setCanvas(Canvas canvas) {
+        this.canvas = canvas;
+        return this;
+    }
+    
+    public Canvas getCanvas() {
+        return canvas;
+    }
+    
+    @Override
+    public int getWidth() { return width; }
+    
+    @Override
+    public int getHeight() { return height; }
+    
+    @Override
+    public void drawSprite(Bitmap bitmap, float x, float y, float width, float height, Paint paint) {
+        canvas.drawBitmap(bitmap, x, y, paint);
+    }
+    
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        canvas.drawRect(left, top, right, bottom, paint);
+    }
+    
+    @Override
+    public void drawCircle(float cx, float cy, float radius, Paint paint) {
+        canvas.drawCircle(cx, cy, radius, paint);
+    }
+    
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        canvas.drawText(text, x, y, paint);
+    }
+    
+    @Override
+    public void drawPoints(float[] points, int offset, int count, Paint paint) {
+        canvas.drawPoints(points, offset, count, paint);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.templerunclone.engine;
+
+import android.graphics.Rect;
+
+/**
+ * Dirty rectangle for on-demand rendering of static screens (paused, game over, win).
+ * While the scene is animating every frame is a full redraw; while it is static only
+ * the union of the invalidated areas is redrawn, and nothing at all when none changed.
+ * On a static screen the world and HUD are frozen, so the only partial updates are
+ * overlay elements that appear late (the "new high score" banner).
+ */
+public class DirtyRegion {
+    private final Rect dirty = new Rect();
+    private final int screenWidth, screenHeight;
+    private boolean animating = true;
+    
+    public DirtyRegion(int screenWidth, int screenHeight) {
+        this.screenWidth = screenWidth;
+        this.screenHeight = screenHeight;
+    }
+    
+    /**
+     * Mark part of the screen as changed
+     */
+    public void invalidate(int left, int top, int right, int bottom) {
+        left = Math.max(0, left);
+        top = Math.max(0, top);
+        right = Math.min(screenWidth, right);
+        bottom = Math.min(screenHeight, bottom);
+        if (left < right && top < bottom) {
+            dirty.union(left, top, right, bottom);
+        }
+    }
+    
+    public void invalidate(Rect area) {
+        invalidate(area.left, area.top, area.right, area.bottom);
+    }
+    
+    /**
+     * Mark the whole screen as changed (state change, surface recreated)
+     */
+    public void invalidateAll() {
+        dirty.set(0, 0, screenWidth, screenHeight);
+    }
+    
+    /**
+     * Animated scenes redraw in full every frame; static ones only on invalidation
+     */
+    public void setAnimating(boolean animating) {
+        if (this.animating != animating) {
+            this.animating = animating;
+            invalidateAll();
+        }
+    }
+    
+    public boolean isAnimating() {
+        return animating;
+    }
+    
+    /**
+     * Area to redraw into out; false when there is nothing to redraw
+     */
+    public boolean collect(Rect out) {
+        if (animating) {
+            out.set(0, 0, screenWidth, screenHeight);
+            return true;
+        }
+        out.set(dirty);
+        return !out.isEmpty();
+    }
+    
+    /**
+     * Forget the collected areas once the frame has been posted
+     */
+    public void clear() {
+        dirty.setEmpty();
+    }
+    
+    public boolean isFullScreen(Rect area) {
+        return area.left <= 0 && area.top <= 0 && area.right >= screenWidth && area.bottom >= screenHeight;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.templerunclone.engine;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.util.Log;
+
+/**
+ * Lightweight frame profiler for the game loop.
+ * Keeps a ring buffer of update/render times, logs a summary every few seconds
+ * together with the current quality tier, and records tier transitions.
+ */
+public class FrameProfiler {
+    private static final String TAG = "FrameProfiler";
+    private static final int WINDOW = 120;
+    private static final int LOG_EVERY_FRAMES = 180;
+    
+    private final float[] updateMs = new float[WINDOW];
+    private final float[] renderMs = new float[WINDOW];
+    private final float[] backgroundMs = new float[WINDOW];
+    private int index = 0;
+    private int samples = 0;
+    private long frameCounter = 0;
+    
+    private long updateStart, renderStart;
+    private float lastUpdateMs;
+    private float lastBackgroundMs;
+    
+    private QualityTier tier = QualityTier.HIGH;
+    private int transitions = 0;
+    private String lastTransition = "none";
+    
+    private boolean overlayEnabled = false;
+    private Paint overlayPaint;
+    
+    public void beginUpdate() {
+        updateStart = System.nanoTime();
+    }
+    
+    public void beginRender() {
+        long now = System.nanoTime();
+        lastUpdateMs = (now - updateStart) / 1e6f;
+        renderStart = now;
+    }
+    
+    /**
+     * Record the background fill part of this frame's render time
+     */
+    public void recordBackground(float ms) {
+        lastBackgroundMs = ms;
+    }
+    
+    /**
+     * Close the frame and return its work time (update + render) in ms
+     */
+    public float endFrame() {
+        float render = (System.nanoTime() - renderStart) / 1e6f;
+        updateMs[index] = lastUpdateMs;
+        renderMs[index] = render;
+        backgroundMs[index] = lastBackgroundMs;
+        lastBackgroundMs = 0f;
+        index = (index + 1) % WINDOW;
+        if (samples < WINDOW) samples++;
+        
+        frameCounter++;
+        if (frameCounter % LOG_EVERY_FRAMES == 0) {
+            Log.d(TAG, summary());
+        }
+        return lastUpdateMs + render;
+    }
+    
+    public void onTierChanged(QualityTier oldTier, QualityTier newTier, float avgFrameMs) {
+        tier = newTier;
+        transitions++;
+        lastTransition = oldTier + "->" + newTier + " at " + String.format(java.util.Locale.US, "%.1f", avgFrameMs) + "ms";
+        Log.i(TAG, "Quality tier " + lastTransition + " (frame " + frameCounter + ")");
+    }
+    
+    public String summary() {
+        float updateAvg = 0, renderAvg = 0, backgroundAvg = 0, frameMax = 0;
+        for (int i = 0; i < samples; i++) {
+            updateAvg += updateMs[i];
+            renderAvg += renderMs[i];
+            backgroundAvg += backgroundMs[i];
+            frameMax = Math.max(frameMax, updateMs[i] + renderMs[i]);
+        }
+        if (samples > 0) {
+            updateAvg /= samples;
+            renderAvg /= samples;
+            backgroundAvg /= samples;
+        }
+        return String.format(java.util.Locale.US,
+            "update=%.2fms render=%.2fms (bg=%.2fms) max=%.2fms tier=%s transitions=%d last=%s",
+            updateAvg, renderAvg, backgroundAvg, frameMax, tier, transitions, lastTransition);
+    }
+    
+    /**
+     * Debug overlay (off by default; builds a string, so not for release frames)
+     */
+    public void draw(Canvas canvas) {
+        if (!overlayEnabled) return;
+        if (overlayPaint == null) {
+            overlayPaint = new Paint();
+            overlayPaint.setColor(Color.GREEN);
+            overlayPaint.setTextSize(28);
+        }
+        canvas.drawText(summary(), 10, canvas.getHeight() - 130, overlayPaint);
+    }
+    
+    public void setTier(QualityTier tier) { this.tier = tier; }
+    public void setOverlayEnabled(boolean overlayEnabled) { this.overlayEnabled = overlayEnabled; }
+    public QualityTier getTier() { return tier; }
+    public int getTransitions() { return transitions; }
+    public String getLastTransition() { return lastTransition; }
+}
@@ -3,15 +3,22 @@ package com.example.templerunclone.engine;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Paint;
+import android.graphics.Rect;
 import com.example.templerunclone.entities.*;
 import com.example.templerunclone.entities.bullets.*;
 import com.example.templerunclone.managers.*;
+import com.example.templerunclone.levels.LevelCatalog;
 import com.example.templerunclone.levels.LevelManager;
 import com.example.templerunclone.levels.LevelConfig;
 import com.example.templerunclone.ui.HUDManager;
 import com.example.templerunclone.ui.GameOverManager;
 import com.example.templerunclone.ui.WinManager;
+import com.example.templerunclone.utils.GameRandom;
+import com.example.templerunclone.utils.ObjectPool;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -43,12 +50,41 @@ public class GameEngine {
     private Player player;
     private List<Bullet> bullets;
     private List<Explosion> explosions;
+    private ParticleSystem particleSystem;
     
     // Timing
     private long lastUpdateTime;
     private long lastShotTime;
     private long shootInterval = 250; // ms
     
+    // On levels with special weapons every EXPLOSIVE_SHOT_EVERY-th shot is a homing explosive round
+    private static final int EXPLOSIVE_SHOT_EVERY = 4;
+    private int shotCount = 0;
+    
+    // Bullet kinds in a game snapshot
+    private static final byte BULLET_PLAIN = 0;
+    private static final byte BULLET_LASER = 1;
+    private static final byte BULLET_EXPLOSIVE = 2;
+    private static final byte BULLET_HEAVY = 3;
+    
+    // Level whose track the music engine was last asked to play
+    private int musicLevel = 0;
+    
+    // Score save results, posted by the score writer thread and applied in update()
+    private volatile int runId = 0;
+    private volatile boolean highScoreResultReady = false;
+    private volatile boolean newHighScore = false;
+    
+    // Gameplay randomness (spawns, drops) from one source whose state goes in the snapshot
+    private final GameRandom random = new GameRandom();
+    
+    // Run snapshot for process death: requested on pause and taken on the game thread;
+    // on relaunch the level is read before its assets load and the rest once they have
+    private GameSnapshot snapshot;
+    private volatile boolean snapshotRequested = false;
+    private boolean restoreRequested = false;
+    private DataInputStream pendingRestore;
+    
     // Screen dimensions
     private int screenWidth, screenHeight;
     
@@ -58,24 +94,55 @@ public class GameEngine {
     // Background
     private BackgroundRenderer backgroundRenderer;
     
+    // Mode limits and bullet-hell load generator
+    private final GameMode gameMode;
+    private StressScenario stressScenario;
+    private ObjectPool<Bullet> bulletPool;
+    
+    // Visual quality tier set by the QualityGovernor
+    private QualityTier qualityTier = QualityTier.HIGH;
+    
+    // Redraw tracking: full frames while animating, on demand on static screens
+    private DirtyRegion dirtyRegion;
+    
+    // Reused Canvas adapter for the Renderer-based draw path
+    private CanvasRenderer canvasRenderer;
+    
     public GameEngine(int screenWidth, int screenHeight) {
+        this(screenWidth, screenHeight, GameMode.CLASSIC);
+    }
+    
+    public GameEngine(int screenWidth, int screenHeight, GameMode gameMode) {
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
+        this.gameMode = gameMode != null ? gameMode : GameMode.CLASSIC;
         
         initialize();
     }
     
     public void setContext(android.content.Context context) {
         this.context = context;
-        if (highScoreManager == null && context != null) {
-            highScoreManager = new HighScoreManager(context);
+        
+        // Level data first: a restored run may be on any level
+        if (context != null) {
+            LevelCatalog.getInstance().load(context);
+        }
+        
+        // Stress modes are benchmarks, not runs worth restoring
+        if (snapshot == null && context != null && !gameMode.isStress()) {
+            snapshot = new GameSnapshot(context);
+            if (restoreRequested) {
+                pendingRestore = restoreLevel(snapshot.open());
+            } else {
+                snapshot.delete();
+            }
         }
         
         // Load initial assets when context is set
         if (context != null && resourceManager != null && levelManager != null) {
             android.util.Log.d("GameEngine", "Loading initial assets after setContext");
             
-            // Initialize level 1 and load its assets
+            // Initialize the current level (1, or the one read from a snapshot) and load its assets
             levelManager.initializeLevel(context);
             updateAssetsForCurrentLevel();
             
@@ -86,11 +153,14 @@ public class GameEngine {
     private void initialize() {
         // Initialize managers
         inputManager = new InputManager();
-        collisionManager = new CollisionManager();
+        collisionManager = new CollisionManager(screenWidth, screenHeight);
         soundManager = new SoundManager();
         resourceManager = new ResourceManager(screenWidth, screenHeight);
         enemyManager = new EnemyManager(screenWidth, screenHeight);
+        enemyManager.setEnemyCap(gameMode.getMaxEnemies());
         powerUpManager = new PowerUpManager(screenWidth, screenHeight);
+        enemyManager.setRandom(random);
+        powerUpManager.setRandom(random);
         
         // Initialize game state
         gameState = new GameState();
@@ -122,6 +192,18 @@ public class GameEngine {
         // Initialize collections
         bullets = new ArrayList<>();
         explosions = new ArrayList<>();
+        particleSystem = new ParticleSystem();
+        dirtyRegion = new DirtyRegion(screenWidth, screenHeight);
+        canvasRenderer = new CanvasRenderer(screenWidth, screenHeight);
+        
+        // Plain bullets are pooled; stress mode pre-allocates its whole projectile budget
+        bulletPool = new ObjectPool<>(() -> new Bullet(0, 0, 0), gameMode.getMaxRenderedBullets());
+        if (gameMode.isStress()) {
+            bulletPool.prefill(GameMode.STRESS_TARGET_PROJECTILES);
+            enemyManager.prefillEnemies(GameMode.STRESS_TARGET_ENEMIES);
+            stressScenario = new StressScenario();
+            gameState.setEndless(true);
+        }
         
         // Initialize background
         backgroundRenderer = new BackgroundRenderer(screenWidth, screenHeight);
@@ -150,7 +232,64 @@ public class GameEngine {
         float deltaTime = currentTime - lastUpdateTime;
         lastUpdateTime = currentTime;
         
-        if (gameState.isGameOver() || gameState.isGameWon()) {
+        step(deltaTime);
+        
+        if (highScoreResultReady) {
+            highScoreResultReady = false;
+            gameOverManager.setNewHighScore(newHighScore);
+            winManager.setNewHighScore(newHighScore);
+            // Only the banner changes on the end screen
+            if (newHighScore && gameState.isGameOver()) {
+                dirtyRegion.invalidate(gameOverManager.getHighScoreBannerBounds());
+            } else if (newHighScore && gameState.isGameWon()) {
+                dirtyRegion.invalidate(winManager.getHighScoreBannerBounds());
+            }
+        }
+        
+        if (snapshotRequested) {
+            saveSnapshot();
+        }
+        
+        // Paused, game over and win screens stop animating: redraw only when invalidated
+        dirtyRegion.setAnimating(!isSceneStatic());
+    }
+    
+    private boolean isSceneStatic() {
+        return gameState.isGameOver() || gameState.isGameWon() || gameState.isPaused();
+    }
+    
+    /**
+     * Area to redraw this frame; false when the last posted frame is still current
+     */
+    public boolean collectDirtyRegion(Rect out) {
+        return dirtyRegion.collect(out);
+    }
+    
+    public boolean isFullScreen(Rect area) {
+        return dirtyRegion.isFullScreen(area);
+    }
+    
+    /**
+     * Call after a frame has been posted to the surface
+     */
+    public void onFramePosted() {
+        dirtyRegion.clear();
+    }
+    
+    /**
+     * Force a full redraw (surface recreated or resized)
+     */
+    public void invalidateScreen() {
+        dirtyRegion.invalidateAll();
+    }
+    
+    /**
+     * Advance the simulation by a fixed delta (ms). Used directly by the headless benchmark.
+     */
+    public void step(float deltaTime) {
+        long currentTime = System.currentTimeMillis();
+        
+        if (gameState.isGameOver() || gameState.isGameWon() || gameState.isPaused()) {
             return;
         }
         
@@ -165,21 +304,31 @@ public class GameEngine {
             lastShotTime = currentTime;
         }
         
+        // Bullet-hell load: keep projectiles and enemies at the stress targets
+        if (stressScenario != null && player != null) {
+            stressScenario.emitProjectiles(bullets, bulletPool,
+                player.getX() + player.getWidth() / 2 - 4, player.getY() - 16,
+                resourceManager.getCurrentLevelBullet());
+            stressScenario.refillEnemies(enemyManager);
+        }
+        
         // Update bullets (limit processing)
         updateBullets(deltaTime);
         
-        // Update enemies with level parameter (reduce spawn frequency if too many objects)
-        if (enemyManager.getEnemies().size() < 15) { // Limit max enemies to prevent lag
-            enemyManager.update(deltaTime, gameState.getSpeedMultiplier(), gameState.getLevel());
-        }
+        // Update enemies; the level's mix drives spawning, which stops at the mode's enemy cap to prevent lag
+        enemyManager.update(deltaTime, gameState.getSpeedMultiplier());
+        
+        // Deferred spawns/despawns from this tick land before the collision pass
+        enemyManager.applyCommands();
         
         // Update power-ups (limit active power-ups)
-        if (powerUpManager.getPowerUps().size() < 8) {
+        if (powerUpManager.getPowerUps().size() < gameMode.getMaxPowerUps()) {
             powerUpManager.update(deltaTime);
         }
         
-        // Update explosions
+        // Update explosions and particles
         updateExplosions(deltaTime);
+        particleSystem.update(deltaTime);
         
         // Update background
         backgroundRenderer.update(deltaTime, gameState.getSpeedMultiplier());
@@ -193,6 +342,11 @@ public class GameEngine {
         boolean wasGameWon = gameState.isGameWon();
         gameState.update(deltaTime);
         
+        // Stress modes are endless: no win condition and no level advance
+        if (gameMode.isStress()) {
+            return;
+        }
+        
         // Additional win condition check based on level progress
         checkLevelWinConditions();
         
@@ -230,8 +384,9 @@ public class GameEngine {
                     powerUpManager.clear();
                 }
                 if (bullets != null) {
-                    bullets.clear();
+                    clearBullets();
                 }
+                particleSystem.clear();
                 
                 // Update player with saved state
                 levelManager.restorePlayerState(player);
@@ -243,14 +398,22 @@ public class GameEngine {
                 android.util.Log.d("GameEngine", "Level transition completed to level " + levelManager.getCurrentLevel());
             }
         }
+        gameState.setLevel(levelManager.getCurrentLevel());
+        
+        // Music follows the level being entered, so the next track prepares and
+        // crossfades in while the transition plays
+        LevelConfig musicConfig = levelManager.isTransitioning()
+            ? levelManager.getNextLevelConfig() : levelManager.getCurrentLevelConfig();
+        if (musicConfig != null && musicConfig.getLevelNumber() != musicLevel) {
+            musicLevel = musicConfig.getLevelNumber();
+            soundManager.playLevelMusic(musicConfig);
+        }
         
         // Check if player just won the game
         if (!wasGameWon && gameState.isGameWon()) {
             soundManager.playCongratulations();
             // Save high score
-            if (highScoreManager != null) {
-                highScoreManager.addScore(gameState.getScore(), gameState.getLevel());
-            }
+            submitHighScore();
         }
         
         // Check if player is dead
@@ -258,12 +421,25 @@ public class GameEngine {
             gameState.setGameOver(true);
             hudManager.stopTimer(); // Dừng đồng hồ khi game over
             // Save high score for game over too
-            if (highScoreManager != null) {
-                highScoreManager.addScore(gameState.getScore(), gameState.getLevel());
-            }
+            submitHighScore();
         }
     }
     
+    /**
+     * Queue this run's score for saving; the end screen learns whether it is a new
+     * high score once the writer has stored it, without waiting in this frame
+     */
+    private void submitHighScore() {
+        if (highScoreManager == null) return;
+        final int run = runId;
+        highScoreManager.submitScore(gameState.getScore(), gameState.getLevel(), (score, level, isHighScore) -> {
+            if (run == runId) {
+                newHighScore = isHighScore;
+                highScoreResultReady = true;
+            }
+        });
+    }
+    
     private void shoot() {
         float bulletX = player.getX() + player.getWidth() / 2 - 4;
         float bulletY = player.getY() - 16;
@@ -274,16 +450,21 @@ public class GameEngine {
         Bullet bullet;
         
         // Chọn loại đạn dựa trên PowerUp active và level config
+        shotCount++;
+        LevelConfig levelConfig = levelManager.getCurrentLevelConfig();
         if (gameState.isLaserBeamActive()) {
             bullet = new LaserBullet(bulletX, bulletY, bulletConfig.speed);
+        } else if (levelConfig != null && levelConfig.hasSpecialWeapons()
+                && shotCount % EXPLOSIVE_SHOT_EVERY == 0) {
+            bullet = new ExplosiveBullet(bulletX, bulletY, bulletConfig.speed);
         } else {
-            bullet = new Bullet(bulletX, bulletY, bulletConfig.speed);
+            bullet = obtainBullet(bulletX, bulletY, bulletConfig.speed);
             bullet.setDamage(bulletConfig.damage);
         }
         
-        // Set level-specific bullet bitmap
+        // Set level-specific bullet bitmap (explosive rounds keep their own look)
         Bitmap bulletBitmap = resourceManager.getCurrentLevelBullet();
-        if (bulletBitmap != null) {
+        if (bulletBitmap != null && !(bullet instanceof ExplosiveBullet)) {
             bullet.setBitmap(bulletBitmap);
             android.util.Log.d("GameEngine", "Set bullet bitmap for level " + levelManager.getCurrentLevel());
         } else {
@@ -302,8 +483,8 @@ public class GameEngine {
                 leftBullet = new LaserBullet(bulletX - offset, bulletY, bulletConfig.speed);
                 rightBullet = new LaserBullet(bulletX + offset, bulletY, bulletConfig.speed);
             } else {
-                leftBullet = new Bullet(bulletX - offset, bulletY, bulletConfig.speed);
-                rightBullet = new Bullet(bulletX + offset, bulletY, bulletConfig.speed);
+                leftBullet = obtainBullet(bulletX - offset, bulletY, bulletConfig.speed);
+                rightBullet = obtainBullet(bulletX + offset, bulletY, bulletConfig.speed);
                 leftBullet.setDamage(bulletConfig.damage);
                 rightBullet.setDamage(bulletConfig.damage);
             }
@@ -321,16 +502,66 @@ public class GameEngine {
         soundManager.playShoot();
     }
     
+    private Bullet obtainBullet(float x, float y, float speed) {
+        Bullet bullet = bulletPool.obtain();
+        bullet.reset(x, y, speed);
+        return bullet;
+    }
+    
+    private void recycleBullet(Bullet bullet) {
+        // Only plain bullets are pooled; special bullets are rare and left to the GC
+        if (bullet.getClass() == Bullet.class) {
+            bulletPool.release(bullet);
+        }
+    }
+    
     private void updateBullets(float deltaTime) {
-        Iterator<Bullet> bulletIterator = bullets.iterator();
-        while (bulletIterator.hasNext()) {
-            Bullet bullet = bulletIterator.next();
+        // Off screen bullets stay in the list until after the swept collision pass
+        for (int i = 0, n = bullets.size(); i < n; i++) {
+            Bullet bullet = bullets.get(i);
+            if (bullet instanceof ExplosiveBullet) {
+                acquireTarget((ExplosiveBullet) bullet);
+            }
+            bullet.savePreviousPosition();
             bullet.update(deltaTime);
-            
-            if (!bullet.isActive()) {
-                bulletIterator.remove();
+        }
+    }
+    
+    /**
+     * Point a homing round at the enemy nearest to it once its target is gone.
+     * Uses last tick's broadphase, which is one tick behind at most.
+     */
+    private void acquireTarget(ExplosiveBullet bullet) {
+        if (bullet.hasTarget()) return;
+        bullet.setTarget(collisionManager.findNearestEnemy(
+            bullet.getX() + bullet.getWidth() / 2f, bullet.getY() + bullet.getHeight() / 2f));
+    }
+    
+    private void removeInactiveBullets() {
+        // Single-pass compaction: Iterator.remove() on an ArrayList is O(n) per removal
+        int alive = 0;
+        for (int i = 0, n = bullets.size(); i < n; i++) {
+            Bullet bullet = bullets.get(i);
+            if (bullet.isActive() && !bullet.isOffScreen()) {
+                bullets.set(alive++, bullet);
+            } else {
+                recycleBullet(bullet);
             }
         }
+        trimBullets(alive);
+    }
+    
+    private void trimBullets(int size) {
+        for (int i = bullets.size() - 1; i >= size; i--) {
+            bullets.remove(i);
+        }
+    }
+    
+    private void clearBullets() {
+        for (int i = 0, n = bullets.size(); i < n; i++) {
+            recycleBullet(bullets.get(i));
+        }
+        bullets.clear();
     }
     
     private void updateExplosions(float deltaTime) {
@@ -346,42 +577,34 @@ public class GameEngine {
     }
     
     private void checkCollisions() {
-        // Bullet vs Enemy collisions
-        for (Bullet bullet : bullets) {
-            List<Enemy> hitEnemies = collisionManager.checkBulletCollisions(bullet, enemyManager.getEnemies());
-            for (Enemy enemy : hitEnemies) {
-                enemy.takeDamage(bullet.getDamage());
-                
-                // Xử lý đạn laser (xuyên qua)
-                if (!(bullet instanceof LaserBullet)) {
-                    bullet.setActive(false);
+        // Bullet vs Enemy collisions: swept tests through the grid broadphase
+        collisionManager.updateBroadphase(enemyManager.getEnemies());
+        for (int b = 0, bulletCount = bullets.size(); b < bulletCount; b++) {
+            Bullet bullet = bullets.get(b);
+            
+            // Xử lý đạn laser (xuyên qua): one raycast along the tip's path, nearest first
+            if (bullet instanceof LaserBullet) {
+                if (bullet.isActive()) {
+                    hitLaser((LaserBullet) bullet);
                 }
-                
-                if (enemy.isDead()) {
-                    // Create explosion
-                    explosions.add(new Explosion(enemy.getX(), enemy.getY(), 
-                        resourceManager.getExplosionBitmap(), 500));
-                    
-                    // Add score
-                    gameState.addScore(enemy.getScoreValue());
-                    
-                    // Play sound
-                    soundManager.playEnemyExplode();
-                    
-                    // Chance to drop power-up - HIGH RATE for testing at level 1
-                    float dropChance;
-                    if (gameState.getLevel() == 1) {
-                        dropChance = 0.8f; // 80% chance at level 1 for testing
-                    } else {
-                        dropChance = 0.15f + (gameState.getLevel() * 0.02f); // Normal progression
-                    }
-                    if (Math.random() < Math.min(dropChance, 0.8f)) {
-                        powerUpManager.spawnPowerUp(enemy.getX(), enemy.getY());
-                    }
+            } else {
+                // Normal bullets stop at the earliest enemy along their path
+                Enemy enemy = collisionManager.queryFirstBulletHit(bullet);
+                if (enemy != null) {
+                    bullet.setActive(false);
+                    hitEnemy(bullet, enemy, collisionManager.getLastTimeOfImpact());
                 }
             }
         }
         
+        // Spent bullets go back to the pool this tick
+        removeInactiveBullets();
+        
+        // Stress modes keep the player alive so the load stays constant
+        if (gameMode.isStress()) {
+            return;
+        }
+        
         // Player vs Enemy collisions
         List<Enemy> collidingEnemies = collisionManager.checkPlayerCollisions(player, enemyManager.getEnemies());
         if (!collidingEnemies.isEmpty() && !player.isInvincible()) {
@@ -404,6 +627,8 @@ public class GameEngine {
                 gameState.applyPowerUp(powerUp);
             }
             powerUp.setActive(false);
+            particleSystem.burstPickup(powerUp.getX() + powerUp.getWidth() / 2f,
+                powerUp.getY() + powerUp.getHeight() / 2f);
             soundManager.playPowerUp();
         }
         
@@ -416,15 +641,94 @@ public class GameEngine {
         }
     }
     
+    private void hitLaser(LaserBullet laser) {
+        // The first hit is free, each further enemy uses up one penetration
+        List<Enemy> hitEnemies = collisionManager.raycastVertical(
+            laser.getX(), laser.getX() + laser.getWidth(), laser.getPrevY(), laser.getY(),
+            laser.getRemainingPenetrations() + 1);
+        for (int h = 0, hitCount = hitEnemies.size(); h < hitCount; h++) {
+            hitEnemy(laser, hitEnemies.get(h), 1f);
+            if (laser.canPenetrate()) {
+                laser.penetrate();
+            } else {
+                laser.setActive(false);
+                break;
+            }
+        }
+    }
+    
+    /**
+     * Damage an enemy hit at timeOfImpact (0..1 of the tick along the bullet's path)
+     */
+    private void hitEnemy(Bullet bullet, Enemy enemy, float timeOfImpact) {
+        damageEnemy(enemy, bullet.getDamage());
+        
+        // Explosive bullets splash every enemy within their radius of the impact,
+        // centred where the bullet was when it struck rather than where the tick left it
+        if (bullet instanceof ExplosiveBullet) {
+            float cx = bullet.getPrevX() + (bullet.getX() - bullet.getPrevX()) * timeOfImpact
+                + bullet.getWidth() / 2f;
+            float cy = bullet.getPrevY() + (bullet.getY() - bullet.getPrevY()) * timeOfImpact
+                + bullet.getHeight() / 2f;
+            List<Enemy> splashed = collisionManager.findEnemiesInRadius(cx, cy,
+                ((ExplosiveBullet) bullet).getExplosionRadius());
+            for (int i = 0, n = splashed.size(); i < n; i++) {
+                Enemy other = splashed.get(i);
+                if (other != enemy) {
+                    damageEnemy(other, bullet.getDamage());
+                }
+            }
+        }
+    }
+    
+    private void damageEnemy(Enemy enemy, int damage) {
+        enemy.takeDamage(damage);
+        
+        float centerX = enemy.getX() + enemy.getWidth() / 2f;
+        if (enemy.isDead()) {
+            // Create explosion
+            explosions.add(new Explosion(enemy.getX(), enemy.getY(), 
+                resourceManager.getExplosionBitmap(), 500));
+            particleSystem.burstKill(centerX, enemy.getY() + enemy.getHeight() / 2f);
+            
+            // Add score
+            gameState.addScore(enemy.getScoreValue());
+            
+            // Play sound
+            soundManager.playEnemyExplode();
+            
+            // Chance to drop power-up - HIGH RATE for testing at level 1
+            float dropChance;
+            if (gameState.getLevel() == 1) {
+                dropChance = 0.8f; // 80% chance at level 1 for testing
+            } else {
+                dropChance = 0.15f + (gameState.getLevel() * 0.02f); // Normal progression
+            }
+            if (random.nextFloat() < Math.min(dropChance, 0.8f)) {
+                powerUpManager.spawnPowerUp(enemy.getX(), enemy.getY());
+            }
+        } else {
+            // Sparks where the bullet struck (bottom edge)
+            particleSystem.burstHit(centerX, enemy.getY() + enemy.getHeight());
+        }
+    }
+    
     public void render(Canvas canvas, Paint paint) {
         if (canvas == null) return;
+        render(canvasRenderer.setCanvas(canvas), paint);
+    }
+    
+    /**
+     * Draw the frame through any Renderer (e.g. a RecordingRenderer for headless checks)
+     */
+    public void render(Renderer renderer, Paint paint) {
         
         // Draw level-specific background or transition effect
         if (levelManager != null && levelManager.isTransitioning()) {
             // Draw current background
-            backgroundRenderer.draw(canvas, paint);
+            backgroundRenderer.draw(renderer, paint);
             // Draw transition effect on top
-            levelManager.drawTransition(canvas, paint);
+            levelManager.drawTransition(renderer, paint);
             
             // Draw level info during transition
             paint.setColor(android.graphics.Color.WHITE);
@@ -432,72 +736,54 @@ public class GameEngine {
             paint.setTextAlign(Paint.Align.CENTER);
             String levelText = "Level " + levelManager.getCurrentLevel() + ": " + 
                              levelManager.getCurrentLevelConfig().getLevelName();
-            canvas.drawText(levelText, screenWidth / 2f, 100, paint);
+            renderer.drawText(levelText, screenWidth / 2f, 100, paint);
             return; // Skip other rendering during transition
         } 
         
         // Draw normal background
-        backgroundRenderer.draw(canvas, paint);
+        backgroundRenderer.draw(renderer, paint);
         
         // Draw game objects only if not transitioning
         if (player != null) {
-            player.drawWithShield(canvas, paint, gameState);
+            player.drawWithShield(renderer, paint, gameState, qualityTier.hasShieldGlow());
         }
         
         // Draw bullets (limit rendering if too many)
-        int bulletCount = 0;
-        for (Bullet bullet : bullets) {
-            if (bulletCount++ < 50) { // Limit bullet rendering
-                bullet.draw(canvas, paint);
-            }
+        int bulletLimit = Math.min(bullets.size(), gameMode.getMaxRenderedBullets());
+        for (int i = 0; i < bulletLimit; i++) {
+            bullets.get(i).draw(renderer, paint);
         }
         
         // Draw enemies
-        enemyManager.draw(canvas, paint);
+        enemyManager.draw(renderer, paint);
         
         // Draw power-ups
-        powerUpManager.draw(canvas, paint);
+        powerUpManager.draw(renderer, paint);
         
-        // Draw explosions (limit explosion rendering)
-        int explosionCount = 0;
-        for (Explosion explosion : explosions) {
-            if (explosionCount++ < 10) { // Limit explosion rendering
-                explosion.draw(canvas, paint);
-            }
+        // Draw explosions (limit explosion rendering by mode and quality tier)
+        int explosionLimit = Math.min(explosions.size(),
+            Math.min(gameMode.getMaxRenderedExplosions(), qualityTier.getMaxExplosions()));
+        for (int i = 0; i < explosionLimit; i++) {
+            explosions.get(i).draw(renderer, paint);
         }
         
+        // Draw particles (batched per color)
+        particleSystem.draw(renderer);
+        
         // Always draw HUD
         if (hudManager != null) {
-            hudManager.draw(canvas, gameState, player);
+            hudManager.draw(renderer, gameState, player);
         }
         
         // Draw Game Over screen if game is over
         if (gameState.isGameOver() && gameOverManager != null) {
             long playTime = hudManager != null ? hudManager.getPlayTime() : 0;
-            gameOverManager.draw(canvas, gameState.getScore(), gameState.getLevel(), playTime);
+            gameOverManager.draw(renderer, gameState.getScore(), gameState.getLevel(), playTime);
         }
         
         // Draw Win screen if game is won
         if (gameState.isGameWon() && winManager != null) {
-            winManager.draw(canvas, gameState.getScore(), gameState.getLevel());
-        }
-    }
-    
-    private void handleExplosiveDamage(float explosionX, float explosionY, float radius, int damage) {
-        for (Enemy enemy : enemyManager.getEnemies()) {
-            float distance = (float) Math.sqrt(
-                Math.pow(enemy.getX() - explosionX, 2) + 
-                Math.pow(enemy.getY() - explosionY, 2)
-            );
-            
-            if (distance <= radius && !enemy.isDead()) {
-                enemy.takeDamage(damage);
-                if (enemy.isDead()) {
-                    explosions.add(new Explosion(enemy.getX(), enemy.getY(), 
-                        resourceManager.getExplosionBitmap(), 300));
-                    gameState.addScore(enemy.getScoreValue() / 2); // Bonus score giảm
-                }
-            }
+            winManager.draw(renderer, gameState.getScore(), gameState.getLevel());
         }
     }
     
@@ -552,6 +838,11 @@ public class GameEngine {
             resourceManager.loadLevelResources(context, currentLevelConfig);
         }
         
+        // Scale particle bursts for this level
+        if (currentLevelConfig != null) {
+            particleSystem.setIntensity(currentLevelConfig.getParticleEffectIntensity());
+        }
+        
         // THEN: Update background
         Bitmap newBackground = resourceManager.getCurrentLevelBackground();
         backgroundRenderer.setBackground(newBackground);
@@ -614,9 +905,7 @@ public class GameEngine {
             gameState.setGameWon(true);
             android.util.Log.d("GameEngine", "CHEAT: Win activated by touching top-right corner");
             soundManager.playCongratulations();
-            if (highScoreManager != null) {
-                highScoreManager.addScore(gameState.getScore(), gameState.getLevel());
-            }
+            submitHighScore();
         }
         
         // Cheat: Lose - Touch bottom-left corner
@@ -648,12 +937,20 @@ public class GameEngine {
         // Reset level manager
         levelManager.resetToLevel1();
         
-        // Reset HUD
+        // Reset HUD and drop the cached end-screen layers
         hudManager.reset();
+        gameOverManager.releaseLayer();
+        winManager.releaseLayer();
+        gameOverManager.setNewHighScore(false);
+        winManager.setNewHighScore(false);
+        runId++;
+        highScoreResultReady = false;
+        shotCount = 0;
         
         // Clear game objects
-        bullets.clear();
+        clearBullets();
         explosions.clear();
+        particleSystem.clear();
         enemyManager.clear();
         powerUpManager.clear();
         
@@ -675,24 +972,42 @@ public class GameEngine {
     }
     
     public void pause() {
+        gameState.setPaused(true);
         soundManager.pauseMusic();
+        // Taken by the game thread on its next update (or by cleanup() if it has stopped)
+        snapshotRequested = true;
     }
     
     public void resume() {
+        gameState.setPaused(false);
         soundManager.resumeMusic();
         lastUpdateTime = System.currentTimeMillis();
     }
     
     public void cleanup() {
+        // The game thread has stopped; take a snapshot it did not get to before clearing
+        if (snapshotRequested) {
+            saveSnapshot();
+        }
+        
         soundManager.cleanup();
+        if (highScoreManager != null) {
+            highScoreManager.close();
+        }
         
         // Clean up UI managers
+        if (hudManager != null) {
+            hudManager.cleanup();
+        }
         if (gameOverManager != null) {
             gameOverManager.cleanup();
         }
         if (winManager != null) {
             winManager.cleanup();
         }
+        if (backgroundRenderer != null) {
+            backgroundRenderer.cleanup();
+        }
         
         // Clean up managers
         if (enemyManager != null) {
@@ -704,7 +1019,7 @@ public class GameEngine {
         
         // Clear lists
         if (bullets != null) {
-            bullets.clear();
+            clearBullets();
         }
         if (explosions != null) {
             explosions.clear();
@@ -716,10 +1031,177 @@ public class GameEngine {
         }
     }
     
+    /**
+     * Resume the run saved in the last snapshot instead of starting a new one.
+     * Call before setContext(); without it a stale snapshot is discarded.
+     */
+    public void requestSnapshotRestore() {
+        restoreRequested = true;
+    }
+    
+    /**
+     * Write the run to the snapshot buffer and hand it off for saving.
+     * Finished runs are not kept. Game thread (or after it has stopped).
+     */
+    private void saveSnapshot() {
+        snapshotRequested = false;
+        if (snapshot == null) return;
+        if (gameState.isGameOver() || gameState.isGameWon()) {
+            snapshot.delete();
+            return;
+        }
+        
+        long start = System.nanoTime();
+        try {
+            DataOutputStream out = snapshot.begin();
+            out.writeInt(screenWidth);
+            out.writeInt(screenHeight);
+            levelManager.writeState(out);
+            out.writeLong(random.getState());
+            gameState.writeState(out);
+            out.writeLong(hudManager.getPlayTime());
+            player.writeState(out);
+            enemyManager.writeState(out);
+            writeBullets(out);
+            powerUpManager.writeState(out);
+        } catch (IOException e) {
+            android.util.Log.e("GameEngine", "Error capturing snapshot", e);
+            return;
+        }
+        snapshot.commit();
+        android.util.Log.d("GameEngine", "Snapshot captured in " + (System.nanoTime() - start) / 1000 + " us");
+    }
+    
+    /**
+     * Read the snapshot's level so only that level's assets get loaded.
+     * Returns the stream positioned at the remaining sections, or null to start fresh.
+     */
+    private DataInputStream restoreLevel(DataInputStream in) {
+        if (in == null) return null;
+        try {
+            // Positions are in screen pixels: a snapshot from another screen size is dropped
+            if (in.readInt() != screenWidth || in.readInt() != screenHeight) {
+                android.util.Log.w("GameEngine", "Snapshot is for another screen size, starting fresh");
+                snapshot.delete();
+                return null;
+            }
+            levelManager.readState(in);
+            return in;
+        } catch (IOException e) {
+            android.util.Log.e("GameEngine", "Error reading snapshot level", e);
+            levelManager.resetToLevel1();
+            snapshot.delete();
+            return null;
+        }
+    }
+    
+    /**
+     * Rebuild the entities from the snapshot once the level's assets are loaded
+     */
+    private void restoreSnapshot(DataInputStream in) {
+        try {
+            // Rebuilding the entities draws from the RNG; its saved state is applied last
+            long randomState = in.readLong();
+            gameState.readState(in);
+            hudManager.setPlayTime(in.readLong());
+            player.readState(in);
+            enemyManager.readState(in);
+            readBullets(in);
+            powerUpManager.readState(in);
+            random.setState(randomState);
+            android.util.Log.d("GameEngine", "Run restored at level " + levelManager.getCurrentLevel()
+                + ", score " + gameState.getScore());
+        } catch (IOException e) {
+            android.util.Log.e("GameEngine", "Error restoring snapshot, clearing entities", e);
+            enemyManager.clear();
+            powerUpManager.clear();
+            clearBullets();
+        }
+        // The next pause writes a fresh one
+        snapshot.delete();
+        lastUpdateTime = System.currentTimeMillis();
+    }
+    
+    private void writeBullets(DataOutputStream out) throws IOException {
+        // Spent bullets (hit or off screen) are removed on the next tick; skip them
+        int live = 0;
+        for (int i = 0, n = bullets.size(); i < n; i++) {
+            if (bullets.get(i).isActive()) live++;
+        }
+        out.writeInt(live);
+        for (int i = 0, n = bullets.size(); i < n; i++) {
+            Bullet bullet = bullets.get(i);
+            if (!bullet.isActive()) continue;
+            out.writeByte(bulletKind(bullet));
+            bullet.writeState(out);
+        }
+    }
+    
+    private void readBullets(DataInputStream in) throws IOException {
+        clearBullets();
+        Bitmap bulletBitmap = resourceManager.getCurrentLevelBullet();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            Bullet bullet;
+            byte kind = in.readByte();
+            switch (kind) {
+                case BULLET_PLAIN:
+                    bullet = obtainBullet(0, 0, 0);
+                    break;
+                case BULLET_LASER:
+                    bullet = new LaserBullet(0, 0, 0);
+                    break;
+                case BULLET_EXPLOSIVE:
+                    bullet = new ExplosiveBullet(0, 0, 0);
+                    break;
+                case BULLET_HEAVY:
+                    bullet = new HeavyBullet(0, 0, 0);
+                    break;
+                default:
+                    throw new IOException("Unknown bullet kind " + kind);
+            }
+            // Bitmap first: it resizes the bullet, and the saved size wins
+            if (bulletBitmap != null) {
+                bullet.setBitmap(bulletBitmap);
+            }
+            bullet.readState(in);
+            bullets.add(bullet);
+        }
+    }
+    
+    private static byte bulletKind(Bullet bullet) {
+        if (bullet instanceof LaserBullet) return BULLET_LASER;
+        if (bullet instanceof ExplosiveBullet) return BULLET_EXPLOSIVE;
+        if (bullet instanceof HeavyBullet) return BULLET_HEAVY;
+        return BULLET_PLAIN;
+    }
+    
     // Getters
     public GameState getGameState() { return gameState; }
     public Player getPlayer() { return player; }
     public boolean isGameOver() { return gameState.isGameOver(); }
+    /**
+     * Apply a visual quality tier (cosmetic only, safe to call every frame)
+     */
+    public void applyQualityTier(QualityTier tier) {
+        qualityTier = tier;
+        particleSystem.setBudget(tier.getParticleBudget());
+        backgroundRenderer.setScrollLayers(tier.getBackgroundLayers());
+        hudManager.setRefreshInterval(tier.getHudRefreshMs());
+    }
+    
+    public QualityTier getQualityTier() {
+        return qualityTier;
+    }
+    
+    public float getBackgroundDrawMs() {
+        return backgroundRenderer.getLastDrawMs();
+    }
+    
+    public GameMode getGameMode() { return gameMode; }
+    public int getBulletCount() { return bullets.size(); }
+    public int getEnemyCount() { return enemyManager.getEnemyCount(); }
+    public StressScenario getStressScenario() { return stressScenario; }
     
     /**
      * Check win conditions based on current level and score targets
@@ -733,34 +1215,20 @@ public class GameEngine {
             
             // Check if player reached the score target for current level
             if (currentScore >= currentLevel.getScoreToNextLevel()) {
-                // If we're on the final level (level 3), this means win
-                if (currentLevel.getLevelNumber() >= 3) {
+                // If we're on the final level, this means win
+                if (levelManager.isFinalLevel()) {
                     gameState.setGameWon(true);
                     android.util.Log.d("GameEngine", "Player won by reaching score target on final level: " + currentScore);
                 }
                 // For other levels, advance to next level (handled by LevelManager)
             }
             
-            // Additional high score win conditions for each level
-            switch (currentLevel.getLevelNumber()) {
-                case 1:
-                    if (currentScore >= 750) { // High score win for Level 1
-                        gameState.setGameWon(true);
-                        android.util.Log.d("GameEngine", "Player won Level 1 with high score: " + currentScore);
-                    }
-                    break;
-                case 2:
-                    if (currentScore >= 1200) { // High score win for Level 2
-                        gameState.setGameWon(true);
-                        android.util.Log.d("GameEngine", "Player won Level 2 with high score: " + currentScore);
-                    }
-                    break;
-                case 3:
-                    if (currentScore >= 2000) { // High score win for Level 3
-                        gameState.setGameWon(true);
-                        android.util.Log.d("GameEngine", "Player won Level 3 with high score: " + currentScore);
-                    }
-                    break;
+            // Additional high score win condition for the level (0 = none)
+            int winScore = currentLevel.getWinScore();
+            if (winScore > 0 && currentScore >= winScore) {
+                gameState.setGameWon(true);
+                android.util.Log.d("GameEngine", "Player won Level " + currentLevel.getLevelNumber()
+                    + " with high score: " + currentScore);
             }
         }
     }
@@ -798,9 +1266,24 @@ public class GameEngine {
             );
             winManager.setCongratulationsBitmap(resourceManager.getCongratulationsBitmap());
         }
+        
+        // Entities from a snapshot need this level's bitmaps, so they come back last
+        if (pendingRestore != null) {
+            restoreSnapshot(pendingRestore);
+            pendingRestore = null;
+        }
     }
     
     public void setSoundManager(SoundManager soundManager) {
         this.soundManager = soundManager;
+        musicLevel = 0;
+    }
+    
+    /**
+     * Scores are saved once this is set; obtain it off the UI thread, since the first
+     * use replays the whole score history
+     */
+    public void setHighScoreManager(HighScoreManager highScoreManager) {
+        this.highScoreManager = highScoreManager;
     }
 }
\ No newline at end of file
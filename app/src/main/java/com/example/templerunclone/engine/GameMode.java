@@ -0,0 +1,50 @@
+package com.example.templerunclone.engine;
+
+/**
+ * Game modes with their object limits.
+ * CLASSIC keeps the original caps, BULLET_HELL is the stress mode used to
+ * validate the hot paths (pooling, broadphase, batched rendering).
+ */
+public enum GameMode {
+    CLASSIC(15, 8, 50, 10, false),
+    BULLET_HELL(500, 8, 6000, 64, true);
+    
+    // Target load that the stress scenario keeps alive
+    public static final int STRESS_TARGET_PROJECTILES = 5000;
+    public static final int STRESS_TARGET_ENEMIES = 500;
+    
+    private final int maxEnemies;
+    private final int maxPowerUps;
+    private final int maxRenderedBullets;
+    private final int maxRenderedExplosions;
+    private final boolean stress;
+    
+    GameMode(int maxEnemies, int maxPowerUps, int maxRenderedBullets, int maxRenderedExplosions, boolean stress) {
+        this.maxEnemies = maxEnemies;
+        this.maxPowerUps = maxPowerUps;
+        this.maxRenderedBullets = maxRenderedBullets;
+        this.maxRenderedExplosions = maxRenderedExplosions;
+        this.stress = stress;
+    }
+    
+    public int getMaxEnemies() { return maxEnemies; }
+    public int getMaxPowerUps() { return maxPowerUps; }
+    public int getMaxRenderedBullets() { return maxRenderedBullets; }
+    public int getMaxRenderedExplosions() { return maxRenderedExplosions; }
+    
+    /**
+     * Stress modes run endless: no win condition, no level advance, no player damage
+     */
+    public boolean isStress() { return stress; }
+    
+    public static GameMode fromName(String name) {
+        if (name != null) {
+            for (GameMode mode : values()) {
+                if (mode.name().equalsIgnoreCase(name)) {
+                    return mode;
+                }
+            }
+        }
+        return CLASSIC;
+    }
+}
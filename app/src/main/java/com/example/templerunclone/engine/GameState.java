@@ -5,6 +5,10 @@ import android.graphics.Color;
 import android.graphics.Paint;
 import com.example.templerunclone.entities.PowerUp;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Manages game state including score, level, power-ups effects
  */
@@ -14,6 +18,7 @@ public class GameState {
     private boolean gameOver = false;
     private boolean gameWon = false;
     private boolean paused = false;
+    private boolean endless = false; // Stress modes: no level/win progression
     
     // Power-up effects - chỉ giữ 6 loại
     private boolean rapidFireActive = false;
@@ -46,32 +51,12 @@ public class GameState {
     public void update(float deltaTime) {
         if (gameOver || gameWon || paused) return;
         
-        // Level progression is now handled by LevelManager
-        // Keep the simple score-based level progression as backup
-        int newLevel = Math.min(3, (score / 150) + 1); // Max level 3, advance every 150 points
-        if (newLevel != level) {
-            level = newLevel;
-        }
-        
-        // Check for WIN conditions
-        // 1. Complete all 3 levels (traditional way)
-        if (level > 3) {
-            gameWon = true;
-            return;
-        }
-        
-        // 2. Reach high score targets per level
-        if (level == 1 && score >= 500) { // Level 1: 500 points to win
-            gameWon = true;
-            return;
-        } else if (level == 2 && score >= 1000) { // Level 2: 1000 points to win
-            gameWon = true;
-            return;
-        } else if (level == 3 && score >= 1500) { // Level 3: 1500 points to win
-            gameWon = true;
-            return;
-        }
-        
+        // Level progression and win conditions come from the level data
+        // (LevelManager and GameEngine.checkLevelWinConditions)
+        updatePowerUpTimers();
+    }
+    
+    private void updatePowerUpTimers() {
         // Update power-up effects - Bật lại để tắt khi hết thời gian
         long currentTime = System.currentTimeMillis();
         
@@ -145,6 +130,58 @@ public class GameState {
         score += points;
     }
     
+    /**
+     * Write score, level and the power-up timers to a game snapshot.
+     * Timers are stored as time remaining so they resume where they were paused.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        long now = System.currentTimeMillis();
+        out.writeInt(score);
+        out.writeInt(level);
+        out.writeFloat(speedMultiplier);
+        out.writeLong(now - gameStartTime);
+        writeTimer(out, rapidFireActive, rapidFireEndTime, now);
+        writeTimer(out, multiShotActive, multiShotEndTime, now);
+        writeTimer(out, shieldActive, shieldEndTime, now);
+        writeTimer(out, laserBeamActive, laserBeamEndTime, now);
+        writeTimer(out, energyShieldActive, energyShieldEndTime, now);
+        writeTimer(out, forceFieldActive, forceFieldEndTime, now);
+    }
+    
+    private static void writeTimer(DataOutput out, boolean active, long endTime, long now) throws IOException {
+        out.writeLong(active ? Math.max(0, endTime - now) : 0);
+    }
+    
+    public void readState(DataInput in) throws IOException {
+        long now = System.currentTimeMillis();
+        score = in.readInt();
+        level = in.readInt();
+        speedMultiplier = in.readFloat();
+        gameStartTime = now - in.readLong();
+        
+        long remaining = in.readLong();
+        rapidFireActive = remaining > 0;
+        rapidFireEndTime = now + remaining;
+        remaining = in.readLong();
+        multiShotActive = remaining > 0;
+        multiShotEndTime = now + remaining;
+        remaining = in.readLong();
+        shieldActive = remaining > 0;
+        shieldEndTime = now + remaining;
+        remaining = in.readLong();
+        laserBeamActive = remaining > 0;
+        laserBeamEndTime = now + remaining;
+        remaining = in.readLong();
+        energyShieldActive = remaining > 0;
+        energyShieldEndTime = now + remaining;
+        remaining = in.readLong();
+        forceFieldActive = remaining > 0;
+        forceFieldEndTime = now + remaining;
+        
+        gameOver = false;
+        gameWon = false;
+    }
+    
     public void drawUI(Canvas canvas, Paint paint, int screenWidth, int screenHeight) {
         // Draw score
         paint.setColor(Color.WHITE);
@@ -241,6 +278,9 @@ public class GameState {
     public void setGameOver(boolean gameOver) { this.gameOver = gameOver; }
     public void setGameWon(boolean gameWon) { this.gameWon = gameWon; }
     public void setPaused(boolean paused) { this.paused = paused; }
+    public void setLevel(int level) { this.level = level; }
+    public void setEndless(boolean endless) { this.endless = endless; }
+    public boolean isEndless() { return endless; }
     public void setAction(String action) { this.pendingAction = action; }
     
     public String getPendingAction() {
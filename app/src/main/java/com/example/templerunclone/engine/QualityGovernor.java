@@ -0,0 +1,88 @@
+package com.example.templerunclone.engine;
+
+/**
+ * Adaptive quality governor.
+ * Watches a rolling window of frame work times (update + render, excluding the
+ * frame-pacing sleep) and steps the QualityTier down when frames run over budget,
+ * back up when there is comfortable headroom. Hysteresis: stepping down needs a few
+ * bad windows in a row, stepping up needs many good ones, and the window restarts
+ * after every change so one tier's numbers never judge the next.
+ */
+public class QualityGovernor {
+    
+    public interface Listener {
+        void onTierChanged(QualityTier oldTier, QualityTier newTier, float avgFrameMs);
+    }
+    
+    private static final float FRAME_BUDGET_MS = 1000f / 60f;
+    private static final float DOWNSHIFT_MS = FRAME_BUDGET_MS * 0.9f; // leave room for the compositor
+    private static final float UPSHIFT_MS = FRAME_BUDGET_MS * 0.5f;
+    private static final int WINDOW_FRAMES = 30;
+    private static final int DOWNSHIFT_WINDOWS = 2;  // ~1 s of bad frames
+    private static final int UPSHIFT_WINDOWS = 10;   // ~5 s of good frames
+    
+    private QualityTier tier;
+    private Listener listener;
+    
+    private float windowTotalMs = 0f;
+    private int windowFrames = 0;
+    private int badWindows = 0;
+    private int goodWindows = 0;
+    private float lastWindowAvgMs = 0f;
+    
+    public QualityGovernor(QualityTier initialTier) {
+        this.tier = initialTier;
+    }
+    
+    public QualityGovernor() {
+        this(QualityTier.HIGH);
+    }
+    
+    /**
+     * Feed one frame's work time
+     */
+    public void onFrame(float workMs) {
+        windowTotalMs += workMs;
+        windowFrames++;
+        if (windowFrames < WINDOW_FRAMES) return;
+        
+        lastWindowAvgMs = windowTotalMs / windowFrames;
+        windowTotalMs = 0f;
+        windowFrames = 0;
+        
+        if (lastWindowAvgMs > DOWNSHIFT_MS) {
+            badWindows++;
+            goodWindows = 0;
+            if (badWindows >= DOWNSHIFT_WINDOWS && tier != QualityTier.LOW) {
+                changeTier(tier.lower());
+            }
+        } else if (lastWindowAvgMs < UPSHIFT_MS) {
+            goodWindows++;
+            badWindows = 0;
+            if (goodWindows >= UPSHIFT_WINDOWS && tier != QualityTier.HIGH) {
+                changeTier(tier.higher());
+            }
+        } else {
+            // In the comfort band: hold the tier
+            badWindows = 0;
+            goodWindows = 0;
+        }
+    }
+    
+    private void changeTier(QualityTier newTier) {
+        QualityTier oldTier = tier;
+        tier = newTier;
+        badWindows = 0;
+        goodWindows = 0;
+        if (listener != null) {
+            listener.onTierChanged(oldTier, newTier, lastWindowAvgMs);
+        }
+    }
+    
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+    
+    public QualityTier getTier() { return tier; }
+    public float getLastWindowAvgMs() { return lastWindowAvgMs; }
+}
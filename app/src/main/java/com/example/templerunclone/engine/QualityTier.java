@@ -0,0 +1,42 @@
+package com.example.templerunclone.engine;
+
+/**
+ * Visual quality tiers stepped by the QualityGovernor.
+ * Each tier only trims cosmetic work; gameplay is identical on every tier.
+ */
+public enum QualityTier {
+    //    particles  explosions  shieldGlow  bgLayers  hudRefreshMs
+    LOW(      256,        3,       false,       0,         250),
+    MEDIUM(  1024,        6,       true,        1,         100),
+    HIGH(    2048,       10,       true,        2,           0);
+    
+    private final int particleBudget;
+    private final int maxExplosions;
+    private final boolean shieldGlow;
+    private final int backgroundLayers;
+    private final long hudRefreshMs;
+    
+    QualityTier(int particleBudget, int maxExplosions, boolean shieldGlow, int backgroundLayers, long hudRefreshMs) {
+        this.particleBudget = particleBudget;
+        this.maxExplosions = maxExplosions;
+        this.shieldGlow = shieldGlow;
+        this.backgroundLayers = backgroundLayers;
+        this.hudRefreshMs = hudRefreshMs;
+    }
+    
+    public int getParticleBudget() { return particleBudget; }
+    public int getMaxExplosions() { return maxExplosions; }
+    public boolean hasShieldGlow() { return shieldGlow; }
+    /** Scrolling background layers: 0 = static single blit */
+    public int getBackgroundLayers() { return backgroundLayers; }
+    /** Minimum interval between HUD text refreshes, 0 = every frame */
+    public long getHudRefreshMs() { return hudRefreshMs; }
+    
+    public QualityTier lower() {
+        return this == HIGH ? MEDIUM : LOW;
+    }
+    
+    public QualityTier higher() {
+        return this == LOW ? MEDIUM : HIGH;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.templerunclone.engine;
+
+import android.graphics.Bitmap;
+import android.graphics.Paint;
+
+/**
+ * Renderer that draws nothing and records what a frame would cost:
+ * draw calls per operation, overdraw (covered pixels / screen pixels) and state
+ * changes (a new bitmap or paint between consecutive calls, i.e. a batch break).
+ * Only geometry and object identity are inspected, so it runs in JVM unit tests
+ * (app/build.gradle sets unitTests.returnDefaultValues, without which any android.jar
+ * call throws "not mocked"). Sprite area is the width and height the caller passes,
+ * never Bitmap.getWidth()/getHeight(), which those defaults report as 0.
+ */
+public class RecordingRenderer implements Renderer {
+    public static final int OP_SPRITE = 0;
+    public static final int OP_RECT = 1;
+    public static final int OP_CIRCLE = 2;
+    public static final int OP_TEXT = 3;
+    public static final int OP_POINTS = 4;
+    private static final int OP_COUNT = 5;
+    private static final String[] OP_NAMES = {"sprite", "rect", "circle", "text", "points"};
+    
+    private final int width, height;
+    private final int[] opCounts = new int[OP_COUNT];
+    private int drawCalls;
+    private int stateChanges;
+    private double coveredArea;
+    
+    // Last state, to detect batch breaks
+    private Bitmap lastBitmap;
+    private Paint lastPaint;
+    private int lastOp = -1;
+    
+    public RecordingRenderer(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+    
+    @Override
+    public int getWidth() { return width; }
+    
+    @Override
+    public int getHeight() { return height; }
+    
+    @Override
+    public void drawSprite(Bitmap bitmap, float x, float y, float width, float height, Paint paint) {
+        record(OP_SPRITE, bitmap, paint);
+        cover(x, y, x + width, y + height);
+    }
+    
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        record(OP_RECT, null, paint);
+        cover(left, top, right, bottom);
+    }
+    
+    @Override
+    public void drawCircle(float cx, float cy, float radius, Paint paint) {
+        record(OP_CIRCLE, null, paint);
+        // Bounding box: rasterization touches the whole box's tiles
+        cover(cx - radius, cy - radius, cx + radius, cy + radius);
+    }
+    
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        record(OP_TEXT, null, paint);
+        // Glyph coverage needs font metrics; text counts as a call but adds no area
+    }
+    
+    @Override
+    public void drawPoints(float[] points, int offset, int count, Paint paint) {
+        record(OP_POINTS, null, paint);
+    }
+    
+    private void record(int op, Bitmap bitmap, Paint paint) {
+        drawCalls++;
+        opCounts[op]++;
+        if (op != lastOp || bitmap != lastBitmap || paint != lastPaint) {
+            if (lastOp != -1) {
+                stateChanges++;
+            }
+            lastOp = op;
+            lastBitmap = bitmap;
+            lastPaint = paint;
+        }
+    }
+    
+    private void cover(float left, float top, float right, float bottom) {
+        float l = Math.max(0f, left);
+        float t = Math.max(0f, top);
+        float r = Math.min(width, right);
+        float b = Math.min(height, bottom);
+        if (r > l && b > t) {
+            coveredArea += (double) (r - l) * (b - t);
+        }
+    }
+    
+    /**
+     * Start a new frame
+     */
+    public void reset() {
+        java.util.Arrays.fill(opCounts, 0);
+        drawCalls = 0;
+        stateChanges = 0;
+        coveredArea = 0;
+        lastBitmap = null;
+        lastPaint = null;
+        lastOp = -1;
+    }
+    
+    public int getDrawCalls() { return drawCalls; }
+    public int getDrawCalls(int op) { return opCounts[op]; }
+    public int getStateChanges() { return stateChanges; }
+    
+    /**
+     * Pixels written divided by screen pixels (1.0 = every pixel drawn once)
+     */
+    public double getOverdraw() {
+        return width > 0 && height > 0 ? coveredArea / ((double) width * height) : 0;
+    }
+    
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("calls=").append(drawCalls);
+        for (int i = 0; i < OP_COUNT; i++) {
+            sb.append(' ').append(OP_NAMES[i]).append('=').append(opCounts[i]);
+        }
+        sb.append(" stateChanges=").append(stateChanges);
+        sb.append(String.format(java.util.Locale.US, " overdraw=%.2fx", getOverdraw()));
+        return sb.toString();
+    }
+}
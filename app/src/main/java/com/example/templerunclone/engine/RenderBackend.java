@@ -0,0 +1,126 @@
+package com.example.templerunclone.engine;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.os.Build;
+import android.util.Log;
+
+/**
+ * Surface rendering backends.
+ * SOFTWARE locks a CPU-rasterized canvas (and supports partial dirty-rect locks),
+ * HARDWARE draws through lockHardwareCanvas() on API 26+.
+ * A Surface is bound to whichever backend locks it first, so the backend is chosen
+ * before the surface's first frame and a fallback takes effect on the next surface.
+ */
+public enum RenderBackend {
+    SOFTWARE,
+    HARDWARE;
+    
+    private static final String TAG = "RenderBackend";
+    private static final String PREFS_NAME = "RenderBackend";
+    private static final String KEY_HARDWARE_FAILED = "hardware_failed";
+    
+    public static RenderBackend fromName(String name, RenderBackend fallback) {
+        if (name != null) {
+            for (RenderBackend backend : values()) {
+                if (backend.name().equalsIgnoreCase(name)) {
+                    return backend;
+                }
+            }
+        }
+        return fallback;
+    }
+    
+    /**
+     * Backend to use for a new surface: HARDWARE only on API 26+ and when it has not
+     * failed on this device before. Every draw op the game uses is accelerated well
+     * below API 26, so per-op support is checked by probe() on the live canvas.
+     */
+    public static RenderBackend resolve(Context context, RenderBackend requested) {
+        if (requested != HARDWARE) {
+            return SOFTWARE;
+        }
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+            Log.i(TAG, "lockHardwareCanvas needs API 26, using software canvas");
+            return SOFTWARE;
+        }
+        if (context != null && prefs(context).getBoolean(KEY_HARDWARE_FAILED, false)) {
+            Log.i(TAG, "Hardware canvas failed earlier on this device, using software canvas");
+            return SOFTWARE;
+        }
+        return HARDWARE;
+    }
+    
+    /**
+     * Default for this device: hardware where available
+     */
+    public static RenderBackend preferred(Context context) {
+        return resolve(context, HARDWARE);
+    }
+    
+    /**
+     * Remember that the hardware canvas is unusable so later surfaces start in software
+     */
+    public static void markHardwareFailed(Context context, String reason) {
+        Log.w(TAG, "Hardware canvas rejected: " + reason);
+        if (context != null) {
+            prefs(context).edit().putBoolean(KEY_HARDWARE_FAILED, true).apply();
+        }
+    }
+    
+    /**
+     * Exercise every draw op the game uses on a freshly locked canvas, clipped to a
+     * single pixel that the frame overdraws. Returns the failing op, or null if all work.
+     */
+    public static String probe(Canvas canvas, boolean expectHardware) {
+        if (expectHardware && !canvas.isHardwareAccelerated()) {
+            return "isHardwareAccelerated";
+        }
+        Paint paint = new Paint();
+        String op = "createBitmap";
+        int saveCount = canvas.save();
+        try {
+            // Left for the GC: a hardware canvas keeps a reference until the frame is drawn
+            Bitmap bitmap = Bitmap.createBitmap(4, 4, Bitmap.Config.ARGB_8888);
+            op = "clipRect";
+            canvas.clipRect(0, 0, 1, 1);
+            op = "translate";
+            canvas.translate(0.5f, 0.5f);
+            op = "drawBitmap";
+            canvas.drawBitmap(bitmap, null, new Rect(0, 0, 4, 4), paint);
+            canvas.drawBitmap(bitmap, 0, 0, paint);
+            op = "drawRect";
+            canvas.drawRect(0, 0, 2, 2, paint);
+            op = "drawRoundRect";
+            canvas.drawRoundRect(0, 0, 2, 2, 1, 1, paint);
+            op = "drawOval";
+            canvas.drawOval(0, 0, 2, 2, paint);
+            op = "drawCircle";
+            canvas.drawCircle(1, 1, 1, paint);
+            op = "drawLine";
+            canvas.drawLine(0, 0, 2, 2, paint);
+            op = "drawPoint";
+            canvas.drawPoint(1, 1, paint);
+            op = "drawPoints";
+            paint.setStrokeCap(Paint.Cap.SQUARE);
+            canvas.drawPoints(new float[] {0, 0, 1, 1}, 0, 4, paint);
+            op = "drawText";
+            canvas.drawText("0", 0, 1, paint);
+            canvas.drawText(new char[] {'0'}, 0, 1, 0, 1, paint);
+            return null;
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Probe failed at " + op, e);
+            return op;
+        } finally {
+            canvas.restoreToCount(saveCount);
+        }
+    }
+    
+    private static SharedPreferences prefs(Context context) {
+        return context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.templerunclone.engine;
+
+import android.graphics.Bitmap;
+import android.graphics.Paint;
+
+/**
+ * Drawing operations used by the game's render path.
+ * CanvasRenderer draws to a real Canvas; RecordingRenderer only measures the frame
+ * (draw calls, overdraw, state changes) so render-path changes can be checked off-device.
+ */
+public interface Renderer {
+    
+    int getWidth();
+    
+    int getHeight();
+    
+    /**
+     * Blit a bitmap at its own size with its top-left corner at (x, y). width and height
+     * are the area it covers on screen (the caller's box or the bitmap size it allocated),
+     * for renderers that measure the frame rather than draw it.
+     */
+    void drawSprite(Bitmap bitmap, float x, float y, float width, float height, Paint paint);
+    
+    void drawRect(float left, float top, float right, float bottom, Paint paint);
+    
+    void drawCircle(float cx, float cy, float radius, Paint paint);
+    
+    void drawText(String text, float x, float y, Paint paint);
+    
+    /**
+     * Batched points (x, y pairs), drawn with the paint's stroke width and cap
+     */
+    void drawPoints(float[] points, int offset, int count, Paint paint);
+}
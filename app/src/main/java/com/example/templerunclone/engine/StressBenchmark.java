@@ -0,0 +1,122 @@
+package com.example.templerunclone.engine;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.util.Log;
+
+import com.example.templerunclone.managers.ResourceManager;
+
+import java.util.Arrays;
+
+/**
+ * Headless bullet-hell benchmark.
+ * Drives a BULLET_HELL GameEngine at a fixed timestep with no surface attached,
+ * optionally rendering into an offscreen bitmap, and reports frame-time stats
+ * against the 60 fps budget.
+ */
+public class StressBenchmark {
+    private static final String TAG = "StressBenchmark";
+    private static final float FIXED_STEP_MS = 1000f / 60f;
+    public static final double FRAME_BUDGET_MS = 1000.0 / 60.0;
+    
+    public static class Result {
+        public int frames;
+        public double avgUpdateMs;
+        public double avgRenderMs;
+        public double avgFrameMs;
+        public double p95FrameMs;
+        public double maxFrameMs;
+        // Lowest load per frame, sampled right after the scenario tops it up
+        // (later in the tick, hits and off-screen removal take some away)
+        public int minBullets = Integer.MAX_VALUE;
+        public int minEnemies = Integer.MAX_VALUE;
+        
+        /**
+         * Target met when 95% of frames fit the budget while the full load was alive
+         */
+        public boolean meetsTarget() {
+            return p95FrameMs <= FRAME_BUDGET_MS
+                && minBullets >= GameMode.STRESS_TARGET_PROJECTILES
+                && minEnemies >= GameMode.STRESS_TARGET_ENEMIES;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format(java.util.Locale.US,
+                "frames=%d update=%.2fms render=%.2fms frame avg=%.2fms p95=%.2fms max=%.2fms "
+                    + "minBullets=%d minEnemies=%d target=%s",
+                frames, avgUpdateMs, avgRenderMs, avgFrameMs, p95FrameMs, maxFrameMs,
+                minBullets, minEnemies, meetsTarget() ? "MET" : "MISSED");
+        }
+    }
+    
+    /**
+     * Run the scenario. Must not be called on the UI thread, and any live game loop
+     * should be held meanwhile so the timings are not contended.
+     */
+    public static Result run(Context context, int screenWidth, int screenHeight,
+                             int warmupFrames, int measuredFrames, boolean renderOffscreen) {
+        GameEngine engine = new GameEngine(screenWidth, screenHeight, GameMode.BULLET_HELL);
+        ResourceManager resourceManager = new ResourceManager(screenWidth, screenHeight);
+        resourceManager.loadResources(context);
+        engine.setContext(context);
+        engine.setResourceManager(resourceManager);
+        
+        Bitmap target = null;
+        Canvas canvas = null;
+        Paint paint = null;
+        if (renderOffscreen) {
+            target = Bitmap.createBitmap(screenWidth, screenHeight, Bitmap.Config.RGB_565);
+            canvas = new Canvas(target);
+            paint = new Paint();
+        }
+        
+        StressScenario scenario = engine.getStressScenario();
+        
+        // Warm up until the stress load has ramped to its targets
+        for (int i = 0; i < warmupFrames; i++) {
+            engine.step(FIXED_STEP_MS);
+        }
+        
+        double[] frameMs = new double[measuredFrames];
+        double totalUpdate = 0, totalRender = 0;
+        Result result = new Result();
+        
+        for (int i = 0; i < measuredFrames; i++) {
+            long start = System.nanoTime();
+            engine.step(FIXED_STEP_MS);
+            long updated = System.nanoTime();
+            if (canvas != null) {
+                engine.render(canvas, paint);
+            }
+            long rendered = System.nanoTime();
+            
+            totalUpdate += (updated - start) / 1e6;
+            totalRender += (rendered - updated) / 1e6;
+            frameMs[i] = (rendered - start) / 1e6;
+            
+            result.minBullets = Math.min(result.minBullets, scenario.getLoadedProjectiles());
+            result.minEnemies = Math.min(result.minEnemies, scenario.getLoadedEnemies());
+        }
+        
+        result.frames = measuredFrames;
+        if (measuredFrames > 0) {
+            result.avgUpdateMs = totalUpdate / measuredFrames;
+            result.avgRenderMs = totalRender / measuredFrames;
+            result.avgFrameMs = (totalUpdate + totalRender) / measuredFrames;
+            Arrays.sort(frameMs);
+            result.p95FrameMs = frameMs[Math.min(measuredFrames - 1, (int) (measuredFrames * 0.95))];
+            result.maxFrameMs = frameMs[measuredFrames - 1];
+        }
+        
+        engine.cleanup();
+        if (target != null) {
+            target.recycle();
+        }
+        
+        Log.i(TAG, "Bullet-hell benchmark: " + result);
+        return result;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.templerunclone.engine;
+
+import android.graphics.Bitmap;
+import com.example.templerunclone.entities.Bullet;
+import com.example.templerunclone.managers.EnemyManager;
+import com.example.templerunclone.utils.ObjectPool;
+
+import java.util.List;
+
+/**
+ * Bullet-hell load generator.
+ * Keeps the projectile and enemy counts at the GameMode stress targets by
+ * firing fan volleys from the player and refilling enemy waves.
+ */
+public class StressScenario {
+    private static final float PROJECTILE_SPEED = 420f;
+    private static final float FAN_SPREAD = 0.6f; // max sideways speed as a fraction of PROJECTILE_SPEED
+    private static final int MAX_EMIT_PER_TICK = 160;
+    private static final int MAX_ENEMY_SPAWN_PER_TICK = 40;
+    
+    private final int targetProjectiles;
+    private final int targetEnemies;
+    private int volleyIndex = 0;
+    
+    // Live counts right after this tick's top-up, before hits and off-screen removal
+    private int loadedProjectiles = 0;
+    private int loadedEnemies = 0;
+    
+    public StressScenario(int targetProjectiles, int targetEnemies) {
+        this.targetProjectiles = targetProjectiles;
+        this.targetEnemies = targetEnemies;
+    }
+    
+    public StressScenario() {
+        this(GameMode.STRESS_TARGET_PROJECTILES, GameMode.STRESS_TARGET_ENEMIES);
+    }
+    
+    /**
+     * Emit projectiles from the origin until the live count reaches the target.
+     * Emission is capped per tick so the load ramps up instead of spiking.
+     */
+    public void emitProjectiles(List<Bullet> bullets, ObjectPool<Bullet> pool,
+                                float originX, float originY, Bitmap bulletBitmap) {
+        int missing = targetProjectiles - bullets.size();
+        int count = Math.min(missing, MAX_EMIT_PER_TICK);
+        if (count <= 0) {
+            loadedProjectiles = bullets.size();
+            return;
+        }
+        
+        for (int i = 0; i < count; i++) {
+            // Spread the volley evenly, rotating the phase each tick so rows don't overlap
+            float t = ((i + volleyIndex * 0.37f) % count) / count;
+            Bullet bullet = pool.obtain();
+            bullet.reset(originX, originY, PROJECTILE_SPEED);
+            bullet.setVelocityX((t * 2f - 1f) * FAN_SPREAD * PROJECTILE_SPEED);
+            if (bulletBitmap != null) {
+                bullet.setBitmap(bulletBitmap);
+            }
+            bullets.add(bullet);
+        }
+        volleyIndex++;
+        loadedProjectiles = bullets.size();
+    }
+    
+    /**
+     * Top the enemy population back up to the target
+     */
+    public void refillEnemies(EnemyManager enemyManager) {
+        int missing = targetEnemies - enemyManager.getEnemyCount();
+        if (missing > 0) {
+            enemyManager.spawnWave(Math.min(missing, MAX_ENEMY_SPAWN_PER_TICK));
+        }
+        loadedEnemies = enemyManager.getEnemyCount();
+    }
+    
+    public int getTargetProjectiles() { return targetProjectiles; }
+    public int getTargetEnemies() { return targetEnemies; }
+    public int getLoadedProjectiles() { return loadedProjectiles; }
+    public int getLoadedEnemies() { return loadedEnemies; }
+}
@@ -1,15 +1,20 @@
 package com.example.templerunclone.entities;
 
 import android.graphics.Bitmap;
-import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Color;
+import com.example.templerunclone.engine.Renderer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * Bullet entity
  */
 public class Bullet extends GameObject {
     private float speed;
+    private float velocityX = 0f; // Sideways drift for spread patterns
     protected int damage; // Changed to protected for subclass access
     private Bitmap bitmap; // Add bitmap support
     
@@ -20,25 +25,60 @@ public class Bullet extends GameObject {
         this.bitmap = null;
     }
     
+    /**
+     * Re-arm a pooled bullet so it can be fired again
+     */
+    public void reset(float x, float y, float speed) {
+        this.x = x;
+        this.y = y;
+        this.prevX = x;
+        this.prevY = y;
+        this.speed = speed;
+        this.velocityX = 0f;
+        this.damage = 1;
+        this.active = true;
+    }
+    
     @Override
     public void update(float deltaTime) {
-        y -= speed * deltaTime / 1000f;
-        
-        // Deactivate if off screen
-        if (y < -height) {
-            active = false;
-        }
+        float dt = deltaTime / 1000f;
+        y -= speed * dt;
+        x += velocityX * dt;
+    }
+    
+    /**
+     * Off screen bullets are removed after collision checks, so a bullet that
+     * crosses an enemy and leaves the screen in the same tick still registers the hit
+     */
+    public boolean isOffScreen() {
+        return y < -height;
+    }
+    
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeFloat(speed);
+        out.writeFloat(velocityX);
+        out.writeInt(damage);
+    }
+    
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        speed = in.readFloat();
+        velocityX = in.readFloat();
+        damage = in.readInt();
     }
     
     @Override
-    public void draw(Canvas canvas, Paint paint) {
+    public void draw(Renderer renderer, Paint paint) {
         if (bitmap != null && !bitmap.isRecycled()) {
             // Draw bitmap if available
-            canvas.drawBitmap(bitmap, x, y, paint);
+            renderer.drawSprite(bitmap, x, y, width, height, paint);
         } else {
             // Fallback to colored rectangle
             paint.setColor(Color.YELLOW);
-            canvas.drawRect(x, y, x + width, y + height, paint);
+            renderer.drawRect(x, y, x + width, y + height, paint);
         }
     }
     
@@ -50,6 +90,14 @@ public class Bullet extends GameObject {
         this.damage = damage;
     }
     
+    public float getSpeed() {
+        return speed;
+    }
+    
+    public void setVelocityX(float velocityX) {
+        this.velocityX = velocityX;
+    }
+    
     public void setBitmap(Bitmap bitmap) {
         this.bitmap = bitmap;
         // Optionally resize bullet to match bitmap
@@ -1,8 +1,11 @@
 package com.example.templerunclone.entities;
 
 import android.graphics.Bitmap;
-import android.graphics.Canvas;
 import android.graphics.Paint;
+import com.example.templerunclone.engine.Renderer;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Random;
 
 /**
@@ -20,10 +23,15 @@ public abstract class Enemy extends GameObject {
     protected float velocityX = 0;
     protected float velocityY;
     protected int screenWidth = 0;
-    protected Random random = new Random();
+    // The engine's gameplay random source, so a restored run rolls the same drifts
+    protected final Random random;
     
-    public Enemy(float x, float y, float width, float height, Bitmap bitmap, float speed, int health) {
+    // Set while flying in a formation, which moves this enemy instead
+    Formation formation;
+    
+    public Enemy(float x, float y, float width, float height, Bitmap bitmap, float speed, int health, Random random) {
         super(x, y, width, height);
+        this.random = random;
         this.bitmap = bitmap;
         this.speed = speed;
         this.health = health;
@@ -35,12 +43,29 @@ public abstract class Enemy extends GameObject {
         this.velocityX = (random.nextFloat() - 0.5f) * speed * 0.3f; // 30% of vertical speed
     }
     
+    /**
+     * Re-arm a pooled enemy at a new position. Set speed and health first.
+     */
+    public void reset(float x, float y) {
+        this.x = x;
+        this.y = y;
+        this.prevX = x;
+        this.prevY = y;
+        this.active = true;
+        this.hasWarned = false;
+        this.formation = null;
+        this.velocityY = speed;
+        this.velocityX = (random.nextFloat() - 0.5f) * speed * 0.3f;
+    }
+    
     public void setScreenWidth(int screenWidth) {
         this.screenWidth = screenWidth;
     }
     
     @Override
     public void update(float deltaTime) {
+        if (formation != null) return; // placed by its formation
+        
         float dt = deltaTime / 1000f;
         
         // Move with velocity
@@ -62,13 +87,16 @@ public abstract class Enemy extends GameObject {
     }
     
     @Override
-    public void draw(Canvas canvas, Paint paint) {
+    public void draw(Renderer renderer, Paint paint) {
         if (bitmap != null) {
-            canvas.drawBitmap(bitmap, x, y, paint);
+            renderer.drawSprite(bitmap, x, y, width, height, paint);
         }
     }
     
     public void takeDamage(int damage) {
+        if (formation != null) {
+            formation.onMemberHit(this);
+        }
         health -= damage;
         if (health <= 0) {
             active = false;
@@ -79,6 +107,41 @@ public abstract class Enemy extends GameObject {
         return health <= 0;
     }
     
+    /**
+     * Fly on alone, drifting sideways at spread times the speed (0 for a random drift)
+     */
+    void leaveFormation(float spread) {
+        formation = null;
+        velocityY = speed;
+        velocityX = spread != 0f ? spread * speed : (random.nextFloat() - 0.5f) * speed * 0.3f;
+    }
+    
+    public boolean isInFormation() {
+        return formation != null;
+    }
+    
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeFloat(speed);
+        out.writeInt(health);
+        out.writeInt(maxHealth);
+        out.writeFloat(velocityX);
+        out.writeFloat(velocityY);
+        out.writeBoolean(hasWarned);
+    }
+    
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        speed = in.readFloat();
+        health = in.readInt();
+        maxHealth = in.readInt();
+        velocityX = in.readFloat();
+        velocityY = in.readFloat();
+        hasWarned = in.readBoolean();
+    }
+    
     public boolean shouldWarn(int screenHeight) {
         return !hasWarned && y > screenHeight * 0.7f;
     }
@@ -1,6 +1,7 @@
 package com.example.templerunclone.entities;
 
 import android.graphics.Bitmap;
+
 import java.util.Random;
 
 /**
@@ -8,14 +9,13 @@ import java.util.Random;
  */
 public class EnemyBasic extends Enemy {
     
-    public EnemyBasic(float x, float y, Bitmap bitmap) {
+    public EnemyBasic(float x, float y, Bitmap bitmap, Random random) {
         // Random size between 60-100
-        super(x, y, getRandomSize(60, 100), getRandomSize(60, 100), bitmap, 200f, 1);
+        super(x, y, getRandomSize(random, 60, 100), getRandomSize(random, 60, 100), bitmap, 200f, 1, random);
         this.scoreValue = 10;
     }
     
-    private static float getRandomSize(int min, int max) {
-        Random random = new Random();
+    private static float getRandomSize(Random random, int min, int max) {
         return min + random.nextFloat() * (max - min);
     }
 }
\ No newline at end of file
@@ -1,8 +1,14 @@
 package com.example.templerunclone.entities;
 
 import android.graphics.Bitmap;
-import android.graphics.Canvas;
 import android.graphics.Paint;
+import com.example.templerunclone.engine.Renderer;
+import com.example.templerunclone.utils.FastMath;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Random;
 
 /**
  * Big boss for Level 3: moves down to 1/3 screen height, then hovers and spawns minions.
@@ -12,6 +18,7 @@ public class EnemyBoss extends Enemy {
     private float targetY;
     private long lastSpawnTime;
     private long spawnCooldownMs = 1200; // spawn minions every 1.2s
+    private float swayTime = 0f; // seconds spent hovering
 
     public interface MinionSpawner {
         void spawnMinion(float x, float y);
@@ -19,7 +26,8 @@ public class EnemyBoss extends Enemy {
 
     private MinionSpawner spawner;
 
-    public EnemyBoss(float x, float y, Bitmap bitmap, int screenWidth, int screenHeight, MinionSpawner spawner) {
+    public EnemyBoss(float x, float y, Bitmap bitmap, int screenWidth, int screenHeight, MinionSpawner spawner,
+                     Random random) {
         // Pass computed size directly to super to keep it the first constructor statement
         super(
             x,
@@ -28,7 +36,8 @@ public class EnemyBoss extends Enemy {
             (bitmap != null ? bitmap.getHeight() : 200f),
             bitmap,
             140f,
-            30
+            30,
+            random
         ); // Large size, high health
         this.scoreValue = 200;
         this.screenWidth = screenWidth;
@@ -47,8 +56,9 @@ public class EnemyBoss extends Enemy {
             y += speed * dt;
             if (y > targetY) y = targetY;
         } else {
-            // subtle horizontal sway while hovering
-            x += Math.sin(System.currentTimeMillis() / 400.0) * 0.8f;
+            // subtle horizontal sway while hovering (2.5 rad/s)
+            swayTime += dt;
+            x += FastMath.sin(swayTime * 2.5f) * 0.8f;
         }
 
         // Keep boss on screen horizontally
@@ -69,9 +79,25 @@ public class EnemyBoss extends Enemy {
     }
 
     @Override
-    public void draw(Canvas canvas, Paint paint) {
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeFloat(targetY);
+        out.writeFloat(swayTime);
+        out.writeLong(System.currentTimeMillis() - lastSpawnTime);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        targetY = in.readFloat();
+        swayTime = in.readFloat();
+        lastSpawnTime = System.currentTimeMillis() - in.readLong();
+    }
+
+    @Override
+    public void draw(Renderer renderer, Paint paint) {
         // Draw the boss
-        super.draw(canvas, paint);
+        super.draw(renderer, paint);
 
         // Optionally draw a health bar on top of boss
         float barWidth = width;
@@ -81,8 +107,8 @@ public class EnemyBoss extends Enemy {
         int hpColor = 0xFFFF4444; // red
 
         paint.setColor(bgColor);
-        canvas.drawRect(x, y - 14, x + barWidth, y - 14 + barHeight, paint);
+        renderer.drawRect(x, y - 14, x + barWidth, y - 14 + barHeight, paint);
         paint.setColor(hpColor);
-        canvas.drawRect(x, y - 14, x + barWidth * ratio, y - 14 + barHeight, paint);
+        renderer.drawRect(x, y - 14, x + barWidth * ratio, y - 14 + barHeight, paint);
     }
 }
@@ -1,6 +1,7 @@
 package com.example.templerunclone.entities;
 
 import android.graphics.Bitmap;
+
 import java.util.Random;
 
 /**
@@ -8,14 +9,13 @@ import java.util.Random;
  */
 public class EnemyHeavy extends Enemy {
     
-    public EnemyHeavy(float x, float y, Bitmap bitmap) {
+    public EnemyHeavy(float x, float y, Bitmap bitmap, Random random) {
         // Random size between 100-150
-        super(x, y, getRandomSize(100, 150), getRandomSize(100, 150), bitmap, 100f, 3);
+        super(x, y, getRandomSize(random, 100, 150), getRandomSize(random, 100, 150), bitmap, 100f, 3, random);
         this.scoreValue = 30;
     }
     
-    private static float getRandomSize(int min, int max) {
-        Random random = new Random();
+    private static float getRandomSize(Random random, int min, int max) {
         return min + random.nextFloat() * (max - min);
     }
 }
\ No newline at end of file
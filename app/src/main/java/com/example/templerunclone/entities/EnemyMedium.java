@@ -1,6 +1,7 @@
 package com.example.templerunclone.entities;
 
 import android.graphics.Bitmap;
+
 import java.util.Random;
 
 /**
@@ -8,14 +9,13 @@ import java.util.Random;
  */
 public class EnemyMedium extends Enemy {
     
-    public EnemyMedium(float x, float y, Bitmap bitmap) {
+    public EnemyMedium(float x, float y, Bitmap bitmap, Random random) {
         // Random size between 80-120
-        super(x, y, getRandomSize(80, 120), getRandomSize(80, 120), bitmap, 150f, 2);
+        super(x, y, getRandomSize(random, 80, 120), getRandomSize(random, 80, 120), bitmap, 150f, 2, random);
         this.scoreValue = 20;
     }
     
-    private static float getRandomSize(int min, int max) {
-        Random random = new Random();
+    private static float getRandomSize(Random random, int min, int max) {
         return min + random.nextFloat() * (max - min);
     }
 }
\ No newline at end of file
@@ -1,23 +1,34 @@
 package com.example.templerunclone.entities;
 
 import android.graphics.Bitmap;
+import com.example.templerunclone.utils.MovementPath;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Random;
 
 /**
  * Enemy with zigzag/sinusoidal horizontal movement, used for Level 2.
  */
 public class EnemyZigZag extends Enemy {
+    // 120 px swing at 2 oscillations per second, used when the level provides no path
+    private static final MovementPath DEFAULT_PATH = MovementPath.sine(120f, 2f);
+    
     private float time;
-    private float amplitude; // horizontal swing range
-    private float frequency; // oscillation speed
+    private final MovementPath path; // precomputed horizontal swing
     private float originX;
 
-    public EnemyZigZag(float x, float y, Bitmap bitmap) {
+    public EnemyZigZag(float x, float y, Bitmap bitmap, Random random) {
+        this(x, y, bitmap, DEFAULT_PATH, random);
+    }
+    
+    public EnemyZigZag(float x, float y, Bitmap bitmap, MovementPath path, Random random) {
         // Slightly smaller than basic to keep count higher without clutter
-        super(x, y, 80f, 80f, bitmap, 220f, 2);
+        super(x, y, 80f, 80f, bitmap, 220f, 2, random);
         this.scoreValue = 15;
         this.time = 0f;
-        this.amplitude = 120f;  // pixels
-        this.frequency = 2.0f;  // oscillations per second
+        this.path = path != null ? path : DEFAULT_PATH;
         this.originX = x;
     }
 
@@ -29,9 +40,8 @@ public class EnemyZigZag extends Enemy {
         // Vertical descent
         y += speed * dt;
 
-        // Sinusoidal horizontal movement centered around originX
-        float omega = (float) (2 * Math.PI * frequency);
-        x = originX + (float) Math.sin(time * omega) * amplitude;
+        // Sinusoidal horizontal movement centered around originX (table read)
+        x = originX + path.getX(time);
 
         // Keep inside screen bounds if available
         if (screenWidth > 0) {
@@ -44,4 +54,18 @@ public class EnemyZigZag extends Enemy {
             active = false;
         }
     }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeFloat(time);
+        out.writeFloat(originX);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        time = in.readFloat();
+        originX = in.readFloat();
+    }
 }
@@ -1,20 +1,28 @@
 package com.example.templerunclone.entities;
 
 import android.graphics.Bitmap;
-import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
+import com.example.templerunclone.engine.Renderer;
 
 /**
  * Explosion effect entity
  */
 public class Explosion extends GameObject {
+    // Shared tint paint - creating a Paint and ColorFilter per draw was a hot-path allocation
+    private static final Paint EXPLOSION_PAINT = new Paint();
+    static {
+        EXPLOSION_PAINT.setColorFilter(new android.graphics.PorterDuffColorFilter(
+            Color.YELLOW, android.graphics.PorterDuff.Mode.MULTIPLY));
+    }
+    
     private Bitmap bitmap;
     private long startTime;
     private long duration;
     
     public Explosion(float x, float y, Bitmap bitmap, long duration) {
-        super(x, y, bitmap.getWidth(), bitmap.getHeight());
+        // Fall back to a fixed size when no bitmap is loaded (draw() renders a circle then)
+        super(x, y, bitmap != null ? bitmap.getWidth() : 60, bitmap != null ? bitmap.getHeight() : 60);
         this.bitmap = bitmap;
         this.duration = duration;
         this.startTime = System.currentTimeMillis();
@@ -28,17 +36,14 @@ public class Explosion extends GameObject {
     }
     
     @Override
-    public void draw(Canvas canvas, Paint paint) {
+    public void draw(Renderer renderer, Paint paint) {
         if (bitmap != null) {
             // Tạo hiệu ứng nổ màu vàng
-            Paint explosionPaint = new Paint();
-            explosionPaint.setColorFilter(new android.graphics.PorterDuffColorFilter(
-                Color.YELLOW, android.graphics.PorterDuff.Mode.MULTIPLY));
-            canvas.drawBitmap(bitmap, x, y, explosionPaint);
+            renderer.drawSprite(bitmap, x, y, width, height, EXPLOSION_PAINT);
         } else {
             // Vẽ vòng tròn vàng nếu không có bitmap
             paint.setColor(Color.YELLOW);
-            canvas.drawCircle(x + width/2, y + height/2, width/3, paint);
+            renderer.drawCircle(x + width/2, y + height/2, width/3, paint);
         }
     }
     
@@ -0,0 +1,340 @@
+package com.example.templerunclone.entities;
+
+import com.example.templerunclone.utils.FastMath;
+import com.example.templerunclone.utils.MovementPath;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Group of enemies flying in a fixed shape (line, V, circle or snake).
+ * The formation works out the group's motion once per tick and puts each member
+ * at its fixed offset, so members do no movement math of their own.
+ * A hit breaks it up: the struck member flies loose and the members on either
+ * side carry on as two smaller formations veering apart.
+ */
+public class Formation {
+    
+    public enum Shape {
+        LINE,   // Side by side
+        V,      // Leader in front, wings trailing
+        CIRCLE, // Rotating ring
+        SNAKE   // Single file, each member following the leader's swing
+    }
+    
+    // Whole groups sway 120 px at half an oscillation per second, unless given another path
+    private static final MovementPath DEFAULT_SWAY = MovementPath.sine(120f, 0.5f);
+    
+    private static final float SPACING = 110f;          // px between neighbours
+    private static final float V_DEPTH = 60f;           // px each V rank trails the one ahead
+    private static final float SNAKE_LAG = 0.15f;       // seconds of swing between snake members
+    private static final float CIRCLE_TURN_RATE = 1.2f; // radians per second
+    private static final float SPLIT_DRIFT = 90f;       // px/s sideways for each half after a split
+    private static final float LOOSE_SPREAD = 0.3f;     // sideways speed of a loose member, fraction of speed
+    
+    private final Shape shape;
+    private final MovementPath sway;
+    private final int screenWidth;
+    private final float speed; // px/s downwards
+    
+    // Members and their fixed offsets from the anchor, in slot order
+    private Enemy[] members;
+    private float[] offsetX;
+    private float[] offsetY;
+    private float[] lag; // seconds behind the leader's swing (snake only)
+    private int count = 0;
+    
+    private float originX;
+    private float anchorY;
+    private float driftX = 0f;
+    private float time = 0f;
+    
+    // First member hit since the last split() call
+    private Enemy hitMember;
+    
+    public Formation(Shape shape, int capacity, float speed, MovementPath sway, int screenWidth) {
+        this.shape = shape;
+        this.speed = speed;
+        this.sway = sway != null ? sway : DEFAULT_SWAY;
+        this.screenWidth = screenWidth;
+        this.members = new Enemy[capacity];
+        this.offsetX = new float[capacity];
+        this.offsetY = new float[capacity];
+        this.lag = new float[capacity];
+    }
+    
+    public void addMember(Enemy enemy) {
+        if (count == members.length) return;
+        enemy.formation = this;
+        members[count++] = enemy;
+    }
+    
+    /**
+     * Lay the members out around centerX, just above topY, and place them
+     */
+    public void start(float centerX, float topY) {
+        float middle = (count - 1) / 2f;
+        float radius = Math.max(80f, count * SPACING / (float) (2 * Math.PI));
+        float halfWidth = 0f;
+        float lowest = 0f;
+        for (int i = 0; i < count; i++) {
+            switch (shape) {
+                case V:
+                    offsetX[i] = (i - middle) * SPACING;
+                    offsetY[i] = -Math.abs(i - middle) * V_DEPTH;
+                    break;
+                case CIRCLE:
+                    double angle = 2 * Math.PI * i / count;
+                    offsetX[i] = (float) Math.cos(angle) * radius;
+                    offsetY[i] = (float) Math.sin(angle) * radius;
+                    break;
+                case SNAKE:
+                    offsetX[i] = 0f;
+                    offsetY[i] = -i * SPACING * 0.8f;
+                    lag[i] = i * SNAKE_LAG;
+                    break;
+                case LINE:
+                default:
+                    offsetX[i] = (i - middle) * SPACING;
+                    offsetY[i] = 0f;
+                    break;
+            }
+            halfWidth = Math.max(halfWidth, Math.abs(offsetX[i]));
+            lowest = Math.max(lowest, offsetY[i]);
+        }
+        if (shape == Shape.CIRCLE) {
+            halfWidth = radius; // the ring turns, so any member can reach the full radius
+            lowest = radius;
+        }
+        
+        float minX = halfWidth;
+        float maxX = Math.max(minX, screenWidth - 100 - halfWidth);
+        originX = Math.max(minX, Math.min(centerX, maxX));
+        anchorY = topY - lowest;
+        place();
+        for (int i = 0; i < count; i++) {
+            members[i].savePreviousPosition();
+        }
+    }
+    
+    /**
+     * Move the group once and put every member at its offset.
+     * Call after the members' own update, which leaves formation members in place.
+     */
+    public void update(float deltaTime) {
+        float dt = deltaTime / 1000f;
+        time += dt;
+        anchorY += speed * dt;
+        originX += driftX * dt;
+        
+        removeLostMembers();
+        place();
+    }
+    
+    private void place() {
+        float anchorX = originX + sway.getX(time);
+        float cos = 1f, sin = 0f;
+        if (shape == Shape.CIRCLE) {
+            float angle = time * CIRCLE_TURN_RATE;
+            cos = FastMath.cos(angle);
+            sin = FastMath.sin(angle);
+        }
+        
+        for (int i = 0; i < count; i++) {
+            Enemy member = members[i];
+            float mx, my;
+            switch (shape) {
+                case CIRCLE:
+                    mx = anchorX + offsetX[i] * cos - offsetY[i] * sin;
+                    my = anchorY + offsetX[i] * sin + offsetY[i] * cos;
+                    break;
+                case SNAKE:
+                    mx = originX + sway.getX(time - lag[i]);
+                    my = anchorY + offsetY[i];
+                    break;
+                default:
+                    mx = anchorX + offsetX[i];
+                    my = anchorY + offsetY[i];
+                    break;
+            }
+            if (screenWidth > 0) {
+                mx = Math.max(0, Math.min(mx, screenWidth - member.width));
+            }
+            member.x = mx;
+            member.y = my;
+            
+            // Deactivate if far off screen
+            if (my > 2000) {
+                member.active = false;
+            }
+        }
+    }
+    
+    private void removeLostMembers() {
+        // Killed, or already recycled into another role by the enemy pool
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            Enemy member = members[i];
+            if (member.isActive() && member.formation == this) {
+                members[kept] = member;
+                offsetX[kept] = offsetX[i];
+                offsetY[kept] = offsetY[i];
+                lag[kept] = lag[i];
+                kept++;
+            }
+        }
+        for (int i = kept; i < count; i++) {
+            members[i] = null;
+        }
+        count = kept;
+    }
+    
+    /**
+     * Record a hit on a member; the formation breaks up on the next split() call
+     */
+    void onMemberHit(Enemy member) {
+        if (hitMember == null) {
+            hitMember = member;
+        }
+    }
+    
+    /**
+     * Break the formation at the member hit since the last call, if any.
+     * The struck member flies loose, the members before it stay in this formation and
+     * the ones after it form the returned one; the halves veer apart, and a half left
+     * with a single member lets it fly loose too.
+     *
+     * @return the formation split off, or null
+     */
+    public Formation split() {
+        Enemy hit = hitMember;
+        hitMember = null;
+        if (hit == null || hit.formation != this) return null;
+        
+        int index = -1;
+        for (int i = 0; i < count; i++) {
+            if (members[i] == hit) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0) return null;
+        
+        // A snake has no sides: the hit member breaks loose and the tail keeps following
+        float drift = shape == Shape.SNAKE ? 0f : SPLIT_DRIFT;
+        
+        Formation tail = new Formation(shape, count - index - 1, speed, sway, screenWidth);
+        for (int i = index + 1; i < count; i++) {
+            tail.members[tail.count] = members[i];
+            tail.offsetX[tail.count] = offsetX[i];
+            tail.offsetY[tail.count] = offsetY[i];
+            tail.lag[tail.count] = lag[i];
+            tail.count++;
+            members[i].formation = tail;
+            members[i] = null;
+        }
+        tail.originX = originX;
+        tail.anchorY = anchorY;
+        tail.time = time;
+        tail.driftX = driftX + drift;
+        driftX -= drift;
+        
+        members[index] = null;
+        count = index;
+        hit.leaveFormation(0f);
+        
+        releaseIfAlone(-1f);
+        tail.releaseIfAlone(1f);
+        return tail.count > 0 ? tail : null;
+    }
+    
+    private void releaseIfAlone(float direction) {
+        if (count == 1) {
+            members[0].leaveFormation(direction * LOOSE_SPREAD);
+            members[0] = null;
+            count = 0;
+        }
+    }
+    
+    public boolean isEmpty() {
+        return count == 0;
+    }
+    
+    public int getMemberCount() {
+        return count;
+    }
+    
+    public Shape getShape() {
+        return shape;
+    }
+    
+    /**
+     * Write the group's motion and its members to a game snapshot. Members are written
+     * as their position in the saved enemy list; members that are gone (killed, off
+     * screen, despawned) are not in indexes and are left out.
+     */
+    public void writeState(DataOutput out, Map<Enemy, Integer> indexes) throws IOException {
+        int saved = 0;
+        for (int i = 0; i < count; i++) {
+            if (members[i].formation == this && indexes.containsKey(members[i])) {
+                saved++;
+            }
+        }
+        
+        out.writeByte(shape.ordinal());
+        out.writeFloat(speed);
+        out.writeFloat(originX);
+        out.writeFloat(anchorY);
+        out.writeFloat(driftX);
+        out.writeFloat(time);
+        out.writeInt(saved);
+        for (int i = 0; i < count; i++) {
+            Integer index = members[i].formation == this ? indexes.get(members[i]) : null;
+            if (index == null) continue;
+            out.writeInt(index);
+            out.writeFloat(offsetX[i]);
+            out.writeFloat(offsetY[i]);
+            out.writeFloat(lag[i]);
+        }
+    }
+    
+    /**
+     * Read a formation written by writeState(), re-attaching members from the restored enemies
+     */
+    public static Formation readState(DataInput in, List<Enemy> enemies, MovementPath sway, int screenWidth) throws IOException {
+        int shape = in.readUnsignedByte();
+        if (shape >= Shape.values().length) {
+            throw new IOException("Unknown formation shape " + shape);
+        }
+        float speed = in.readFloat();
+        float originX = in.readFloat();
+        float anchorY = in.readFloat();
+        float driftX = in.readFloat();
+        float time = in.readFloat();
+        int count = in.readInt();
+        if (count < 0 || count > enemies.size()) {
+            throw new IOException("Bad formation size " + count);
+        }
+        
+        Formation formation = new Formation(Shape.values()[shape], count, speed, sway, screenWidth);
+        formation.originX = originX;
+        formation.anchorY = anchorY;
+        formation.driftX = driftX;
+        formation.time = time;
+        for (int i = 0; i < count; i++) {
+            int index = in.readInt();
+            if (index < 0 || index >= enemies.size()) {
+                throw new IOException("Bad formation member " + index);
+            }
+            int slot = formation.count;
+            formation.addMember(enemies.get(index));
+            formation.offsetX[slot] = in.readFloat();
+            formation.offsetY[slot] = in.readFloat();
+            formation.lag[slot] = in.readFloat();
+        }
+        return formation;
+    }
+}
@@ -1,33 +1,73 @@
 package com.example.templerunclone.entities;
 
-import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Rect;
+import com.example.templerunclone.engine.Renderer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * Base class for all game objects
  */
 public abstract class GameObject {
     protected float x, y;
+    protected float prevX, prevY; // Position at the start of the current tick (for swept collision)
     protected float width, height;
     protected boolean active = true;
     
     public GameObject(float x, float y, float width, float height) {
         this.x = x;
         this.y = y;
+        this.prevX = x;
+        this.prevY = y;
         this.width = width;
         this.height = height;
     }
     
     public abstract void update(float deltaTime);
-    public abstract void draw(Canvas canvas, Paint paint);
+    
+    /**
+     * Remember the current position as the start of this tick's motion.
+     * Call right before update() for objects that take part in swept collision.
+     */
+    public void savePreviousPosition() {
+        prevX = x;
+        prevY = y;
+    }
+    public abstract void draw(Renderer renderer, Paint paint);
+    
+    /**
+     * Write the state needed to rebuild this object from a game snapshot.
+     * Subclasses append their own fields after calling super.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeFloat(x);
+        out.writeFloat(y);
+        out.writeFloat(width);
+        out.writeFloat(height);
+    }
+    
+    /**
+     * Read back what writeState() wrote, in the same order
+     */
+    public void readState(DataInput in) throws IOException {
+        x = prevX = in.readFloat();
+        y = prevY = in.readFloat();
+        width = in.readFloat();
+        height = in.readFloat();
+        active = true;
+    }
     
     public Rect getRect() {
         return new Rect((int)x, (int)y, (int)(x + width), (int)(y + height));
     }
     
     public boolean intersects(GameObject other) {
-        return Rect.intersects(this.getRect(), other.getRect());
+        // Same test as Rect.intersects on the bounds, without allocating two Rects per call
+        return x < other.x + other.width && other.x < x + width
+            && y < other.y + other.height && other.y < y + height;
     }
     
     // Getters and setters
@@ -35,6 +75,8 @@ public abstract class GameObject {
     public float getY() { return y; }
     public float getWidth() { return width; }
     public float getHeight() { return height; }
+    public float getPrevX() { return prevX; }
+    public float getPrevY() { return prevY; }
     public boolean isActive() { return active; }
     
     public void setX(float x) { this.x = x; }
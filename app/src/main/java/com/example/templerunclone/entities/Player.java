@@ -1,10 +1,14 @@
 package com.example.templerunclone.entities;
 
 import android.graphics.Bitmap;
-import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import com.example.templerunclone.engine.GameState;
+import com.example.templerunclone.engine.Renderer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * Player entity with health and movement
@@ -19,6 +23,9 @@ public class Player extends GameObject {
     private long invincibleStartTime = 0;
     private long invincibleDuration = 800; // ms
     
+    // Shared shield paint (was allocated on every draw)
+    private static final Paint SHIELD_PAINT = new Paint();
+    
     public Player(float x, float y, float width, float height, Bitmap bitmap) {
         super(x, y, width, height);
         this.bitmap = bitmap;
@@ -54,54 +61,63 @@ public class Player extends GameObject {
     }
     
     @Override
-    public void draw(Canvas canvas, Paint paint) {
+    public void draw(Renderer renderer, Paint paint) {
         if (bitmap != null) {
             // Flash effect during invincibility
             if (invincible) {
                 long elapsed = System.currentTimeMillis() - invincibleStartTime;
                 if ((elapsed / 100) % 2 == 0) { // Flash every 100ms
-                    canvas.drawBitmap(bitmap, x, y, paint);
+                    renderer.drawSprite(bitmap, x, y, width, height, paint);
                 }
             } else {
-                canvas.drawBitmap(bitmap, x, y, paint);
+                renderer.drawSprite(bitmap, x, y, width, height, paint);
             }
         }
     }
     
-    public void drawWithShield(Canvas canvas, Paint paint, GameState gameState) {
+    public void drawWithShield(Renderer renderer, Paint paint, GameState gameState) {
+        drawWithShield(renderer, paint, gameState, true);
+    }
+    
+    /**
+     * @param shieldGlow false draws shields as thin aliased rings (low quality tier)
+     */
+    public void drawWithShield(Renderer renderer, Paint paint, GameState gameState, boolean shieldGlow) {
         // Draw player bitmap first - giữ nguyên độ sáng
         if (bitmap != null) {
             // Flash effect during invincibility
             if (invincible) {
                 long elapsed = System.currentTimeMillis() - invincibleStartTime;
                 if ((elapsed / 100) % 2 == 0) { // Flash every 100ms
-                    canvas.drawBitmap(bitmap, x, y, paint);
+                    renderer.drawSprite(bitmap, x, y, width, height, paint);
                 }
             } else {
-                canvas.drawBitmap(bitmap, x, y, paint);
+                renderer.drawSprite(bitmap, x, y, width, height, paint);
             }
         }
         
         // Draw shield effects - sử dụng paint riêng để không ảnh hưởng player
-        Paint shieldPaint = new Paint();
-        shieldPaint.setAntiAlias(true);
+        Paint shieldPaint = SHIELD_PAINT;
+        shieldPaint.setAntiAlias(shieldGlow);
+        shieldPaint.setStyle(shieldGlow ? Paint.Style.FILL : Paint.Style.STROKE);
+        shieldPaint.setStrokeWidth(4);
         
         if (gameState.isShieldActive()) {
             // Blue shield
             shieldPaint.setColor(Color.argb(100, 0, 0, 255));
-            canvas.drawCircle(x + width/2, y + height/2, width/2 + 10, shieldPaint);
+            renderer.drawCircle(x + width/2, y + height/2, width/2 + 10, shieldPaint);
         }
         
         if (gameState.isEnergyShieldActive()) {
             // Yellow/Gold energy shield
             shieldPaint.setColor(Color.argb(120, 255, 215, 0));
-            canvas.drawCircle(x + width/2, y + height/2, width/2 + 15, shieldPaint);
+            renderer.drawCircle(x + width/2, y + height/2, width/2 + 15, shieldPaint);
         }
         
         if (gameState.isForceFieldActive()) {
             // Purple force field
             shieldPaint.setColor(Color.argb(100, 148, 0, 211));
-            canvas.drawCircle(x + width/2, y + height/2, width/2 + 20, shieldPaint);
+            renderer.drawCircle(x + width/2, y + height/2, width/2 + 20, shieldPaint);
         }
     }
     
@@ -142,6 +158,32 @@ public class Player extends GameObject {
         return health <= 0;
     }
     
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeFloat(targetX);
+        out.writeFloat(targetY);
+        out.writeInt(health);
+        out.writeInt(maxHealth);
+        out.writeFloat(speed);
+        // Remaining invincibility, since the clock will have moved on by the restore
+        long remaining = invincible ? invincibleDuration - (System.currentTimeMillis() - invincibleStartTime) : 0;
+        out.writeLong(Math.max(0, remaining));
+    }
+    
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        targetX = in.readFloat();
+        targetY = in.readFloat();
+        health = in.readInt();
+        maxHealth = in.readInt();
+        speed = in.readFloat();
+        long remaining = in.readLong();
+        invincible = remaining > 0;
+        invincibleStartTime = System.currentTimeMillis() - (invincibleDuration - remaining);
+    }
+    
     // Getters
     public int getHealth() { return health; }
     public int getMaxHealth() { return maxHealth; }
@@ -1,8 +1,8 @@
 package com.example.templerunclone.entities;
 
 import android.graphics.Bitmap;
-import android.graphics.Canvas;
 import android.graphics.Paint;
+import com.example.templerunclone.engine.Renderer;
 
 /**
  * PowerUp entity
@@ -42,9 +42,9 @@ public class PowerUp extends GameObject {
     }
     
     @Override
-    public void draw(Canvas canvas, Paint paint) {
+    public void draw(Renderer renderer, Paint paint) {
         if (bitmap != null) {
-            canvas.drawBitmap(bitmap, x, y, paint);
+            renderer.drawSprite(bitmap, x, y, width, height, paint);
         }
     }
     
@@ -1,15 +1,20 @@
 package com.example.templerunclone.entities.bullets;
 
-import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
+import com.example.templerunclone.engine.Renderer;
 import com.example.templerunclone.entities.Bullet;
+import com.example.templerunclone.entities.Enemy;
 
 /**
- * Explosive Bullet - creates explosion on impact
+ * Explosive Bullet - creates explosion on impact and drifts sideways toward its target
  */
 public class ExplosiveBullet extends Bullet {
+    private static final float HOMING_GAIN = 4f;      // drift per pixel of offset, per second
+    private static final float MAX_DRIFT = 360f;      // px/s
+    
     private float explosionRadius = 60f;
+    private Enemy target;
     
     public ExplosiveBullet(float x, float y, float speed) {
         super(x, y, speed);
@@ -19,18 +24,38 @@ public class ExplosiveBullet extends Bullet {
     }
     
     @Override
-    public void draw(Canvas canvas, Paint paint) {
+    public void update(float deltaTime) {
+        if (hasTarget()) {
+            float offset = target.getX() + target.getWidth() / 2f - (x + width / 2f);
+            setVelocityX(Math.max(-MAX_DRIFT, Math.min(MAX_DRIFT, offset * HOMING_GAIN)));
+        }
+        super.update(deltaTime);
+    }
+    
+    /**
+     * True while the target is still alive; the engine picks a new one otherwise
+     */
+    public boolean hasTarget() {
+        return target != null && target.isActive() && !target.isDead();
+    }
+    
+    public void setTarget(Enemy target) {
+        this.target = target;
+    }
+    
+    @Override
+    public void draw(Renderer renderer, Paint paint) {
         // Draw main bullet body
         paint.setColor(Color.RED);
-        canvas.drawRect(x, y, x + width, y + height, paint);
+        renderer.drawRect(x, y, x + width, y + height, paint);
         
         // Draw explosive tip
         paint.setColor(Color.YELLOW);
-        canvas.drawRect(x + 2, y, x + width - 2, y + 4, paint);
+        renderer.drawRect(x + 2, y, x + width - 2, y + 4, paint);
         
         // Add glow effect
         paint.setColor(Color.argb(80, 255, 165, 0));
-        canvas.drawRect(x - 1, y, x + width + 1, y + height, paint);
+        renderer.drawRect(x - 1, y, x + width + 1, y + height, paint);
     }
     
     public float getExplosionRadius() {
@@ -1,8 +1,8 @@
 package com.example.templerunclone.entities.bullets;
 
-import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
+import com.example.templerunclone.engine.Renderer;
 import com.example.templerunclone.entities.Bullet;
 
 /**
@@ -18,20 +18,20 @@ public class HeavyBullet extends Bullet {
     }
     
     @Override
-    public void draw(Canvas canvas, Paint paint) {
+    public void draw(Renderer renderer, Paint paint) {
         // Draw main bullet body
         paint.setColor(Color.rgb(255, 215, 0)); // Gold color
-        canvas.drawRect(x, y, x + width, y + height, paint);
+        renderer.drawRect(x, y, x + width, y + height, paint);
         
         // Draw dark outline
         paint.setColor(Color.rgb(139, 69, 19)); // Brown outline
         paint.setStyle(Paint.Style.STROKE);
         paint.setStrokeWidth(2);
-        canvas.drawRect(x, y, x + width, y + height, paint);
+        renderer.drawRect(x, y, x + width, y + height, paint);
         paint.setStyle(Paint.Style.FILL);
         
         // Add metallic shine effect
         paint.setColor(Color.WHITE);
-        canvas.drawRect(x + 2, y + 2, x + 4, y + height - 2, paint);
+        renderer.drawRect(x + 2, y + 2, x + 4, y + height - 2, paint);
     }
 }
\ No newline at end of file
@@ -1,10 +1,14 @@
 package com.example.templerunclone.entities.bullets;
 
-import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
+import com.example.templerunclone.engine.Renderer;
 import com.example.templerunclone.entities.Bullet;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Laser Bullet - penetrates through enemies
  */
@@ -21,13 +25,26 @@ public class LaserBullet extends Bullet {
     }
     
     @Override
-    public void draw(Canvas canvas, Paint paint) {
+    public void draw(Renderer renderer, Paint paint) {
         paint.setColor(Color.CYAN);
-        canvas.drawRect(x, y, x + width, y + height, paint);
+        renderer.drawRect(x, y, x + width, y + height, paint);
         
         // Add laser glow effect
         paint.setColor(Color.argb(100, 0, 255, 255));
-        canvas.drawRect(x - 2, y, x + width + 2, y + height, paint);
+        renderer.drawRect(x - 2, y, x + width + 2, y + height, paint);
+    }
+    
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeInt(penetrationCount);
+    }
+    
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        penetrationCount = in.readInt();
+        hasPenetrated = penetrationCount > 0;
     }
     
     public boolean canPenetrate() {
@@ -39,6 +56,10 @@ public class LaserBullet extends Bullet {
         hasPenetrated = true;
     }
     
+    public int getRemainingPenetrations() {
+        return maxPenetration - penetrationCount;
+    }
+    
     public boolean hasPenetrated() {
         return hasPenetrated;
     }
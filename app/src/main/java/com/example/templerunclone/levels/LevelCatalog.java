@@ -0,0 +1,71 @@
+package com.example.templerunclone.levels;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+/**
+ * Every level of the game, read once from assets/levels.bin.
+ * That file is compiled and validated at build time from src/main/levels/*.level
+ * (see app/levels.gradle), so loading is a single pass over a few hundred bytes
+ * per level with no parsing or checks, and adding a level needs no code change.
+ */
+public class LevelCatalog {
+    private static final String TAG = "LevelCatalog";
+    private static final String ASSET_NAME = "levels.bin";
+    private static final int MAGIC = 0x4C564C53;   // "LVLS"
+    private static final int VERSION = 2;
+    private static final LevelCatalog INSTANCE = new LevelCatalog();
+    
+    // Built-in single level until load() succeeds
+    private volatile LevelConfig[] levels = {LevelConfig.createDefault()};
+    private boolean loaded = false;
+    
+    private LevelCatalog() {}
+    
+    public static LevelCatalog getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Read the compiled level data if not done yet; cheap enough for the UI thread
+     */
+    public synchronized void load(Context context) {
+        if (loaded) return;
+        loaded = true;
+        
+        long start = System.nanoTime();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                context.getAssets().open(ASSET_NAME)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                Log.e(TAG, "Unrecognized level data, using the built-in level");
+                return;
+            }
+            LevelConfig[] read = new LevelConfig[in.readInt()];
+            for (int i = 0; i < read.length; i++) {
+                read[i] = LevelConfig.read(in);
+            }
+            if (read.length > 0) {
+                levels = read;
+            }
+            Log.d(TAG, "Loaded " + read.length + " levels in " + (System.nanoTime() - start) / 1000 + " us");
+        } catch (IOException | IllegalArgumentException e) {
+            Log.e(TAG, "Error loading level data, using the built-in level", e);
+        }
+    }
+    
+    public int getLevelCount() {
+        return levels.length;
+    }
+    
+    /**
+     * Config for a level number (1-based), clamped to the levels that exist
+     */
+    public LevelConfig getLevel(int levelNumber) {
+        LevelConfig[] current = levels;
+        return current[Math.max(1, Math.min(levelNumber, current.length)) - 1];
+    }
+}
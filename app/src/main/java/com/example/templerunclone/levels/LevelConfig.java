@@ -1,12 +1,14 @@
 package com.example.templerunclone.levels;
 
-import android.graphics.Bitmap;
-import android.graphics.Canvas;
-import android.graphics.Paint;
-import com.example.templerunclone.entities.Enemy;
+import com.example.templerunclone.utils.MovementPath;
+
+import java.io.DataInput;
+import java.io.IOException;
 
 /**
- * Level configuration data for different game levels
+ * Level configuration data for one game level.
+ * Levels are defined in src/main/levels/*.level and compiled at build time;
+ * LevelCatalog loads them.
  */
 public class LevelConfig {
     private int levelNumber;
@@ -29,11 +31,22 @@ public class LevelConfig {
     private int enemyHealth;
     private float powerUpSpawnRate;
     
+    // Enemy mix: kinds spawned with relative weights, plus an optional boss
+    private String[] enemyTypes;
+    private int[] enemyWeights;
+    private boolean hasBoss;
+    // Timed waves (seconds from level start, burst/formation/boss, enemies in the wave)
+    private float[] waveTimes;
+    private String[] waveKinds;
+    private int[] waveCounts;
+    
     // Level progression
     private int scoreToNextLevel;
+    private int winScore; // score that wins the game outright on this level, 0 for none
     private int maxEnemies;
     private boolean hasSpecialWeapons;
     private String[] availablePowerUps;
+    private MovementPath.Type[] movementPathTypes;
     
     // Visual effects
     private int backgroundColor;
@@ -41,141 +54,121 @@ public class LevelConfig {
     private String musicPath;
     private String[] soundEffectPaths;
     
-    public LevelConfig(int levelNumber) {
-        this.levelNumber = levelNumber;
-        initializeLevel();
-    }
-    
-    private void initializeLevel() {
-        switch (levelNumber) {
-            case 1:
-                setupLevel1();
-                break;
-            case 2:
-                setupLevel2();
-                break;
-            case 3:
-                setupLevel3();
-                break;
-            default:
-                setupDefaultLevel();
-                break;
-        }
+    private LevelConfig() {
     }
     
-    private void setupLevel1() {
-        levelName = "Forest Temple";
-        description = "Begin your journey through the ancient forest temple";
+    /**
+     * Read one level record from the compiled level data (written by the compileLevels
+     * build task, which has already validated every field)
+     */
+    static LevelConfig read(DataInput in) throws IOException {
+        LevelConfig config = new LevelConfig();
+        config.levelNumber = in.readInt();
+        config.levelName = in.readUTF();
+        config.description = in.readUTF();
         
-        // Graphics paths - using actual drawable resources (now in main drawable folder)
-        backgroundImagePath = "background_level_1";
-        playerImagePath = "player_level_1";
-        enemyImagePath = "enemy_level_1";
-        bulletImagePath = "bullet_level_1";
-        powerUpImagePath = "powerup_level_1"; // Will fallback to color bitmap if not found
-
-        // Gameplay settings - Easy level
-        playerSpeed = 300f;
-        bulletSpeed = 600f;
-        bulletDamage = 1;
-        enemySpawnRate = 2.0f; // seconds between spawns
-        enemySpeed = 150f;
-        enemyHealth = 1;
-        powerUpSpawnRate = 0.3f; // 30% chance on enemy death
+        config.backgroundImagePath = in.readUTF();
+        config.playerImagePath = in.readUTF();
+        config.enemyImagePath = in.readUTF();
+        config.bulletImagePath = in.readUTF();
+        config.powerUpImagePath = in.readUTF();
         
-        // Progression
-        scoreToNextLevel = 150;
-        maxEnemies = 3;
-        hasSpecialWeapons = false;
-        availablePowerUps = new String[]{"health", "speed", "shield"};
+        config.playerSpeed = in.readFloat();
+        config.bulletSpeed = in.readFloat();
+        config.bulletDamage = in.readInt();
+        config.enemySpawnRate = in.readFloat();
+        config.enemySpeed = in.readFloat();
+        config.enemyHealth = in.readInt();
+        config.maxEnemies = in.readInt();
+        int enemyKinds = in.readUnsignedByte();
+        config.enemyTypes = new String[enemyKinds];
+        config.enemyWeights = new int[enemyKinds];
+        for (int i = 0; i < enemyKinds; i++) {
+            config.enemyTypes[i] = in.readUTF();
+            config.enemyWeights[i] = in.readInt();
+        }
+        config.hasBoss = in.readBoolean();
+        config.movementPathTypes = new MovementPath.Type[in.readUnsignedByte()];
+        for (int i = 0; i < config.movementPathTypes.length; i++) {
+            config.movementPathTypes[i] = MovementPath.Type.valueOf(in.readUTF());
+        }
+        int waves = in.readUnsignedByte();
+        config.waveTimes = new float[waves];
+        config.waveKinds = new String[waves];
+        config.waveCounts = new int[waves];
+        for (int i = 0; i < waves; i++) {
+            config.waveTimes[i] = in.readFloat();
+            config.waveKinds[i] = in.readUTF();
+            config.waveCounts[i] = in.readInt();
+        }
         
-        // Visual
-        backgroundColor = 0xFF2E5D31; // Dark forest green
-        particleEffectIntensity = 0.5f;
-        musicPath = "res/raw/level1_forest_music.ogg";
-        soundEffectPaths = new String[]{
-            "res/raw/level1_arrow_shoot.wav",
-            "res/raw/level1_enemy_death.wav"
-        };
+        config.powerUpSpawnRate = in.readFloat();
+        config.availablePowerUps = readStrings(in);
+        config.scoreToNextLevel = in.readInt();
+        config.winScore = in.readInt();
+        config.hasSpecialWeapons = in.readBoolean();
+        
+        config.backgroundColor = in.readInt();
+        config.particleEffectIntensity = in.readFloat();
+        config.musicPath = in.readUTF();
+        config.soundEffectPaths = readStrings(in);
+        return config;
     }
     
-    private void setupLevel2() {
-        levelName = "Desert Ruins";
-        description = "Navigate through the scorching desert ruins";
-        
-        // Graphics paths - using actual drawable resources (now in main drawable folder)
-        backgroundImagePath = "background_level_2";
-        playerImagePath = "player_level_2";
-        enemyImagePath = "enemy_level_2";
-        bulletImagePath = "bullet_level_2";
-        powerUpImagePath = "powerup_level_2"; // Will fallback to color bitmap if not found
-
-        // Gameplay settings - Medium difficulty
-        playerSpeed = 350f;
-        bulletSpeed = 800f;
-        bulletDamage = 2;
-        enemySpawnRate = 1.5f;
-        enemySpeed = 200f;
-        enemyHealth = 2;
-        powerUpSpawnRate = 0.25f;
-        
-        // Progression
-        scoreToNextLevel = 300;
-        maxEnemies = 5;
-        hasSpecialWeapons = true;
-        availablePowerUps = new String[]{"health", "speed", "shield", "multishot", "rapidfire"};
-        
-        // Visual
-        backgroundColor = 0xFFD2691E; // Sandy brown
-        particleEffectIntensity = 0.8f;
-        musicPath = "res/raw/level2_desert_music.ogg";
-        soundEffectPaths = new String[]{
-            "res/raw/level2_fire_shoot.wav",
-            "res/raw/level2_enemy_death.wav",
-            "res/raw/level2_sandstorm.wav"
-        };
+    private static String[] readStrings(DataInput in) throws IOException {
+        String[] strings = new String[in.readUnsignedByte()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = in.readUTF();
+        }
+        return strings;
     }
     
-    private void setupLevel3() {
-        levelName = "Ice Cavern";
-        description = "Brave the frozen depths of the ice cavern";
+    /**
+     * Fallback configuration (the first level's), used only if the compiled level
+     * data cannot be read
+     */
+    static LevelConfig createDefault() {
+        LevelConfig config = new LevelConfig();
+        config.levelNumber = 1;
+        config.levelName = "Forest Temple";
+        config.description = "Begin your journey through the ancient forest temple";
         
-        // Graphics paths - using actual drawable resources (now in main drawable folder)
-        backgroundImagePath = "background_level_3";
-        playerImagePath = "player_level_3";
-        enemyImagePath = "enemy_level_3";
-        bulletImagePath = "bullet_level_3";
-        powerUpImagePath = "powerup_level_3"; // Will fallback to color bitmap if not found
+        // Graphics paths - drawable resource names
+        config.backgroundImagePath = "background_level_1";
+        config.playerImagePath = "player_level_1";
+        config.enemyImagePath = "enemy_level_1";
+        config.bulletImagePath = "bullet_level_1";
+        config.powerUpImagePath = "powerup_level_1"; // Will fallback to color bitmap if not found
         
-        // Gameplay settings - Hard difficulty
-        playerSpeed = 400f;
-        bulletSpeed = 1000f;
-        bulletDamage = 3;
-        enemySpawnRate = 1.0f;
-        enemySpeed = 250f;
-        enemyHealth = 3;
-        powerUpSpawnRate = 0.2f;
+        // Gameplay settings - Easy level
+        config.playerSpeed = 300f;
+        config.bulletSpeed = 600f;
+        config.bulletDamage = 1;
+        config.enemySpawnRate = 2.0f; // seconds between spawns
+        config.enemySpeed = 150f;
+        config.enemyHealth = 1;
+        config.maxEnemies = 3;
+        config.enemyTypes = new String[]{"basic"};
+        config.enemyWeights = new int[]{1};
+        config.hasBoss = false;
+        config.movementPathTypes = new MovementPath.Type[0];
+        config.waveTimes = new float[0];
+        config.waveKinds = new String[0];
+        config.waveCounts = new int[0];
         
         // Progression
-        scoreToNextLevel = 500;
-        maxEnemies = 7;
-        hasSpecialWeapons = true;
-        availablePowerUps = new String[]{"health", "speed", "shield", "multishot", "rapidfire", "laser", "freeze"};
+        config.powerUpSpawnRate = 0.3f; // 30% chance on enemy death
+        config.availablePowerUps = new String[]{"health", "speed", "shield"};
+        config.scoreToNextLevel = 150;
+        config.winScore = 750;
+        config.hasSpecialWeapons = false;
         
         // Visual
-        backgroundColor = 0xFF87CEEB; // Sky blue
-        particleEffectIntensity = 1.0f;
-        musicPath = "res/raw/level3_ice_music.ogg";
-        soundEffectPaths = new String[]{
-            "res/raw/level3_ice_shoot.wav",
-            "res/raw/level3_enemy_death.wav",
-            "res/raw/level3_freeze_effect.wav"
-        };
-    }
-    
-    private void setupDefaultLevel() {
-        // Fallback configuration
-        setupLevel1();
+        config.backgroundColor = 0xFF2E5D31; // Dark forest green
+        config.particleEffectIntensity = 0.5f;
+        config.musicPath = "res/raw/level1_forest_music.ogg";
+        config.soundEffectPaths = new String[0];
+        return config;
     }
     
     // Getters
@@ -195,9 +188,17 @@ public class LevelConfig {
     public int getEnemyHealth() { return enemyHealth; }
     public float getPowerUpSpawnRate() { return powerUpSpawnRate; }
     public int getScoreToNextLevel() { return scoreToNextLevel; }
+    public int getWinScore() { return winScore; }
+    public String[] getEnemyTypes() { return enemyTypes; }
+    public int[] getEnemyWeights() { return enemyWeights; }
+    public boolean hasBoss() { return hasBoss; }
+    public float[] getWaveTimes() { return waveTimes; }
+    public String[] getWaveKinds() { return waveKinds; }
+    public int[] getWaveCounts() { return waveCounts; }
     public int getMaxEnemies() { return maxEnemies; }
     public boolean hasSpecialWeapons() { return hasSpecialWeapons; }
     public String[] getAvailablePowerUps() { return availablePowerUps; }
+    public MovementPath.Type[] getMovementPathTypes() { return movementPathTypes; }
     public int getBackgroundColor() { return backgroundColor; }
     public float getParticleEffectIntensity() { return particleEffectIntensity; }
     public String getMusicPath() { return musicPath; }
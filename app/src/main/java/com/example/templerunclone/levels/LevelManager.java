@@ -2,14 +2,20 @@ package com.example.templerunclone.levels;
 
 import android.content.Context;
 import android.graphics.Bitmap;
-import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.util.Log;
 
+import com.example.templerunclone.engine.Renderer;
 import com.example.templerunclone.managers.ResourceManager;
 import com.example.templerunclone.entities.Player;
 import com.example.templerunclone.managers.EnemyManager;
 import com.example.templerunclone.managers.PowerUpManager;
+import com.example.templerunclone.utils.FastMath;
+import com.example.templerunclone.utils.MovementPath;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * Manages level progression, transitions, and state persistence
@@ -17,6 +23,7 @@ import com.example.templerunclone.managers.PowerUpManager;
 public class LevelManager {
     private static final String TAG = "LevelManager";
     
+    private final LevelCatalog catalog = LevelCatalog.getInstance();
     private int currentLevel;
     private LevelConfig currentLevelConfig;
     private LevelConfig nextLevelConfig;
@@ -43,7 +50,7 @@ public class LevelManager {
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
         this.currentLevel = 1;
-        this.currentLevelConfig = new LevelConfig(1);
+        this.currentLevelConfig = catalog.getLevel(1);
         this.savedPlayerState = new PlayerState();
     }
     
@@ -62,6 +69,10 @@ public class LevelManager {
      * Initialize the current level
      */
     public void initializeLevel(Context context) {
+        // Pick up the compiled level data if this is the first level initialized
+        catalog.load(context);
+        currentLevelConfig = catalog.getLevel(currentLevel);
+        
         Log.d(TAG, "Initializing level " + currentLevel + ": " + currentLevelConfig.getLevelName());
         
         // Load level-specific resources
@@ -78,6 +89,21 @@ public class LevelManager {
                 currentLevelConfig.getEnemyHealth(),
                 currentLevelConfig.getMaxEnemies()
             );
+            enemyManager.configureEnemyMix(
+                currentLevelConfig.getEnemyTypes(),
+                currentLevelConfig.getEnemyWeights(),
+                currentLevelConfig.hasBoss()
+            );
+            enemyManager.configureWaves(
+                currentLevelConfig.getWaveTimes(),
+                currentLevelConfig.getWaveKinds(),
+                currentLevelConfig.getWaveCounts()
+            );
+        }
+        
+        // Precompute this level's movement path tables
+        if (enemyManager != null) {
+            enemyManager.setMovementPaths(buildMovementPaths(currentLevelConfig));
         }
         
         // Configure power-up manager for this level
@@ -91,18 +117,29 @@ public class LevelManager {
         Log.d(TAG, "Level " + currentLevel + " initialized successfully");
     }
     
+    /**
+     * Sample the level's movement patterns into tables, indexed by MovementPath.Type ordinal
+     */
+    private MovementPath[] buildMovementPaths(LevelConfig config) {
+        MovementPath[] paths = new MovementPath[MovementPath.Type.values().length];
+        for (MovementPath.Type type : config.getMovementPathTypes()) {
+            paths[type.ordinal()] = MovementPath.create(type);
+        }
+        return paths;
+    }
+    
     /**
      * Check if player should advance to next level
      */
     public boolean shouldAdvanceLevel(int currentScore) {
-        return currentScore >= currentLevelConfig.getScoreToNextLevel() && !isTransitioning;
+        return currentScore >= currentLevelConfig.getScoreToNextLevel() && !isTransitioning && !isFinalLevel();
     }
     
     /**
      * Start transition to next level
      */
     public void startLevelTransition(Player player) {
-        if (currentLevel >= 3) {
+        if (isFinalLevel()) {
             Log.d(TAG, "Max level reached, cannot advance further");
             return;
         }
@@ -113,7 +150,7 @@ public class LevelManager {
         savePlayerState(player);
         
         // Prepare next level
-        nextLevelConfig = new LevelConfig(currentLevel + 1);
+        nextLevelConfig = catalog.getLevel(currentLevel + 1);
         
         // Start transition animation
         isTransitioning = true;
@@ -195,22 +232,22 @@ public class LevelManager {
     /**
      * Draw level transition effect
      */
-    public void drawTransition(Canvas canvas, Paint paint) {
+    public void drawTransition(Renderer renderer, Paint paint) {
         if (!isTransitioning) return;
         
         switch (transitionType) {
             case "fade":
-                drawFadeTransition(canvas, paint);
+                drawFadeTransition(renderer, paint);
                 break;
             // Add more transition types as needed
         }
     }
     
-    private void drawFadeTransition(Canvas canvas, Paint paint) {
+    private void drawFadeTransition(Renderer renderer, Paint paint) {
         // Fade out effect
-        int alpha = (int) (255 * Math.sin(transitionProgress * Math.PI));
+        int alpha = (int) (255 * FastMath.sin(transitionProgress * FastMath.PI));
         paint.setColor(android.graphics.Color.argb(alpha, 0, 0, 0));
-        canvas.drawRect(0, 0, screenWidth, screenHeight, paint);
+        renderer.drawRect(0, 0, screenWidth, screenHeight, paint);
         
         // Draw level name in center during transition
         if (transitionProgress > 0.3f && transitionProgress < 0.7f) {
@@ -221,8 +258,8 @@ public class LevelManager {
             String levelText = "Level " + currentLevel;
             String nameText = nextLevelConfig != null ? nextLevelConfig.getLevelName() : "";
             
-            canvas.drawText(levelText, screenWidth / 2f, screenHeight / 2f - 30, paint);
-            canvas.drawText(nameText, screenWidth / 2f, screenHeight / 2f + 30, paint);
+            renderer.drawText(levelText, screenWidth / 2f, screenHeight / 2f - 30, paint);
+            renderer.drawText(nameText, screenWidth / 2f, screenHeight / 2f + 30, paint);
         }
     }
     
@@ -231,7 +268,7 @@ public class LevelManager {
      */
     public void resetToLevel1() {
         currentLevel = 1;
-        currentLevelConfig = new LevelConfig(1);
+        currentLevelConfig = catalog.getLevel(1);
         isTransitioning = false;
         transitionProgress = 0f;
         savedPlayerState = new PlayerState();
@@ -239,6 +276,37 @@ public class LevelManager {
         Log.d(TAG, "Reset to level 1");
     }
     
+    /**
+     * Write the level, any transition in progress and the carried-over player state to a game snapshot
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(currentLevel);
+        out.writeBoolean(isTransitioning);
+        out.writeFloat(transitionProgress);
+        out.writeInt(savedPlayerState.health);
+        out.writeInt(savedPlayerState.maxHealth);
+        out.writeFloat(savedPlayerState.speed);
+    }
+    
+    /**
+     * Restore what writeState() wrote; call initializeLevel() afterwards to load the level
+     */
+    public void readState(DataInput in) throws IOException {
+        currentLevel = Math.max(1, Math.min(catalog.getLevelCount(), in.readInt()));
+        currentLevelConfig = catalog.getLevel(currentLevel);
+        isTransitioning = in.readBoolean();
+        transitionProgress = in.readFloat();
+        isTransitioning = isTransitioning && !isFinalLevel();
+        nextLevelConfig = isTransitioning ? catalog.getLevel(currentLevel + 1) : null;
+        transitionType = isTransitioning ? "fade" : "";
+        transitionJustCompleted = false;
+        savedPlayerState.health = in.readInt();
+        savedPlayerState.maxHealth = in.readInt();
+        savedPlayerState.speed = in.readFloat();
+        
+        Log.d(TAG, "Restored level " + currentLevel + (isTransitioning ? " (transitioning)" : ""));
+    }
+    
     /**
      * Get level-specific bullet configuration
      */
@@ -253,7 +321,9 @@ public class LevelManager {
     // Getters
     public int getCurrentLevel() { return currentLevel; }
     public LevelConfig getCurrentLevelConfig() { return currentLevelConfig; }
+    public LevelConfig getNextLevelConfig() { return nextLevelConfig; }
     public boolean isTransitioning() { return isTransitioning; }
+    public boolean isFinalLevel() { return currentLevel >= catalog.getLevelCount(); }
     public float getTransitionProgress() { return transitionProgress; }
     
     /**
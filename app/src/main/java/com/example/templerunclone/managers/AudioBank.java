@@ -0,0 +1,153 @@
+package com.example.templerunclone.managers;
+
+import android.content.Context;
+import android.media.AudioAttributes;
+import android.media.SoundPool;
+import android.util.Log;
+
+import com.example.templerunclone.R;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Process-wide audio bank: one SoundPool holding every sample and one background
+ * music engine, loaded once (normally by PreloadManager on the menu) and shared by
+ * every consumer. Readiness is tracked per sample, so a sample that is still
+ * decoding simply does not play instead of blocking the caller.
+ */
+public class AudioBank {
+    private static final String TAG = "AudioBank";
+    private static final AudioBank INSTANCE = new AudioBank();
+    
+    // Samples
+    public static final int SAMPLE_SHOOT = 0;
+    public static final int SAMPLE_BORDER = 1;
+    public static final int SAMPLE_WARNING = 2;
+    public static final int SAMPLE_PLAYER_EXPLODE = 3;
+    public static final int SAMPLE_ENEMY_EXPLODE = 4;
+    public static final int SAMPLE_CONGRATULATION = 5;
+    private static final int SAMPLE_COUNT = 6;
+    
+    private static final int[] SAMPLE_RES = {
+        R.raw.shoot, R.raw.border, R.raw.warning,
+        R.raw.player_explode, R.raw.enemy_explode, R.raw.congratulation
+    };
+    
+    public static final int MAX_STREAMS = 10;
+    
+    private SoundPool soundPool;
+    private MusicEngine music;
+    private final int[] soundIds = new int[SAMPLE_COUNT];
+    private final boolean[] ready = new boolean[SAMPLE_COUNT];
+    private int settled = 0;
+    private boolean loading = false;
+    private final List<Runnable> settledCallbacks = new ArrayList<>();
+    
+    private AudioBank() {}
+    
+    public static AudioBank getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Load every sample and create the music engine if not done yet. Safe to call from any
+     * thread and from every consumer; only the first call decodes anything.
+     * onSettled runs once every sample has finished loading (successfully or not),
+     * on the SoundPool's callback thread or immediately if that already happened.
+     */
+    public void load(Context context, Runnable onSettled) {
+        synchronized (this) {
+            if (onSettled != null) {
+                settledCallbacks.add(onSettled);
+            }
+            if (!loading) {
+                loading = true;
+                loadSamples(context.getApplicationContext());
+            }
+        }
+        if (isSettled()) {
+            runSettledCallbacks();
+        }
+    }
+    
+    private void loadSamples(Context appContext) {
+        AudioAttributes audioAttributes = new AudioAttributes.Builder()
+                .setUsage(AudioAttributes.USAGE_GAME)
+                .setContentType(AudioAttributes.CONTENT_TYPE_SONIFICATION)
+                .build();
+        soundPool = new SoundPool.Builder()
+                .setMaxStreams(MAX_STREAMS)
+                .setAudioAttributes(audioAttributes)
+                .build();
+        soundPool.setOnLoadCompleteListener((sp, sampleId, status) -> onSampleLoaded(sampleId, status));
+        
+        for (int sample = 0; sample < SAMPLE_COUNT; sample++) {
+            try {
+                soundIds[sample] = soundPool.load(appContext, SAMPLE_RES[sample], 1);
+            } catch (Exception e) {
+                Log.w(TAG, "Sample " + sample + " could not be loaded", e);
+                soundIds[sample] = 0;
+            }
+            if (soundIds[sample] == 0) {
+                settled++;
+            }
+        }
+        
+        // Music streams on its own thread; nothing is prepared until a track is played
+        music = new MusicEngine(appContext);
+    }
+    
+    private void onSampleLoaded(int soundId, int status) {
+        synchronized (this) {
+            for (int sample = 0; sample < SAMPLE_COUNT; sample++) {
+                if (soundIds[sample] == soundId) {
+                    ready[sample] = status == 0;
+                    if (status != 0) {
+                        Log.w(TAG, "Sample " + sample + " failed to decode, status=" + status);
+                    }
+                    break;
+                }
+            }
+            settled++;
+            if (settled < SAMPLE_COUNT) return;
+        }
+        Log.d(TAG, "All samples settled");
+        runSettledCallbacks();
+    }
+    
+    private void runSettledCallbacks() {
+        List<Runnable> callbacks;
+        synchronized (this) {
+            callbacks = new ArrayList<>(settledCallbacks);
+            settledCallbacks.clear();
+        }
+        for (Runnable callback : callbacks) {
+            callback.run();
+        }
+    }
+    
+    public synchronized boolean isReady(int sample) {
+        return ready[sample];
+    }
+    
+    public synchronized boolean isSettled() {
+        return settled >= SAMPLE_COUNT;
+    }
+    
+    /**
+     * Play handle for a sample: its SoundPool id, or 0 if it failed to load.
+     * A handle taken before the sample is ready becomes playable once it is.
+     */
+    public synchronized int getSoundId(int sample) {
+        return soundIds[sample];
+    }
+    
+    public synchronized SoundPool getSoundPool() {
+        return soundPool;
+    }
+    
+    public synchronized MusicEngine getMusic() {
+        return music;
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.templerunclone.managers;
+
+import android.media.SoundPool;
+import android.os.Process;
+import android.util.Log;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves SoundPool calls off the game thread.
+ * Game code posts cues (one atomic increment); a dedicated audio thread drains them
+ * about once per frame, merges duplicates of the same cue, applies each cue's
+ * concurrent-voice and rate limits, and serves cues in priority order so that
+ * important sounds keep a couple of streams that shots and explosions cannot take.
+ */
+public class AudioDispatcher {
+    private static final String TAG = "AudioDispatcher";
+    
+    // Cues, in priority order (lower index wins when streams run short)
+    public static final int CUE_PLAYER_HIT = 0;
+    public static final int CUE_CONGRATULATIONS = 1;
+    public static final int CUE_POWER_UP = 2;
+    public static final int CUE_BORDER_HIT = 3;
+    public static final int CUE_ENEMY_EXPLODE = 4;
+    public static final int CUE_SHOOT = 5;
+    private static final int CUE_COUNT = 6;
+    
+    // Per-cue limits, indexed by cue:                 hit   congrats powerUp border explode shoot
+    private static final int[] MAX_VOICES =           {1,    1,       2,      1,     4,      3};
+    private static final long[] MIN_INTERVAL_MS =     {200,  1000,    100,    250,   40,     60};
+    private static final long[] VOICE_LENGTH_MS =     {800,  3000,    500,    300,   600,    150};
+    private static final boolean[] IMPORTANT =        {true, true,    true,   false, false,  false};
+    
+    private static final int RESERVED_STREAMS = 2;    // of AudioBank.MAX_STREAMS, kept free for important cues
+    private static final long DRAIN_INTERVAL_NS = 16_000_000L;
+    private static final long IDLE_AFTER_NS = 1_000_000_000L;
+    
+    private final SoundPool soundPool;
+    private final int[] soundIds = new int[CUE_COUNT];
+    
+    // Written by the game thread, drained by the audio thread
+    private final AtomicIntegerArray pending = new AtomicIntegerArray(CUE_COUNT);
+    
+    // Audio thread state
+    private final int[][] voiceStreams = new int[CUE_COUNT][];
+    private final long[][] voiceEnds = new long[CUE_COUNT][];
+    private final long[] lastPlayed = new long[CUE_COUNT];
+    private int merged, dropped, played;
+    
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile boolean parked = false;
+    
+    public AudioDispatcher(SoundPool soundPool) {
+        this.soundPool = soundPool;
+        for (int cue = 0; cue < CUE_COUNT; cue++) {
+            voiceStreams[cue] = new int[MAX_VOICES[cue]];
+            voiceEnds[cue] = new long[MAX_VOICES[cue]];
+        }
+        thread = new Thread(this::run, "AudioDispatcher");
+    }
+    
+    /**
+     * Start the audio thread once every cue has been mapped with setSound()
+     */
+    public void start() {
+        thread.start();
+    }
+    
+    /**
+     * Map a cue to its loaded SoundPool sample (0 = not loaded, cue is ignored)
+     */
+    public void setSound(int cue, int soundId) {
+        soundIds[cue] = soundId;
+    }
+    
+    /**
+     * Request a cue. Safe from any thread; costs one atomic increment.
+     */
+    public void post(int cue) {
+        pending.incrementAndGet(cue);
+        if (parked) {
+            LockSupport.unpark(thread);
+        }
+    }
+    
+    private void run() {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_AUDIO);
+        long lastWork = System.nanoTime();
+        while (running) {
+            if (drain()) {
+                lastWork = System.nanoTime();
+            }
+            if (System.nanoTime() - lastWork > IDLE_AFTER_NS) {
+                // Nothing to play for a while: sleep until the next post()
+                parked = true;
+                if (!hasPending()) {
+                    LockSupport.park(this);
+                }
+                parked = false;
+            } else {
+                LockSupport.parkNanos(this, DRAIN_INTERVAL_NS);
+            }
+        }
+    }
+    
+    private boolean hasPending() {
+        for (int cue = 0; cue < CUE_COUNT; cue++) {
+            if (pending.get(cue) > 0) return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Play what was posted since the last drain; returns true if anything was posted
+     */
+    private boolean drain() {
+        long now = System.currentTimeMillis();
+        int busy = 0;
+        for (int cue = 0; cue < CUE_COUNT; cue++) {
+            busy += activeVoices(cue, now);
+        }
+        
+        boolean any = false;
+        for (int cue = 0; cue < CUE_COUNT; cue++) {
+            int requests = pending.getAndSet(cue, 0);
+            if (requests == 0) continue;
+            any = true;
+            merged += requests - 1;
+            
+            if (soundIds[cue] == 0 || now - lastPlayed[cue] < MIN_INTERVAL_MS[cue]) {
+                dropped++;
+                continue;
+            }
+            int slot = freeSlot(cue, now);
+            if (IMPORTANT[cue]) {
+                if (slot < 0) {
+                    // Cut this cue's oldest voice instead of dropping it
+                    slot = oldestSlot(cue);
+                    soundPool.stop(voiceStreams[cue][slot]);
+                    busy--;
+                }
+                // With every stream busy, SoundPool evicts a lower-priority voice for it
+            } else if (slot < 0 || busy >= AudioBank.MAX_STREAMS - RESERVED_STREAMS) {
+                dropped++;
+                continue;
+            }
+            
+            int streamId = soundPool.play(soundIds[cue], 1f, 1f, CUE_COUNT - cue, 0, 1f);
+            if (streamId != 0) {
+                voiceStreams[cue][slot] = streamId;
+                voiceEnds[cue][slot] = now + VOICE_LENGTH_MS[cue];
+                lastPlayed[cue] = now;
+                busy++;
+                played++;
+            }
+        }
+        return any;
+    }
+    
+    private int activeVoices(int cue, long now) {
+        int count = 0;
+        for (long end : voiceEnds[cue]) {
+            if (end > now) count++;
+        }
+        return count;
+    }
+    
+    private int freeSlot(int cue, long now) {
+        long[] ends = voiceEnds[cue];
+        for (int i = 0; i < ends.length; i++) {
+            if (ends[i] <= now) return i;
+        }
+        return -1;
+    }
+    
+    private int oldestSlot(int cue) {
+        long[] ends = voiceEnds[cue];
+        int oldest = 0;
+        for (int i = 1; i < ends.length; i++) {
+            if (ends[i] < ends[oldest]) oldest = i;
+        }
+        return oldest;
+    }
+    
+    /**
+     * Stop the audio thread; call before releasing the SoundPool
+     */
+    public void shutdown() {
+        if (!thread.isAlive()) return;
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Log.d(TAG, "Stopped: played=" + played + " merged=" + merged + " dropped=" + dropped);
+    }
+}
@@ -8,6 +8,265 @@ import java.util.List;
  * Handles collision detection between game objects
  */
 public class CollisionManager {
+    private static final float BROADPHASE_CELL_SIZE = 128f;
+    
+    /** Returned by sweep tests when the objects do not meet during the tick */
+    public static final float NO_HIT = -1f;
+    
+    // Enemy broadphase, rebuilt once per tick by updateBroadphase()
+    private final SpatialGrid<Enemy> enemyGrid;
+    private boolean broadphaseReady = false;
+    
+    // Reusable result buffers (valid until the next query)
+    private final List<Enemy> candidates = new ArrayList<>();
+    private final List<Enemy> radiusResults = new ArrayList<>();
+    private final List<Enemy> nearestResults = new ArrayList<>();
+    private float[] nearestDistances = new float[8];
+    private final List<Enemy> rayResults = new ArrayList<>();
+    private float[] rayDistances = new float[8];
+    private float lastTimeOfImpact = NO_HIT;
+    
+    public CollisionManager(int screenWidth, int screenHeight) {
+        this.enemyGrid = new SpatialGrid<>(screenWidth, screenHeight, BROADPHASE_CELL_SIZE);
+    }
+    
+    /**
+     * Rebuild the enemy broadphase. Call once per tick after enemies have moved.
+     */
+    public void updateBroadphase(List<Enemy> enemies) {
+        enemyGrid.rebuild(enemies);
+        broadphaseReady = true;
+    }
+    
+    /**
+     * Find the first enemy a bullet meets during the tick.
+     * Its time of impact (0..1 of the tick) is available from getLastTimeOfImpact().
+     */
+    public Enemy queryFirstBulletHit(Bullet bullet) {
+        lastTimeOfImpact = NO_HIT;
+        if (!bullet.isActive() || !broadphaseReady) {
+            return null;
+        }
+        
+        Enemy first = null;
+        querySweptCandidates(bullet);
+        for (int i = 0, n = candidates.size(); i < n; i++) {
+            Enemy enemy = candidates.get(i);
+            if (!enemy.isActive()) continue;
+            
+            float toi = sweep(bullet, enemy);
+            if (toi != NO_HIT && (first == null || toi < lastTimeOfImpact)) {
+                first = enemy;
+                lastTimeOfImpact = toi;
+            }
+        }
+        return first;
+    }
+    
+    /**
+     * Time of impact of the last queryFirstBulletHit(), or NO_HIT
+     */
+    public float getLastTimeOfImpact() {
+        return lastTimeOfImpact;
+    }
+    
+    /**
+     * Find active enemies whose bounds overlap the circle (area damage).
+     * The returned list is reused by the next call.
+     */
+    public List<Enemy> findEnemiesInRadius(float centerX, float centerY, float radius) {
+        radiusResults.clear();
+        if (!broadphaseReady || radius < 0f) {
+            return radiusResults;
+        }
+        
+        candidates.clear();
+        enemyGrid.query(centerX - radius, centerY - radius, centerX + radius, centerY + radius, candidates);
+        float radiusSq = radius * radius;
+        for (int i = 0, n = candidates.size(); i < n; i++) {
+            Enemy enemy = candidates.get(i);
+            if (enemy.isActive() && distanceSqToBounds(enemy, centerX, centerY) <= radiusSq) {
+                radiusResults.add(enemy);
+            }
+        }
+        return radiusResults;
+    }
+    
+    /**
+     * Find up to k active enemies closest to the point (by center distance), nearest first.
+     * Searches a growing square around the point, so the cost follows local density.
+     * The returned list is reused by the next call.
+     */
+    public List<Enemy> findNearestEnemies(float x, float y, int k) {
+        nearestResults.clear();
+        if (!broadphaseReady || k <= 0) {
+            return nearestResults;
+        }
+        if (nearestDistances.length < k) {
+            nearestDistances = new float[k];
+        }
+        
+        float cellSize = enemyGrid.getCellSize();
+        float maxReach = Math.max(enemyGrid.getCols(), enemyGrid.getRows()) * cellSize;
+        for (float reach = cellSize; ; reach *= 2f) {
+            boolean coversGrid = reach >= maxReach;
+            candidates.clear();
+            enemyGrid.query(x - reach, y - reach, x + reach, y + reach, candidates);
+            
+            // Objects clamped into border cells can lie outside the reach, so only
+            // trust the result once k enemies are inside the searched circle
+            float reachSq = reach * reach;
+            int count = 0;
+            for (int i = 0, n = candidates.size(); i < n; i++) {
+                Enemy enemy = candidates.get(i);
+                if (!enemy.isActive()) continue;
+                
+                float dx = enemy.getX() + enemy.getWidth() / 2f - x;
+                float dy = enemy.getY() + enemy.getHeight() / 2f - y;
+                float distSq = dx * dx + dy * dy;
+                if (!coversGrid && distSq > reachSq) continue;
+                count = insertSorted(nearestResults, nearestDistances, enemy, distSq, count, k);
+            }
+            
+            if (count >= k || coversGrid) {
+                return nearestResults;
+            }
+            nearestResults.clear();
+        }
+    }
+    
+    /**
+     * Cast a vertical beam of the given column over the segment fromY -> toY and
+     * return up to maxHits enemies it enters, nearest first.
+     * The segment is the path swept during this tick; each enemy is tested in its own
+     * frame (its motion this tick is subtracted), and an enemy is reported only when
+     * the beam crosses its near edge, so a beam advanced tick by tick hits it once.
+     * The returned list is reused by the next call.
+     */
+    public List<Enemy> raycastVertical(float left, float right, float fromY, float toY, int maxHits) {
+        rayResults.clear();
+        if (!broadphaseReady || maxHits <= 0 || fromY == toY) {
+            return rayResults;
+        }
+        if (rayDistances.length < maxHits) {
+            rayDistances = new float[maxHits];
+        }
+        
+        boolean upward = toY < fromY;
+        candidates.clear();
+        enemyGrid.query(left, Math.min(fromY, toY), right, Math.max(fromY, toY), candidates);
+        
+        int count = 0;
+        for (int i = 0, n = candidates.size(); i < n; i++) {
+            Enemy enemy = candidates.get(i);
+            if (!enemy.isActive()
+                || enemy.getX() >= right || enemy.getX() + enemy.getWidth() <= left) {
+                continue;
+            }
+            
+            // The beam in the enemy's frame runs from start to toY; its length there
+            // includes the enemy's own motion this tick
+            float start = fromY + (enemy.getY() - enemy.getPrevY());
+            float nearEdge = upward ? enemy.getY() + enemy.getHeight() : enemy.getY();
+            float distance = upward ? start - nearEdge : nearEdge - start;
+            float length = upward ? start - toY : toY - start;
+            if (distance >= 0f && distance < length) {
+                count = insertSorted(rayResults, rayDistances, enemy, distance, count, maxHits);
+            }
+        }
+        return rayResults;
+    }
+    
+    /**
+     * Closest active enemy to the point, or null (homing target selection)
+     */
+    public Enemy findNearestEnemy(float x, float y) {
+        List<Enemy> nearest = findNearestEnemies(x, y, 1);
+        return nearest.isEmpty() ? null : nearest.get(0);
+    }
+    
+    // Insertion into a sorted top-k buffer; k is small so this beats a heap
+    private static int insertSorted(List<Enemy> out, float[] keys, Enemy enemy, float key, int count, int k) {
+        if (count == k && key >= keys[k - 1]) {
+            return count;
+        }
+        int pos = count < k ? count : k - 1;
+        if (count < k) {
+            out.add(enemy);
+            count++;
+        }
+        while (pos > 0 && keys[pos - 1] > key) {
+            keys[pos] = keys[pos - 1];
+            out.set(pos, out.get(pos - 1));
+            pos--;
+        }
+        keys[pos] = key;
+        out.set(pos, enemy);
+        return count;
+    }
+    
+    private static float distanceSqToBounds(GameObject object, float px, float py) {
+        float cx = Math.max(object.getX(), Math.min(px, object.getX() + object.getWidth()));
+        float cy = Math.max(object.getY(), Math.min(py, object.getY() + object.getHeight()));
+        float dx = px - cx;
+        float dy = py - cy;
+        return dx * dx + dy * dy;
+    }
+    
+    private void querySweptCandidates(Bullet bullet) {
+        candidates.clear();
+        float left = Math.min(bullet.getX(), bullet.getPrevX());
+        float top = Math.min(bullet.getY(), bullet.getPrevY());
+        float right = Math.max(bullet.getX(), bullet.getPrevX()) + bullet.getWidth();
+        float bottom = Math.max(bullet.getY(), bullet.getPrevY()) + bullet.getHeight();
+        enemyGrid.query(left, top, right, bottom, candidates);
+    }
+    
+    /**
+     * Swept AABB test over one tick. Both objects move linearly from their previous
+     * to their current position; the test runs in a's frame relative to b.
+     * Returns the time of impact in [0, 1], 0 if they already overlap, or NO_HIT.
+     */
+    public static float sweep(GameObject a, GameObject b) {
+        // Start-of-tick boxes and relative displacement
+        float ax = a.getPrevX(), ay = a.getPrevY();
+        float bx = b.getPrevX(), by = b.getPrevY();
+        float vx = (a.getX() - ax) - (b.getX() - bx);
+        float vy = (a.getY() - ay) - (b.getY() - by);
+        
+        float entryX, exitX;
+        if (vx == 0f) {
+            if (ax + a.getWidth() <= bx || bx + b.getWidth() <= ax) return NO_HIT;
+            entryX = Float.NEGATIVE_INFINITY;
+            exitX = Float.POSITIVE_INFINITY;
+        } else if (vx > 0f) {
+            entryX = (bx - (ax + a.getWidth())) / vx;
+            exitX = (bx + b.getWidth() - ax) / vx;
+        } else {
+            entryX = (bx + b.getWidth() - ax) / vx;
+            exitX = (bx - (ax + a.getWidth())) / vx;
+        }
+        
+        float entryY, exitY;
+        if (vy == 0f) {
+            if (ay + a.getHeight() <= by || by + b.getHeight() <= ay) return NO_HIT;
+            entryY = Float.NEGATIVE_INFINITY;
+            exitY = Float.POSITIVE_INFINITY;
+        } else if (vy > 0f) {
+            entryY = (by - (ay + a.getHeight())) / vy;
+            exitY = (by + b.getHeight() - ay) / vy;
+        } else {
+            entryY = (by + b.getHeight() - ay) / vy;
+            exitY = (by - (ay + a.getHeight())) / vy;
+        }
+        
+        float entry = Math.max(entryX, entryY);
+        float exit = Math.min(exitX, exitY);
+        if (entry >= exit || entry >= 1f || exit <= 0f) {
+            return NO_HIT;
+        }
+        return Math.max(0f, entry);
+    }
     
     public List<Enemy> checkBulletCollisions(Bullet bullet, List<Enemy> enemies) {
         List<Enemy> hitEnemies = new ArrayList<>();
@@ -54,4 +313,4 @@ public class CollisionManager {
         // Check if player is outside screen bounds
         return px < 0 || py < 0 || px + pw > screenWidth || py + ph > screenHeight;
     }
-}
\ No newline at end of file
+}
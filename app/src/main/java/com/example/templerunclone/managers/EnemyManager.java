@@ -1,12 +1,18 @@
 package com.example.templerunclone.managers;
 
-import android.graphics.Canvas;
 import android.graphics.Paint;
+import com.example.templerunclone.engine.Renderer;
 import com.example.templerunclone.entities.*;
+import com.example.templerunclone.utils.MovementPath;
+import com.example.templerunclone.utils.ObjectPool;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 /**
@@ -18,7 +24,6 @@ public class EnemyManager {
     private ResourceManager resourceManager;
     
     private int screenWidth, screenHeight;
-    private long lastSpawnTime;
     private long spawnInterval = 1500; // ms
     private long minSpawnInterval = 800; // Minimum spawn interval
     
@@ -27,15 +32,45 @@ public class EnemyManager {
     private float levelEnemySpeed = 150f;
     private int levelEnemyHealth = 1;
     private int levelMaxEnemies = 3;
-    // Boss management for level 3
-    private boolean bossSpawned = false;
+    // Level enemy mix: kinds picked by weight for regular spawns, and whether a boss holds the level
+    private String[] levelEnemyTypes = {"basic"};
+    private int[] levelEnemyWeights = {1};
+    private int levelEnemyWeightTotal = 1;
+    private boolean levelHasBoss = false;
+    // Hard cap across all spawn paths (regular, boss minions, waves)
+    private int enemyCap = 15;
+    private static final int BOSS_MINION_PREFILL = 32;
+    
+    // Timed spawn events for the level; a full screen retries the stream this often (seconds)
+    private final WaveScheduler waveScheduler = new WaveScheduler();
+    private static final float BLOCKED_RETRY = 0.1f;
+    
+    // Formations in flight; each moves all of its members once per tick
+    private final List<Formation> formations = new ArrayList<>();
+    
+    // Basic enemies (regular spawns and boss minions) are pooled
+    private static final int MAX_POOLED_ENEMIES = 512;
+    private final ObjectPool<EnemyBasic> basicPool;
+    
+    // Movement path tables for the current level, indexed by MovementPath.Type ordinal
+    private MovementPath[] movementPaths = new MovementPath[MovementPath.Type.values().length];
+    
+    // Spawn/despawn requests made while enemies are updating, applied by applyCommands()
+    private final SpawnCommandBuffer commandBuffer = new SpawnCommandBuffer();
+    
+    // Enemy kinds in a game snapshot
+    private static final byte KIND_BASIC = 0;
+    private static final byte KIND_ZIGZAG = 1;
+    private static final byte KIND_BOSS = 2;
+    private static final byte KIND_MEDIUM = 3;
+    private static final byte KIND_HEAVY = 4;
     
     public EnemyManager(int screenWidth, int screenHeight) {
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
         this.enemies = new ArrayList<>();
         this.random = new Random();
-        this.lastSpawnTime = System.currentTimeMillis();
+        this.basicPool = new ObjectPool<>(() -> new EnemyBasic(0, 0, null, random), MAX_POOLED_ENEMIES);
     }
     
     /**
@@ -52,59 +87,237 @@ public class EnemyManager {
                           "s, Speed=" + speed + ", Health=" + health + ", MaxEnemies=" + maxEnemies);
     }
     
-    public void update(float deltaTime, float speedMultiplier, int level) {
-        // Update existing enemies
-        Iterator<Enemy> enemyIterator = enemies.iterator();
-        while (enemyIterator.hasNext()) {
-            Enemy enemy = enemyIterator.next();
+    /**
+     * Configure which enemy kinds the level spawns (basic, zigzag, medium, heavy) and their weights
+     */
+    public void configureEnemyMix(String[] types, int[] weights, boolean boss) {
+        this.levelEnemyTypes = types.clone();
+        this.levelEnemyWeights = weights.clone();
+        this.levelEnemyWeightTotal = 0;
+        for (int weight : weights) {
+            levelEnemyWeightTotal += weight;
+        }
+        this.levelHasBoss = boss;
+    }
+    
+    /**
+     * Schedule the level's spawn timeline: the regular stream (boss and minions on a boss
+     * level) plus its timed waves. Call after configureLevelSettings and configureEnemyMix.
+     */
+    public void configureWaves(float[] times, String[] kinds, int[] counts) {
+        waveScheduler.configure(levelHasBoss, spawnInterval / 1000f, times, kinds, counts);
+    }
+    
+    public void update(float deltaTime, float speedMultiplier) {
+        // Update existing enemies; spawns requested meanwhile (boss minions) go to the command buffer
+        for (int i = 0, n = enemies.size(); i < n; i++) {
+            Enemy enemy = enemies.get(i);
+            enemy.savePreviousPosition();
             enemy.update(deltaTime);
-            
-            if (!enemy.isActive()) {
-                enemyIterator.remove();
-            }
         }
+        updateFormations(deltaTime);
+        removeInactive();
         
-        // Spawn new enemies based on level configuration
-        long currentTime = System.currentTimeMillis();
-        
-        if (level == 3) {
-            // Ensure exactly one boss exists
-            if (!bossSpawned) {
-                spawnBoss();
-                bossSpawned = true;
+        // Fire only the spawn events that are due; quiet stretches of the timeline cost nothing
+        waveScheduler.advance(deltaTime / 1000f); // ms to seconds
+        WaveScheduler.Event event;
+        while ((event = waveScheduler.pollDue()) != null) {
+            fireEvent(event);
+        }
+    }
+    
+    private void fireEvent(WaveScheduler.Event event) {
+        float interval = spawnInterval / 1000f;
+        switch (event.getType()) {
+            case WaveScheduler.EVENT_REGULAR:
+                // Regular spawns wait for room on screen, then keep the level's interval
+                if (enemies.size() < levelMaxEnemies) {
+                    spawnEnemyForLevel();
+                    waveScheduler.repeat(event, interval);
+                } else {
+                    waveScheduler.repeat(event, BLOCKED_RETRY);
+                }
+                break;
+            case WaveScheduler.EVENT_MINION:
+                // The boss spawns minions through its own logic; this adds a small stream
+                if (enemies.size() < levelMaxEnemies + 2) {
+                    spawnMinionNearTop();
+                    waveScheduler.repeat(event, interval);
+                } else {
+                    waveScheduler.repeat(event, BLOCKED_RETRY);
+                }
+                break;
+            case WaveScheduler.EVENT_BOSS:
+                // One boss at a time
+                if (!hasLiveBoss()) {
+                    spawnBoss();
+                }
+                break;
+            case WaveScheduler.EVENT_FORMATION:
+                spawnFormation(event.getShape(), event.getCount());
+                break;
+            default:
+                spawnEnemyForLevel();
+                break;
+        }
+    }
+    
+    private void updateFormations(float deltaTime) {
+        // Halves split off by hits join the list and are moved in this same pass
+        for (int i = 0; i < formations.size(); i++) {
+            Formation formation = formations.get(i);
+            Formation split = formation.split();
+            if (split != null) {
+                formations.add(split);
             }
-            // Let boss spawn minions through its own logic; we still allow small random spawns
-            if (currentTime - lastSpawnTime > spawnInterval && enemies.size() < levelMaxEnemies + 2) {
-                spawnMinionNearTop();
-                lastSpawnTime = currentTime;
+            formation.update(deltaTime);
+        }
+        int kept = 0;
+        for (int i = 0, n = formations.size(); i < n; i++) {
+            Formation formation = formations.get(i);
+            if (!formation.isEmpty()) {
+                formations.set(kept++, formation);
             }
-        } else if (currentTime - lastSpawnTime > spawnInterval && enemies.size() < levelMaxEnemies) {
-            spawnEnemyForLevel(level);
-            lastSpawnTime = currentTime;
         }
+        for (int i = formations.size() - 1; i >= kept; i--) {
+            formations.remove(i);
+        }
+    }
+    
+    private boolean hasLiveBoss() {
+        for (int i = 0, n = enemies.size(); i < n; i++) {
+            if (enemies.get(i) instanceof EnemyBoss) return true;
+        }
+        return false;
     }
     
     /**
-     * Spawn enemy based on current level configuration
+     * Apply the buffered spawn and despawn commands in one batch.
+     * Called once per tick by the engine after all entities have updated.
      */
-    private void spawnEnemyForLevel(int level) {
-        if (resourceManager == null) return;
+    public void applyCommands() {
+        if (commandBuffer.isEmpty()) return;
         
-        float x = random.nextFloat() * (screenWidth - 100);
-        float y = -100; // Start above screen
+        List<Enemy> despawns = commandBuffer.getDespawns();
+        for (int i = 0, n = despawns.size(); i < n; i++) {
+            despawns.get(i).setActive(false);
+        }
+        if (!despawns.isEmpty()) {
+            removeInactive();
+        }
         
-        // Level 2: ZigZag movement enemies, Level 1: Basic
-        Enemy enemy;
-        if (level == 2) {
-            enemy = new EnemyZigZag(x, y, resourceManager.getCurrentLevelEnemy());
-        } else {
-            enemy = new EnemyBasic(x, y, resourceManager.getCurrentLevelEnemy());
+        if (resourceManager != null) {
+            for (int i = 0, n = commandBuffer.getSpawnCount(); i < n && enemies.size() < enemyCap; i++) {
+                float x = commandBuffer.getSpawnX(i);
+                float y = commandBuffer.getSpawnY(i);
+                switch (commandBuffer.getSpawnKind(i)) {
+                    case SpawnCommandBuffer.KIND_MINION:
+                        enemies.add(obtainBasic(Math.max(0, Math.min(x, screenWidth - 60)), y,
+                            Math.max(1, levelEnemyHealth - 1), levelEnemySpeed + 40));
+                        break;
+                    case SpawnCommandBuffer.KIND_ZIGZAG:
+                        enemies.add(createZigZag(x, y));
+                        break;
+                    default:
+                        enemies.add(obtainBasic(x, y, levelEnemyHealth, levelEnemySpeed));
+                        break;
+                }
+            }
         }
+        commandBuffer.clear();
+    }
+    
+    /**
+     * Pre-allocate pooled enemies before a heavy scene
+     */
+    public void prefillEnemies(int count) {
+        basicPool.prefill(count);
+    }
+    
+    private EnemyBasic obtainBasic(float x, float y, int health, float speed) {
+        EnemyBasic enemy = basicPool.obtain();
+        enemy.setBitmap(resourceManager.getCurrentLevelEnemy());
+        enemy.setHealth(health);
+        enemy.setSpeed(speed);
+        enemy.setScreenWidth(screenWidth);
+        enemy.reset(x, y);
+        return enemy;
+    }
+    
+    private Enemy createZigZag(float x, float y) {
+        Enemy enemy = new EnemyZigZag(x, y, resourceManager.getCurrentLevelEnemy(),
+            getMovementPath(MovementPath.Type.SINE), random);
         enemy.setHealth(levelEnemyHealth);
         enemy.setSpeed(levelEnemySpeed);
         enemy.setScreenWidth(screenWidth);
+        return enemy;
+    }
+    
+    /**
+     * Regular enemy of a kind picked from the level's weighted mix
+     */
+    private Enemy createFromMix(float x, float y) {
+        String type = levelEnemyTypes.length > 0 ? levelEnemyTypes[0] : "basic";
+        if (levelEnemyTypes.length > 1 && levelEnemyWeightTotal > 0) {
+            int pick = random.nextInt(levelEnemyWeightTotal);
+            for (int i = 0; i < levelEnemyTypes.length; i++) {
+                pick -= levelEnemyWeights[i];
+                if (pick < 0) {
+                    type = levelEnemyTypes[i];
+                    break;
+                }
+            }
+        }
+        
+        Enemy enemy;
+        switch (type) {
+            case "zigzag":
+                return createZigZag(x, y);
+            case "medium":
+                // Medium and heavy keep their own speed and health
+                enemy = new EnemyMedium(x, y, resourceManager.getCurrentLevelEnemy(), random);
+                break;
+            case "heavy":
+                enemy = new EnemyHeavy(x, y, resourceManager.getCurrentLevelEnemy(), random);
+                break;
+            default:
+                return obtainBasic(x, y, levelEnemyHealth, levelEnemySpeed);
+        }
+        enemy.setScreenWidth(screenWidth);
+        return enemy;
+    }
+    
+    private void recycle(Enemy enemy) {
+        // Subclasses and bosses are rare and left to the GC
+        if (enemy.getClass() == EnemyBasic.class) {
+            basicPool.release((EnemyBasic) enemy);
+        }
+    }
+    
+    private void removeInactive() {
+        // Single-pass compaction instead of Iterator.remove()
+        int alive = 0;
+        for (int i = 0, n = enemies.size(); i < n; i++) {
+            Enemy enemy = enemies.get(i);
+            if (enemy.isActive()) {
+                enemies.set(alive++, enemy);
+            } else {
+                recycle(enemy);
+            }
+        }
+        trimTo(alive);
+    }
+    
+    /**
+     * Spawn enemy based on current level configuration
+     */
+    private void spawnEnemyForLevel() {
+        if (resourceManager == null || enemies.size() >= enemyCap) return;
         
-        enemies.add(enemy);
+        float x = random.nextFloat() * (screenWidth - 100);
+        float y = -100; // Start above screen
+        
+        enemies.add(createFromMix(x, y));
         
         android.util.Log.d("EnemyManager", "Spawned enemy with health=" + levelEnemyHealth + 
                           ", speed=" + levelEnemySpeed);
@@ -112,6 +325,11 @@ public class EnemyManager {
 
     private void spawnBoss() {
         if (resourceManager == null) return;
+        enemies.add(createBoss());
+        android.util.Log.d("EnemyManager", "Boss spawned");
+    }
+    
+    private Enemy createBoss() {
     float y = -220f;
         // Boss uses current level enemy bitmap scaled up 3x relative to regular enemy size
         android.graphics.Bitmap base = resourceManager.getCurrentLevelEnemy();
@@ -128,42 +346,166 @@ public class EnemyManager {
                 bossBitmap = base;
             }
         }
-        EnemyBoss.MinionSpawner spawner = (mx, my) -> {
-            // Spawn small minion below boss
-            Enemy minion = new EnemyBasic(Math.max(0, Math.min(mx, screenWidth - 60)), my, resourceManager.getCurrentLevelEnemy());
-            minion.setHealth(Math.max(1, levelEnemyHealth - 1));
-            minion.setSpeed(levelEnemySpeed + 40);
-            minion.setScreenWidth(screenWidth);
-            enemies.add(minion);
-        };
+        // Boss update runs inside the enemy loop, so minions are deferred to the command buffer
+        EnemyBoss.MinionSpawner spawner = (mx, my) ->
+            commandBuffer.spawnEnemy(SpawnCommandBuffer.KIND_MINION, mx, my);
+        basicPool.prefill(BOSS_MINION_PREFILL);
     float bossWidth = (bossBitmap != null) ? bossBitmap.getWidth() : 200f;
     float x = screenWidth / 2f - bossWidth / 2f;
-    Enemy boss = new EnemyBoss(x, y, bossBitmap, screenWidth, screenHeight, spawner);
+    Enemy boss = new EnemyBoss(x, y, bossBitmap, screenWidth, screenHeight, spawner, random);
         boss.setHealth(Math.max(10, levelEnemyHealth * 10)); // much higher HP
-        enemies.add(boss);
-        android.util.Log.d("EnemyManager", "Boss spawned at Level 3");
+        return boss;
     }
 
     private void spawnMinionNearTop() {
-        if (resourceManager == null) return;
+        if (resourceManager == null || enemies.size() >= enemyCap) return;
         float x = random.nextFloat() * (screenWidth - 80);
         float y = -80;
-        Enemy minion = new EnemyBasic(x, y, resourceManager.getCurrentLevelEnemy());
-        minion.setHealth(Math.max(1, levelEnemyHealth - 1));
-        minion.setSpeed(levelEnemySpeed + 30);
-        minion.setScreenWidth(screenWidth);
-        enemies.add(minion);
+        enemies.add(obtainBasic(x, y, Math.max(1, levelEnemyHealth - 1), levelEnemySpeed + 30));
     }
     
-    public void draw(Canvas canvas, Paint paint) {
+    /**
+     * Spawn count basic enemies flying as one formation from the top of the screen
+     */
+    private void spawnFormation(Formation.Shape shape, int count) {
+        count = Math.min(count, enemyCap - enemies.size());
+        if (resourceManager == null || count <= 0) return;
+        
+        // Formations sway slowly on their own path, not the zig-zag enemy's quick swing
+        Formation formation = new Formation(shape, count, levelEnemySpeed, null, screenWidth);
+        for (int i = 0; i < count; i++) {
+            EnemyBasic enemy = obtainBasic(0, 0, levelEnemyHealth, levelEnemySpeed);
+            formation.addMember(enemy);
+            enemies.add(enemy);
+        }
+        formation.start(random.nextFloat() * screenWidth, -100);
+        formations.add(formation);
+    }
+    
+    /**
+     * Spawn a batch of regular enemies from the level's mix across the top of the screen.
+     * Used by the stress scenario to hold hundreds of enemies alive.
+     */
+    public void spawnWave(int count) {
+        count = Math.min(count, enemyCap - enemies.size());
+        if (resourceManager == null || count <= 0) return;
+        
+        for (int i = 0; i < count; i++) {
+            float x = random.nextFloat() * (screenWidth - 100);
+            float y = -100 - random.nextFloat() * screenHeight * 0.5f; // Stagger entry
+            
+            enemies.add(createFromMix(x, y));
+        }
+    }
+    
+    private void trimTo(int size) {
+        for (int i = enemies.size() - 1; i >= size; i--) {
+            enemies.remove(i);
+        }
+    }
+    
+    public void draw(Renderer renderer, Paint paint) {
         for (Enemy enemy : enemies) {
-            enemy.draw(canvas, paint);
+            enemy.draw(renderer, paint);
         }
     }
     
+    /**
+     * Write every live enemy, the formations and the spawn timeline to a game snapshot
+     */
+    public void writeState(DataOutput out) throws IOException {
+        waveScheduler.writeState(out);
+        
+        // Enemies killed or despawned this tick are still listed; readState would
+        // revive them, so only the living are saved. Formation members are saved
+        // as positions in this list.
+        Map<Enemy, Integer> indexes = new IdentityHashMap<>(enemies.size() * 2);
+        for (int i = 0, n = enemies.size(); i < n; i++) {
+            Enemy enemy = enemies.get(i);
+            if (enemy.isActive() && !enemy.isDead()) {
+                indexes.put(enemy, indexes.size());
+            }
+        }
+        out.writeInt(indexes.size());
+        for (int i = 0, n = enemies.size(); i < n; i++) {
+            Enemy enemy = enemies.get(i);
+            if (indexes.containsKey(enemy)) {
+                out.writeByte(kindOf(enemy));
+                enemy.writeState(out);
+            }
+        }
+        
+        out.writeInt(formations.size());
+        for (int i = 0, n = formations.size(); i < n; i++) {
+            formations.get(i).writeState(out, indexes);
+        }
+    }
+    
+    /**
+     * Replace the current enemies with the ones in a game snapshot.
+     * The level's settings and assets must already be loaded.
+     */
+    public void readState(DataInput in) throws IOException {
+        clear();
+        waveScheduler.readState(in);
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            Enemy enemy = createForRestore(in.readByte());
+            enemy.readState(in);
+            enemies.add(enemy);
+        }
+        int formationCount = in.readInt();
+        for (int i = 0; i < formationCount; i++) {
+            formations.add(Formation.readState(in, enemies, null, screenWidth));
+        }
+    }
+    
+    private static byte kindOf(Enemy enemy) {
+        if (enemy instanceof EnemyBoss) return KIND_BOSS;
+        if (enemy instanceof EnemyZigZag) return KIND_ZIGZAG;
+        if (enemy instanceof EnemyMedium) return KIND_MEDIUM;
+        if (enemy instanceof EnemyHeavy) return KIND_HEAVY;
+        return KIND_BASIC;
+    }
+    
+    private Enemy createForRestore(byte kind) throws IOException {
+        if (resourceManager == null) {
+            throw new IOException("Level assets not loaded");
+        }
+        android.graphics.Bitmap bitmap = resourceManager.getCurrentLevelEnemy();
+        Enemy enemy;
+        switch (kind) {
+            case KIND_BASIC:
+                enemy = obtainBasic(0, 0, levelEnemyHealth, levelEnemySpeed);
+                break;
+            case KIND_ZIGZAG:
+                enemy = new EnemyZigZag(0, 0, bitmap, getMovementPath(MovementPath.Type.SINE), random);
+                break;
+            case KIND_BOSS:
+                enemy = createBoss();
+                break;
+            case KIND_MEDIUM:
+                enemy = new EnemyMedium(0, 0, bitmap, random);
+                break;
+            case KIND_HEAVY:
+                enemy = new EnemyHeavy(0, 0, bitmap, random);
+                break;
+            default:
+                throw new IOException("Unknown enemy kind " + kind);
+        }
+        enemy.setScreenWidth(screenWidth);
+        return enemy;
+    }
+    
     public void clear() {
+        for (int i = 0, n = enemies.size(); i < n; i++) {
+            recycle(enemies.get(i));
+        }
         enemies.clear();
-        bossSpawned = false;
+        formations.clear();
+        commandBuffer.clear();
+        // Entities are gone, so the level's timeline starts over
+        waveScheduler.restart();
     }
     
     // Getters
@@ -175,11 +517,38 @@ public class EnemyManager {
         return enemies.size();
     }
     
+    public SpawnCommandBuffer getCommandBuffer() {
+        return commandBuffer;
+    }
+    
+    /**
+     * Precomputed path of the given type for the current level, or null if the level has none
+     */
+    public MovementPath getMovementPath(MovementPath.Type type) {
+        return movementPaths[type.ordinal()];
+    }
+    
     // Setters
     public void setResourceManager(ResourceManager resourceManager) {
         this.resourceManager = resourceManager;
     }
     
+    public void setMovementPaths(MovementPath[] movementPaths) {
+        this.movementPaths = movementPaths;
+    }
+    
+    /**
+     * Share the engine's random source so spawns, and the enemies created after this
+     * call, follow the snapshotted RNG state
+     */
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+    
+    public void setEnemyCap(int enemyCap) {
+        this.enemyCap = enemyCap;
+    }
+    
     public void setSpawnInterval(long spawnInterval) {
         this.spawnInterval = spawnInterval;
     }
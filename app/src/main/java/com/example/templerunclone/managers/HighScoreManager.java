@@ -2,25 +2,65 @@ package com.example.templerunclone.managers;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
 
 /**
  * Manager để quản lý high scores
+ * Every run is appended to a binary ScoreLog by a ScoreWriter thread; the top
+ * MAX_SCORES are kept in a min-heap so adding a score never re-sorts or rewrites
+ * the stored list.
+ * There is one instance per process: the game and the high score screen share
+ * the log, its lock and the in-memory lists, so a clear or a compaction on one
+ * side is seen by the other.
  */
 public class HighScoreManager {
+    private static final String TAG = "HighScoreManager";
     private static final String PREFS_NAME = "HighScores";
-    private static final String SCORES_KEY = "scores";
+    private static final String SCORES_KEY = "scores";   // legacy string format, migrated on load
+    private static final String LOG_FILE = "scores.log";
     private static final int MAX_SCORES = 8;
     
-    private Context context;
-    private List<HighScore> highScores;
+    private static final Comparator<HighScore> BY_SCORE_ASCENDING = new Comparator<HighScore>() {
+        @Override
+        public int compare(HighScore a, HighScore b) {
+            return Integer.compare(a.score, b.score);
+        }
+    };
+    private static final Comparator<HighScore> BY_SCORE_DESCENDING = Collections.reverseOrder(BY_SCORE_ASCENDING);
+    
+    private static HighScoreManager instance;
     
-    public HighScoreManager(Context context) {
+    private final Context context;
+    private final ScoreLog scoreLog;
+    private final ScoreWriter scoreWriter;
+    private final PriorityQueue<HighScore> highScores;   // min-heap: lowest kept score on top
+    private int highestScore = 0;
+    private final LeaderboardIndex leaderboards = new LeaderboardIndex();
+    
+    /**
+     * The shared manager, replaying the score history on first use (file I/O)
+     */
+    public static synchronized HighScoreManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new HighScoreManager(context.getApplicationContext());
+        }
+        return instance;
+    }
+    
+    private HighScoreManager(Context context) {
         this.context = context;
-        this.highScores = new ArrayList<>();
+        this.scoreLog = new ScoreLog(new File(context.getFilesDir(), LOG_FILE));
+        this.highScores = new PriorityQueue<>(MAX_SCORES + 1, BY_SCORE_ASCENDING);
+        this.scoreWriter = new ScoreWriter(scoreLog, this,
+            (score, level, timestamp) -> record(new HighScore(score, level, timestamp)));
         loadHighScores();
     }
     
@@ -43,111 +83,141 @@ public class HighScoreManager {
                 this.timestamp = Long.parseLong(parts[2]);
             }
         }
-        
-        @Override
-        public String toString() {
-            return score + "," + level + "," + timestamp;
-        }
     }
     
     private void loadHighScores() {
-        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
-        String scoresData = prefs.getString(SCORES_KEY, "");
-        
         highScores.clear();
         
-        if (!scoresData.isEmpty()) {
-            String[] scores = scoresData.split(";");
-            for (String scoreData : scores) {
-                if (!scoreData.trim().isEmpty()) {
-                    try {
-                        highScores.add(new HighScore(scoreData));
-                    } catch (Exception e) {
-                        // Skip invalid entries
-                    }
-                }
-            }
+        // One-time migration of the old "score,level,timestamp;..." preference string
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        String legacyData = prefs.getString(SCORES_KEY, "");
+        if (!legacyData.isEmpty() && !scoreLog.exists()) {
+            migrateLegacyScores(legacyData);
+        }
+        if (prefs.contains(SCORES_KEY)) {
+            prefs.edit().remove(SCORES_KEY).apply();
         }
         
-        // Sort by score descending
-        Collections.sort(highScores, new Comparator<HighScore>() {
+        // Replay the full history into the top-list heap and the leaderboards
+        leaderboards.beginLoad();
+        scoreLog.load(new ScoreLog.Visitor() {
             @Override
-            public int compare(HighScore a, HighScore b) {
-                return Integer.compare(b.score, a.score);
+            public void onRecord(int score, int level, long timestamp) {
+                record(new HighScore(score, level, timestamp));
+            }
+            
+            @Override
+            public void onCleared() {
+                highScores.clear();
+                highestScore = 0;
+                leaderboards.clear();
             }
         });
+        leaderboards.endLoad();
     }
     
-    private void saveHighScores() {
-        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = prefs.edit();
-        
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < highScores.size(); i++) {
-            if (i > 0) sb.append(";");
-            sb.append(highScores.get(i).toString());
+    private void migrateLegacyScores(String scoresData) {
+        for (String scoreData : scoresData.split(";")) {
+            if (!scoreData.trim().isEmpty()) {
+                try {
+                    HighScore legacy = new HighScore(scoreData);
+                    scoreLog.append(legacy.score, legacy.level, legacy.timestamp);
+                } catch (Exception e) {
+                    // Skip invalid entries
+                }
+            }
         }
-        
-        editor.putString(SCORES_KEY, sb.toString());
-        editor.apply();
+        Log.d(TAG, "Migrated " + scoreLog.getRecordCount() + " scores from preferences");
     }
     
-    public boolean addScore(int score, int level) {
-        HighScore newScore = new HighScore(score, level, System.currentTimeMillis());
-        
-        // Add the new score
-        highScores.add(newScore);
-        
-        // Sort by score descending
-        Collections.sort(highScores, new Comparator<HighScore>() {
-            @Override
-            public int compare(HighScore a, HighScore b) {
-                return Integer.compare(b.score, a.score);
-            }
-        });
-        
-        // Keep only top MAX_SCORES
-        boolean isHighScore = false;
-        if (highScores.size() > MAX_SCORES) {
-            // Check if the new score made it to top 8
-            for (int i = 0; i < MAX_SCORES; i++) {
-                if (highScores.get(i) == newScore) {
-                    isHighScore = true;
-                    break;
-                }
-            }
-            // Remove excess scores
-            while (highScores.size() > MAX_SCORES) {
-                highScores.remove(highScores.size() - 1);
-            }
-        } else {
-            isHighScore = true;
+    /**
+     * Index a run in every leaderboard it belongs to; true if it made the top list
+     */
+    private synchronized boolean record(HighScore score) {
+        leaderboards.add(score);
+        return offer(score);
+    }
+    
+    /**
+     * Keep score if it belongs in the top MAX_SCORES; O(log MAX_SCORES)
+     */
+    private synchronized boolean offer(HighScore score) {
+        highestScore = Math.max(highestScore, score.score);
+        if (highScores.size() < MAX_SCORES) {
+            highScores.add(score);
+            return true;
         }
-        
-        saveHighScores();
-        return isHighScore;
+        if (score.score > highScores.peek().score) {
+            highScores.poll();
+            highScores.add(score);
+            return true;
+        }
+        return false;
     }
     
-    public List<HighScore> getHighScores() {
-        return new ArrayList<>(highScores);
+    /**
+     * Save a finished run off the calling thread. listener (may be null) is told on
+     * the writer thread whether the run made the top list once it has been written.
+     */
+    public void submitScore(int score, int level, ScoreWriter.Listener listener) {
+        scoreWriter.submit(score, level, listener);
     }
     
-    public void clearHighScores() {
-        highScores.clear();
-        saveHighScores();
+    /**
+     * Finish writing queued runs (call when the game is torn down); the next
+     * submitScore() starts the writer again
+     */
+    public void close() {
+        scoreWriter.shutdown();
+    }
+    
+    /**
+     * Top scores, highest first
+     */
+    public synchronized List<HighScore> getHighScores() {
+        List<HighScore> sorted = new ArrayList<>(highScores);
+        Collections.sort(sorted, BY_SCORE_DESCENDING);
+        return sorted;
     }
     
-    public int getHighestScore() {
-        if (highScores.isEmpty()) {
-            return 0;
+    /**
+     * One page of a leaderboard, highest first. level is a level number or
+     * LeaderboardIndex.ALL_LEVELS; offset is the zero-based rank to start at.
+     */
+    public synchronized List<HighScore> getScores(int level, Leaderboard.Period period, int offset, int limit) {
+        return leaderboards.get(level, period).page(offset, limit);
+    }
+    
+    public synchronized int getScoreCount(int level, Leaderboard.Period period) {
+        return leaderboards.get(level, period).size();
+    }
+    
+    /**
+     * Rank (1 = first) that score would take on a leaderboard, in O(log n)
+     */
+    public synchronized int getRank(int score, int level, Leaderboard.Period period) {
+        return leaderboards.get(level, period).rankOf(score);
+    }
+    
+    public synchronized void clearHighScores() {
+        highScores.clear();
+        highestScore = 0;
+        leaderboards.clear();
+        try {
+            scoreLog.appendClear();
+        } catch (IOException e) {
+            Log.e(TAG, "Error clearing scores", e);
         }
-        return highScores.get(0).score;
     }
     
-    public boolean isHighScore(int score) {
+    public synchronized int getHighestScore() {
+        return highestScore;
+    }
+    
+    public synchronized boolean isHighScore(int score) {
         if (highScores.size() < MAX_SCORES) {
             return true;
         }
-        return score > highScores.get(MAX_SCORES - 1).score;
+        return score > highScores.peek().score;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,106 @@
+package com.example.templerunclone.managers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * One ranked list of runs, kept sorted by score (highest first, earlier run first
+ * on ties) in a plain array. Adding a run is a binary search plus one arraycopy;
+ * rank lookups are a binary search and pages are array slices. History replayed
+ * at startup is appended unsorted and sorted once.
+ */
+public class Leaderboard {
+    public enum Period {
+        DAY, WEEK, ALL_TIME
+    }
+    
+    private static final Comparator<HighScoreManager.HighScore> BY_SCORE_DESCENDING =
+        new Comparator<HighScoreManager.HighScore>() {
+            @Override
+            public int compare(HighScoreManager.HighScore a, HighScoreManager.HighScore b) {
+                return Integer.compare(b.score, a.score);
+            }
+        };
+    
+    private HighScoreManager.HighScore[] entries = new HighScoreManager.HighScore[16];
+    private int size = 0;
+    
+    void add(HighScoreManager.HighScore score) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        // After every entry with an equal or higher score
+        int index = countAbove(score.score - 1L);
+        System.arraycopy(entries, index, entries, index + 1, size - index);
+        entries[index] = score;
+        size++;
+    }
+    
+    /**
+     * Add without keeping order; call sort() once the bulk load is done
+     */
+    void append(HighScoreManager.HighScore score) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        entries[size++] = score;
+    }
+    
+    /**
+     * Restore order after append(); stable, so runs appended in time order keep it on ties
+     */
+    void sort() {
+        Arrays.sort(entries, 0, size, BY_SCORE_DESCENDING);
+    }
+    
+    void clear() {
+        Arrays.fill(entries, 0, size, null);
+        size = 0;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Rank a score would get on this board (1 = first), in O(log n)
+     */
+    public int rankOf(int score) {
+        return countAbove(score) + 1;
+    }
+    
+    /**
+     * Up to limit entries starting at rank offset + 1
+     */
+    public List<HighScoreManager.HighScore> page(int offset, int limit) {
+        int from = Math.max(0, offset);
+        int to = Math.min(size, from + Math.max(0, limit));
+        List<HighScoreManager.HighScore> page = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            page.add(entries[i]);
+        }
+        return page;
+    }
+    
+    public HighScoreManager.HighScore get(int index) {
+        return entries[index];
+    }
+    
+    /**
+     * Number of entries scoring strictly more than score
+     */
+    private int countAbove(long score) {
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries[mid].score > score) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.templerunclone.managers;
+
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Leaderboards keyed by level (or all levels) and by period, built incrementally
+ * as runs are replayed from the score log or saved. Today's and this week's
+ * boards only take runs inside the current window and are emptied when the
+ * window rolls over.
+ */
+public class LeaderboardIndex {
+    public static final int ALL_LEVELS = 0;
+    private static final int PERIOD_COUNT = Leaderboard.Period.values().length;
+    private static final Leaderboard EMPTY = new Leaderboard();
+    
+    private final Map<Integer, Leaderboard> boards = new HashMap<>();
+    private long dayStart, dayEnd;
+    private long weekStart, weekEnd;
+    private boolean loading = false;
+    
+    /**
+     * Start replaying history: runs are appended unsorted until endLoad()
+     */
+    void beginLoad() {
+        loading = true;
+    }
+    
+    void endLoad() {
+        loading = false;
+        for (Leaderboard board : boards.values()) {
+            board.sort();
+        }
+    }
+    
+    void add(HighScoreManager.HighScore score) {
+        add(score, System.currentTimeMillis());
+    }
+    
+    /**
+     * Add a run as of the given time (tests step the clock through rollovers)
+     */
+    void add(HighScoreManager.HighScore score, long now) {
+        roll(now);
+        addTo(ALL_LEVELS, score);
+        if (score.level != ALL_LEVELS) {
+            addTo(score.level, score);
+        }
+    }
+    
+    private void addTo(int level, HighScoreManager.HighScore score) {
+        insert(board(level, Leaderboard.Period.ALL_TIME), score);
+        if (score.timestamp >= weekStart && score.timestamp < weekEnd) {
+            insert(board(level, Leaderboard.Period.WEEK), score);
+        }
+        if (score.timestamp >= dayStart && score.timestamp < dayEnd) {
+            insert(board(level, Leaderboard.Period.DAY), score);
+        }
+    }
+    
+    private void insert(Leaderboard board, HighScoreManager.HighScore score) {
+        if (loading) {
+            board.append(score);
+        } else {
+            board.add(score);
+        }
+    }
+    
+    void clear() {
+        boards.clear();
+    }
+    
+    /**
+     * Board for one level (or ALL_LEVELS) and period; empty if nothing was recorded
+     */
+    public Leaderboard get(int level, Leaderboard.Period period) {
+        return get(level, period, System.currentTimeMillis());
+    }
+    
+    Leaderboard get(int level, Leaderboard.Period period, long now) {
+        roll(now);
+        Leaderboard board = boards.get(key(level, period));
+        return board != null ? board : EMPTY;
+    }
+    
+    private Leaderboard board(int level, Leaderboard.Period period) {
+        int key = key(level, period);
+        Leaderboard board = boards.get(key);
+        if (board == null) {
+            board = new Leaderboard();
+            boards.put(key, board);
+        }
+        return board;
+    }
+    
+    private static int key(int level, Leaderboard.Period period) {
+        return level * PERIOD_COUNT + period.ordinal();
+    }
+    
+    /**
+     * Move the day and week windows forward to contain now, dropping stale boards
+     */
+    private void roll(long now) {
+        if (now >= dayStart && now < dayEnd) return;
+        
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(now);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        dayStart = calendar.getTimeInMillis();
+        calendar.add(Calendar.DAY_OF_MONTH, 1);
+        dayEnd = calendar.getTimeInMillis();
+        clearPeriod(Leaderboard.Period.DAY);
+        
+        if (now >= weekStart && now < weekEnd) return;
+        calendar.setTimeInMillis(dayStart);
+        int daysIntoWeek = (calendar.get(Calendar.DAY_OF_WEEK) - calendar.getFirstDayOfWeek() + 7) % 7;
+        calendar.add(Calendar.DAY_OF_MONTH, -daysIntoWeek);
+        weekStart = calendar.getTimeInMillis();
+        calendar.add(Calendar.DAY_OF_MONTH, 7);
+        weekEnd = calendar.getTimeInMillis();
+        clearPeriod(Leaderboard.Period.WEEK);
+    }
+    
+    private void clearPeriod(Leaderboard.Period period) {
+        for (Map.Entry<Integer, Leaderboard> entry : boards.entrySet()) {
+            if (entry.getKey() % PERIOD_COUNT == period.ordinal()) {
+                entry.getValue().clear();
+            }
+        }
+    }
+}
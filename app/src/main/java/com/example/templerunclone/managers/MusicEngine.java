@@ -0,0 +1,263 @@
+package com.example.templerunclone.managers;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.media.AudioAttributes;
+import android.media.MediaPlayer;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.io.IOException;
+
+/**
+ * Streaming background music with crossfades between tracks.
+ * Each track is a looping MediaPlayer fed from its file descriptor, so it is decoded
+ * as it plays rather than held in memory. The next track is prepared with
+ * prepareAsync() and faded in against the current one once it is ready.
+ * Every MediaPlayer call runs on the engine's own thread; the public methods only
+ * post to it, so callers (including the game thread) never block on media.
+ */
+public class MusicEngine {
+    private static final String TAG = "MusicEngine";
+    private static final String DEFAULT_TRACK = "raw:bg_music";
+    private static final String RAW_PREFIX = "res/raw/";
+    private static final long FADE_STEP_MS = 50;
+    
+    private final Context appContext;
+    private final HandlerThread thread;
+    private final Handler handler;
+    
+    // Engine thread state
+    private MediaPlayer current, incoming, outgoing;
+    private String currentKey, incomingKey;
+    private int fadeMs;
+    private long fadeStart;
+    private float masterVolume = 1f;
+    private boolean paused = true;   // nothing plays until resume()
+    
+    private final Runnable fadeStep = this::stepFade;
+    
+    public MusicEngine(Context context) {
+        appContext = context.getApplicationContext();
+        thread = new HandlerThread("MusicEngine");
+        thread.start();
+        handler = new Handler(thread.getLooper());
+    }
+    
+    /**
+     * Switch to a track, crossfading over fadeMs once it has been prepared.
+     * musicPath is a level's "res/raw/name.ext" or an asset path; null or a
+     * missing file selects the default track. Re-selecting the playing track is a no-op.
+     */
+    public void play(String musicPath, int fadeMs) {
+        handler.post(() -> select(resolve(musicPath), fadeMs));
+    }
+    
+    /**
+     * Start or continue playback (the default track if none was selected yet)
+     */
+    public void resume() {
+        handler.post(() -> {
+            paused = false;
+            if (current == null && incoming == null) {
+                select(DEFAULT_TRACK, 0);
+            } else if (current != null && !current.isPlaying()) {
+                current.start();
+            }
+        });
+    }
+    
+    public void pause() {
+        handler.post(() -> {
+            paused = true;
+            finishFade();
+            if (current != null && current.isPlaying()) {
+                current.pause();
+            }
+        });
+    }
+    
+    /**
+     * Pause and rewind the current track
+     */
+    public void stop() {
+        handler.post(() -> {
+            paused = true;
+            finishFade();
+            if (current != null) {
+                if (current.isPlaying()) {
+                    current.pause();
+                }
+                current.seekTo(0);
+            }
+        });
+    }
+    
+    public void setVolume(float volume) {
+        handler.post(() -> {
+            masterVolume = volume;
+            if (outgoing == null && current != null) {
+                current.setVolume(volume, volume);
+            }
+        });
+    }
+    
+    /**
+     * Release every player and stop the engine thread
+     */
+    public void release() {
+        handler.post(() -> {
+            handler.removeCallbacks(fadeStep);
+            current = releasePlayer(current);
+            incoming = releasePlayer(incoming);
+            outgoing = releasePlayer(outgoing);
+            currentKey = incomingKey = null;
+            thread.quitSafely();
+        });
+    }
+    
+    private void select(String key, int fadeMs) {
+        this.fadeMs = fadeMs;
+        if (key.equals(incomingKey)) return;
+        if (incoming == null && key.equals(currentKey)) return;
+        
+        incoming = releasePlayer(incoming);
+        incomingKey = null;
+        
+        MediaPlayer player = new MediaPlayer();
+        try (AssetFileDescriptor afd = open(key)) {
+            if (afd == null) {
+                throw new IOException("Track not found: " + key);
+            }
+            player.setAudioAttributes(new AudioAttributes.Builder()
+                .setUsage(AudioAttributes.USAGE_GAME)
+                .setContentType(AudioAttributes.CONTENT_TYPE_MUSIC)
+                .build());
+            player.setDataSource(afd.getFileDescriptor(), afd.getStartOffset(), afd.getLength());
+            player.setLooping(true);
+            player.setOnPreparedListener(this::onPrepared);
+            player.setOnErrorListener(this::onError);
+            player.prepareAsync();
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Cannot open " + key, e);
+            player.release();
+            return;
+        }
+        incoming = player;
+        incomingKey = key;
+    }
+    
+    private void onPrepared(MediaPlayer player) {
+        if (player != incoming) return;
+        
+        // Any fade still running is cut short; its outgoing track goes now
+        finishFade();
+        outgoing = current;
+        current = incoming;
+        currentKey = incomingKey;
+        incoming = null;
+        incomingKey = null;
+        
+        if (outgoing == null || paused || fadeMs <= 0) {
+            outgoing = releasePlayer(outgoing);
+            current.setVolume(masterVolume, masterVolume);
+            if (!paused) {
+                current.start();
+            }
+            return;
+        }
+        current.setVolume(0f, 0f);
+        current.start();
+        fadeStart = SystemClock.uptimeMillis();
+        handler.post(fadeStep);
+    }
+    
+    private void stepFade() {
+        if (outgoing == null || current == null) return;
+        float t = Math.min(1f, (SystemClock.uptimeMillis() - fadeStart) / (float) fadeMs);
+        
+        // Equal-power curve keeps the loudness steady through the middle of the fade
+        float in = masterVolume * (float) Math.sin(t * Math.PI / 2);
+        float out = masterVolume * (float) Math.cos(t * Math.PI / 2);
+        current.setVolume(in, in);
+        outgoing.setVolume(out, out);
+        
+        if (t < 1f) {
+            handler.postDelayed(fadeStep, FADE_STEP_MS);
+        } else {
+            finishFade();
+        }
+    }
+    
+    private void finishFade() {
+        handler.removeCallbacks(fadeStep);
+        if (outgoing != null) {
+            outgoing = releasePlayer(outgoing);
+            if (current != null) {
+                current.setVolume(masterVolume, masterVolume);
+            }
+        }
+    }
+    
+    private boolean onError(MediaPlayer player, int what, int extra) {
+        Log.w(TAG, "Playback error what=" + what + " extra=" + extra);
+        if (player == incoming) {
+            incoming = releasePlayer(incoming);
+            incomingKey = null;
+        } else if (player == current) {
+            current = releasePlayer(current);
+            currentKey = null;
+        } else if (player == outgoing) {
+            outgoing = releasePlayer(outgoing);
+        }
+        return true;
+    }
+    
+    /**
+     * Map a level's music path to a track key, falling back to the default track
+     */
+    private String resolve(String musicPath) {
+        if (musicPath == null || musicPath.isEmpty()) {
+            return DEFAULT_TRACK;
+        }
+        if (musicPath.startsWith(RAW_PREFIX)) {
+            String name = musicPath.substring(RAW_PREFIX.length());
+            int dot = name.lastIndexOf('.');
+            if (dot > 0) {
+                name = name.substring(0, dot);
+            }
+            if (rawId(name) != 0) {
+                return "raw:" + name;
+            }
+        } else {
+            try (AssetFileDescriptor afd = appContext.getAssets().openFd(musicPath)) {
+                return "asset:" + musicPath;
+            } catch (IOException e) {
+                // Missing or compressed asset: fall through to the default track
+            }
+        }
+        Log.d(TAG, "No track for " + musicPath + ", using default");
+        return DEFAULT_TRACK;
+    }
+    
+    private AssetFileDescriptor open(String key) throws IOException {
+        if (key.startsWith("raw:")) {
+            int id = rawId(key.substring(4));
+            return id != 0 ? appContext.getResources().openRawResourceFd(id) : null;
+        }
+        return appContext.getAssets().openFd(key.substring(6));
+    }
+    
+    private int rawId(String name) {
+        return appContext.getResources().getIdentifier(name, "raw", appContext.getPackageName());
+    }
+    
+    private static MediaPlayer releasePlayer(MediaPlayer player) {
+        if (player != null) {
+            player.release();
+        }
+        return null;
+    }
+}
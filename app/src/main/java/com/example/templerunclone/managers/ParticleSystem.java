@@ -0,0 +1,188 @@
+package com.example.templerunclone.managers;
+
+import android.graphics.Paint;
+
+import com.example.templerunclone.engine.Renderer;
+import com.example.templerunclone.utils.FastMath;
+
+import java.util.Random;
+
+/**
+ * Particle engine with all particle state in primitive arrays.
+ * Bursts are scaled by the level's particle intensity and clipped to a hard budget;
+ * update is one integration loop and draw is one drawPoints() batch per palette color.
+ */
+public class ParticleSystem {
+    public static final int DEFAULT_BUDGET = 2048;
+    
+    // Palette (batched draw per entry)
+    private static final int[] PALETTE = {
+        0xFFFFC107, // amber - kill sparks
+        0xFFFF5722, // deep orange - kill embers
+        0xFFFFFFFF, // white - hit sparks
+        0xFF00E5FF, // cyan - pickups
+        0xFF76FF03  // green - pickups
+    };
+    private static final int COLOR_AMBER = 0;
+    private static final int COLOR_ORANGE = 1;
+    private static final int COLOR_WHITE = 2;
+    private static final int COLOR_CYAN = 3;
+    private static final int COLOR_GREEN = 4;
+    
+    private static final float GRAVITY = 300f; // px/s^2, sparks fall slightly
+    private static final float DRAG = 2.5f;    // velocity damping per second
+    private static final float POINT_SIZE = 5f;
+    
+    private final int capacity;
+    private int budget;
+    private float intensity = 1f;
+    
+    // Particle state (structure of arrays)
+    private final float[] posX, posY, velX, velY, life, maxLife;
+    private final byte[] color;
+    private int count = 0;
+    
+    // Per-color point buffers for batched drawing
+    private final float[][] points;
+    private final int[] pointCounts;
+    private final Paint paint;
+    private final Random random = new Random();
+    
+    public ParticleSystem(int capacity) {
+        this.capacity = capacity;
+        this.budget = capacity;
+        posX = new float[capacity];
+        posY = new float[capacity];
+        velX = new float[capacity];
+        velY = new float[capacity];
+        life = new float[capacity];
+        maxLife = new float[capacity];
+        color = new byte[capacity];
+        points = new float[PALETTE.length][capacity * 2];
+        pointCounts = new int[PALETTE.length];
+        
+        paint = new Paint();
+        paint.setAntiAlias(false);
+        paint.setStrokeWidth(POINT_SIZE);
+        paint.setStrokeCap(Paint.Cap.SQUARE);
+    }
+    
+    public ParticleSystem() {
+        this(DEFAULT_BUDGET);
+    }
+    
+    // Presets
+    public void burstKill(float x, float y) {
+        emit(x, y, 24, 260f, 600f, COLOR_AMBER, COLOR_ORANGE);
+    }
+    
+    public void burstHit(float x, float y) {
+        emit(x, y, 6, 180f, 250f, COLOR_WHITE, COLOR_AMBER);
+    }
+    
+    public void burstPickup(float x, float y) {
+        emit(x, y, 16, 140f, 500f, COLOR_CYAN, COLOR_GREEN);
+    }
+    
+    /**
+     * Emit a radial burst. The count is scaled by the intensity, then shrinks as the
+     * budget fills (full size below half, linearly down to nothing at the limit).
+     */
+    public void emit(float x, float y, int baseCount, float speed, float lifeMs, int colorA, int colorB) {
+        int limit = budget;
+        if (count >= limit) return;
+        
+        float wanted = baseCount * intensity;
+        float fill = count / (float) limit;
+        if (fill > 0.5f) {
+            wanted *= (1f - fill) * 2f;
+        }
+        int n = Math.min((int) (wanted + 0.5f), limit - count);
+        
+        for (int k = 0; k < n; k++) {
+            int i = count++;
+            float angle = random.nextFloat() * FastMath.TWO_PI;
+            float s = speed * (0.4f + random.nextFloat() * 0.6f);
+            posX[i] = x;
+            posY[i] = y;
+            velX[i] = FastMath.cos(angle) * s;
+            velY[i] = FastMath.sin(angle) * s;
+            maxLife[i] = lifeMs * (0.6f + random.nextFloat() * 0.4f);
+            life[i] = maxLife[i];
+            color[i] = (byte) ((k & 1) == 0 ? colorA : colorB);
+        }
+    }
+    
+    public void update(float deltaTime) {
+        float dt = deltaTime / 1000f;
+        float damping = Math.max(0f, 1f - DRAG * dt);
+        
+        int i = 0;
+        while (i < count) {
+            life[i] -= deltaTime;
+            if (life[i] <= 0f) {
+                // Swap-remove: move the last particle into this slot
+                int last = --count;
+                posX[i] = posX[last];
+                posY[i] = posY[last];
+                velX[i] = velX[last];
+                velY[i] = velY[last];
+                life[i] = life[last];
+                maxLife[i] = maxLife[last];
+                color[i] = color[last];
+                continue;
+            }
+            velY[i] += GRAVITY * dt;
+            velX[i] *= damping;
+            velY[i] *= damping;
+            posX[i] += velX[i] * dt;
+            posY[i] += velY[i] * dt;
+            i++;
+        }
+    }
+    
+    public void draw(Renderer renderer) {
+        if (count == 0) return;
+        
+        java.util.Arrays.fill(pointCounts, 0);
+        for (int i = 0; i < count; i++) {
+            int c = color[i];
+            int p = pointCounts[c];
+            points[c][p] = posX[i];
+            points[c][p + 1] = posY[i];
+            pointCounts[c] = p + 2;
+        }
+        
+        for (int c = 0; c < PALETTE.length; c++) {
+            if (pointCounts[c] > 0) {
+                paint.setColor(PALETTE[c]);
+                renderer.drawPoints(points[c], 0, pointCounts[c], paint);
+            }
+        }
+    }
+    
+    public void clear() {
+        count = 0;
+    }
+    
+    /**
+     * Level particle intensity (LevelConfig.particleEffectIntensity), 0 disables bursts
+     */
+    public void setIntensity(float intensity) {
+        this.intensity = Math.max(0f, intensity);
+    }
+    
+    /**
+     * Limit live particles; lowering the budget drops the excess at once
+     */
+    public void setBudget(int budget) {
+        this.budget = Math.max(0, Math.min(budget, capacity));
+        if (count > this.budget) {
+            count = this.budget;
+        }
+    }
+    
+    public int getCount() { return count; }
+    public int getBudget() { return budget; }
+    public float getIntensity() { return intensity; }
+}
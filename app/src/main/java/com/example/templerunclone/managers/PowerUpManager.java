@@ -1,11 +1,14 @@
 package com.example.templerunclone.managers;
 
 import android.graphics.Bitmap;
-import android.graphics.Canvas;
 import android.graphics.Paint;
+import com.example.templerunclone.engine.Renderer;
 import com.example.templerunclone.entities.PowerUp;
 import com.example.templerunclone.levels.LevelManager;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -74,15 +77,7 @@ public class PowerUpManager {
         
         PowerUp powerUp;
         long duration = 5000; // 5 seconds default
-        
-        // Get level-specific, type-specific bitmap
-        Bitmap powerUpBitmap;
-        if (levelManager != null && levelManager.getCurrentLevelConfig() != null) {
-            powerUpBitmap = resourceManager.createLevelPowerUpByType(levelManager.getCurrentLevelConfig(), type);
-        } else {
-            // Fallback to generic powerup if level manager not available
-            powerUpBitmap = resourceManager.getCurrentLevelPowerUp();
-        }
+        Bitmap powerUpBitmap = getBitmapFor(type);
         
         switch (type) {
             case HEALTH:
@@ -115,6 +110,17 @@ public class PowerUpManager {
         android.util.Log.d("PowerUpManager", "Spawned power-up: " + powerUpName);
     }
     
+    /**
+     * Level-specific, type-specific bitmap for a power-up
+     */
+    private Bitmap getBitmapFor(PowerUp.PowerUpType type) {
+        if (levelManager != null && levelManager.getCurrentLevelConfig() != null) {
+            return resourceManager.createLevelPowerUpByType(levelManager.getCurrentLevelConfig(), type);
+        }
+        // Fallback to generic powerup if level manager not available
+        return resourceManager.getCurrentLevelPowerUp();
+    }
+    
     /**
      * Convert string name to PowerUpType enum
      */
@@ -182,9 +188,9 @@ public class PowerUpManager {
         }
     }
     
-    public void draw(Canvas canvas, Paint paint) {
+    public void draw(Renderer renderer, Paint paint) {
         for (PowerUp powerUp : powerUps) {
-            powerUp.draw(canvas, paint);
+            powerUp.draw(renderer, paint);
         }
     }
     
@@ -192,6 +198,44 @@ public class PowerUpManager {
         powerUps.clear();
     }
     
+    /**
+     * Write the falling power-ups to a game snapshot
+     */
+    public void writeState(DataOutput out) throws IOException {
+        // Collected power-ups may still be listed until the next update; skip them
+        int live = 0;
+        for (PowerUp powerUp : powerUps) {
+            if (powerUp.isActive()) live++;
+        }
+        out.writeInt(live);
+        for (PowerUp powerUp : powerUps) {
+            if (!powerUp.isActive()) continue;
+            out.writeByte(powerUp.getType().ordinal());
+            out.writeLong(powerUp.getDuration());
+            powerUp.writeState(out);
+        }
+    }
+    
+    /**
+     * Replace the current power-ups with the ones in a game snapshot
+     */
+    public void readState(DataInput in) throws IOException {
+        powerUps.clear();
+        PowerUp.PowerUpType[] types = PowerUp.PowerUpType.values();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            int ordinal = in.readByte();
+            if (ordinal < 0 || ordinal >= types.length) {
+                throw new IOException("Unknown power-up type " + ordinal);
+            }
+            long duration = in.readLong();
+            Bitmap bitmap = resourceManager != null ? getBitmapFor(types[ordinal]) : null;
+            PowerUp powerUp = new PowerUp(0, 0, bitmap, types[ordinal], duration);
+            powerUp.readState(in);
+            powerUps.add(powerUp);
+        }
+    }
+    
     // Getters
     public List<PowerUp> getPowerUps() {
         return powerUps;
@@ -202,6 +246,13 @@ public class PowerUpManager {
         this.resourceManager = resourceManager;
     }
     
+    /**
+     * Share the engine's random source so drops follow the snapshotted RNG state
+     */
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+    
     public void setLevelManager(LevelManager levelManager) {
         this.levelManager = levelManager;
     }
@@ -0,0 +1,245 @@
+package com.example.templerunclone.managers;
+
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Append-only binary log of every finished run.
+ * The file is an 8-byte header followed by fixed 16-byte records
+ * (score, level, timestamp), so adding a run is a single small append.
+ * Clearing appends a tombstone instead of rewriting; the records before it,
+ * and any torn record left by a crash mid-write, are dropped by a background
+ * compaction that rewrites the live records into a new file.
+ */
+public class ScoreLog {
+    private static final String TAG = "ScoreLog";
+    private static final int MAGIC = 0x53434C47;   // "SCLG"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    static final int RECORD_SIZE = 16;
+    private static final int TOMBSTONE = -1;
+    private static final int COMPACT_GARBAGE_RECORDS = 256;
+    
+    public interface Visitor {
+        void onRecord(int score, int level, long timestamp);
+        
+        /**
+         * Everything visited so far was cleared
+         */
+        void onCleared();
+    }
+    
+    private final File file;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private long liveRecords = 0;
+    private long garbageRecords = 0;
+    private boolean tornTail = false;
+    private boolean compacting = false;
+    
+    public ScoreLog(File file) {
+        this.file = file;
+    }
+    
+    public boolean exists() {
+        return file.exists();
+    }
+    
+    /**
+     * Replay the whole log into visitor; returns the number of live records
+     */
+    public synchronized long load(Visitor visitor) {
+        liveRecords = 0;
+        garbageRecords = 0;
+        tornTail = false;
+        if (!file.exists()) return 0;
+        
+        long length = file.length();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (length < HEADER_SIZE || in.readInt() != MAGIC || in.readInt() != VERSION) {
+                Log.w(TAG, "Unrecognized score log, starting a new one");
+                file.delete();
+                return 0;
+            }
+            long records = (length - HEADER_SIZE) / RECORD_SIZE;
+            tornTail = (length - HEADER_SIZE) % RECORD_SIZE != 0;
+            for (long i = 0; i < records; i++) {
+                int score = in.readInt();
+                int level = in.readInt();
+                long timestamp = in.readLong();
+                if (score == TOMBSTONE) {
+                    garbageRecords += liveRecords + 1;
+                    liveRecords = 0;
+                    visitor.onCleared();
+                } else {
+                    liveRecords++;
+                    visitor.onRecord(score, level, timestamp);
+                }
+            }
+        } catch (EOFException e) {
+            tornTail = true;
+        } catch (IOException e) {
+            Log.e(TAG, "Error reading score log", e);
+        }
+        
+        if (tornTail || garbageRecords >= COMPACT_GARBAGE_RECORDS) {
+            compactInBackground();
+        }
+        return liveRecords;
+    }
+    
+    /**
+     * Append one run: a single 16-byte write
+     */
+    public synchronized void append(int score, int level, long timestamp) throws IOException {
+        record.clear();
+        record.putInt(score).putInt(level).putLong(timestamp);
+        writeRecords(record, false);
+        liveRecords++;
+    }
+    
+    /**
+     * Append several runs with one write and wait until they are on disk
+     */
+    public synchronized void appendAll(int count, int[] scores, int[] levels, long[] timestamps) throws IOException {
+        ByteBuffer batch = count == 1 ? record : ByteBuffer.allocate(count * RECORD_SIZE);
+        batch.clear();
+        for (int i = 0; i < count; i++) {
+            batch.putInt(scores[i]).putInt(levels[i]).putLong(timestamps[i]);
+        }
+        writeRecords(batch, true);
+        liveRecords += count;
+    }
+    
+    /**
+     * Forget every run logged so far
+     */
+    public synchronized void appendClear() throws IOException {
+        record.clear();
+        record.putInt(TOMBSTONE).putInt(0).putLong(System.currentTimeMillis());
+        writeRecords(record, true);
+        garbageRecords += liveRecords + 1;
+        liveRecords = 0;
+        if (garbageRecords >= COMPACT_GARBAGE_RECORDS) {
+            compactInBackground();
+        }
+    }
+    
+    public synchronized long getRecordCount() {
+        return liveRecords;
+    }
+    
+    private void writeRecords(ByteBuffer records, boolean sync) throws IOException {
+        if (tornTail) {
+            // Appending after a partial record would misalign everything after it
+            compact();
+        }
+        boolean fresh = !file.exists() || file.length() == 0;
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            if (fresh) {
+                out.write(header());
+            }
+            out.write(records.array(), 0, records.position());
+            if (sync) {
+                out.getFD().sync();
+            }
+        }
+    }
+    
+    private static byte[] header() {
+        return ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).array();
+    }
+    
+    /**
+     * Rewrite the live records into a new file on a background thread
+     */
+    public void compactInBackground() {
+        synchronized (this) {
+            if (compacting) return;
+            compacting = true;
+        }
+        new Thread(() -> {
+            try {
+                synchronized (this) {
+                    compact();
+                }
+            } finally {
+                synchronized (this) {
+                    compacting = false;
+                }
+            }
+        }, "ScoreLog-Compact").start();
+    }
+    
+    /**
+     * Copy the whole records after the last tombstone into a temp file and swap it in
+     */
+    private void compact() {
+        if (file.length() < HEADER_SIZE) {
+            file.delete();
+            tornTail = false;
+            return;
+        }
+        File tmp = new File(file.getPath() + ".tmp");
+        long live = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+             FileOutputStream out = new FileOutputStream(tmp)) {
+            long records = Math.max(0, file.length() - HEADER_SIZE) / RECORD_SIZE;
+            
+            // First pass: find the last tombstone
+            long start = 0;
+            in.skipBytes(HEADER_SIZE);
+            for (long i = 0; i < records; i++) {
+                if (in.readInt() == TOMBSTONE) start = i + 1;
+                skipFully(in, RECORD_SIZE - 4);
+            }
+            in.close();
+            
+            // Second pass: copy the records after it
+            try (InputStream copy = new BufferedInputStream(new FileInputStream(file))) {
+                skipFully(copy, HEADER_SIZE + start * RECORD_SIZE);
+                byte[] buffer = new byte[RECORD_SIZE * 256];
+                out.write(header());
+                long remaining = (records - start) * RECORD_SIZE;
+                while (remaining > 0) {
+                    int n = copy.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                    if (n < 0) break;
+                    out.write(buffer, 0, n);
+                    remaining -= n;
+                }
+                live = records - start;
+            }
+            out.getFD().sync();
+        } catch (IOException e) {
+            Log.e(TAG, "Compaction failed", e);
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            Log.e(TAG, "Could not replace score log");
+            tmp.delete();
+            return;
+        }
+        Log.d(TAG, "Compacted: " + live + " live records, dropped " + garbageRecords
+            + (tornTail ? " and a torn tail" : ""));
+        liveRecords = live;
+        garbageRecords = 0;
+        tornTail = false;
+    }
+    
+    private static void skipFully(InputStream in, long bytes) throws IOException {
+        while (bytes > 0) {
+            long skipped = in.skip(bytes);
+            if (skipped <= 0) throw new EOFException();
+            bytes -= skipped;
+        }
+    }
+}
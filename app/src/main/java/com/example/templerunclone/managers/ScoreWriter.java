@@ -0,0 +1,178 @@
+package com.example.templerunclone.managers;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistence worker for finished runs.
+ * Submissions are queued from any thread (typically the game thread at game over)
+ * and written by a background thread. Everything that arrives within a short
+ * window goes out as one durable append; identical submissions in that window
+ * (the same run reported twice) are merged into one record.
+ * Each submitter is told on the writer thread whether its run made the top list.
+ * The append and the ranking happen under the owner's lock, so a clear cannot land
+ * between them and let a run from before the clear back into the list.
+ */
+public class ScoreWriter {
+    private static final String TAG = "ScoreWriter";
+    private static final long COALESCE_MS = 250;
+    private static final long SHUTDOWN_WAIT_MS = 1000;
+    
+    public interface Listener {
+        void onScoreSaved(int score, int level, boolean isHighScore);
+    }
+    
+    /**
+     * Ranks a saved run against the in-memory top list; true if it made it
+     */
+    interface Ranker {
+        boolean offer(int score, int level, long timestamp);
+    }
+    
+    private static final class Submission {
+        final int score, level;
+        final long timestamp;
+        final Listener listener;
+        int slot;   // index of the record this submission was merged into
+        
+        Submission(int score, int level, long timestamp, Listener listener) {
+            this.score = score;
+            this.level = level;
+            this.timestamp = timestamp;
+            this.listener = listener;
+        }
+    }
+    
+    private static final Submission STOP = new Submission(0, 0, 0, null);
+    
+    private final ScoreLog scoreLog;
+    private final Object lock;
+    private final Ranker ranker;
+    private final LinkedBlockingQueue<Submission> queue = new LinkedBlockingQueue<>();
+    private Thread thread;
+    private int written, merged;
+    
+    /**
+     * lock is the one the owner holds while clearing the log and its in-memory list
+     */
+    ScoreWriter(ScoreLog scoreLog, Object lock, Ranker ranker) {
+        this.scoreLog = scoreLog;
+        this.lock = lock;
+        this.ranker = ranker;
+    }
+    
+    /**
+     * Queue a run for saving; never blocks on I/O
+     */
+    public void submit(int score, int level, Listener listener) {
+        queue.add(new Submission(score, level, System.currentTimeMillis(), listener));
+        ensureStarted();
+    }
+    
+    private synchronized void ensureStarted() {
+        if (thread == null) {
+            thread = new Thread(this::run, "ScoreWriter");
+            thread.start();
+        }
+    }
+    
+    /**
+     * Write everything still queued and stop the thread; a later submit() restarts it
+     */
+    public void shutdown() {
+        Thread worker;
+        synchronized (this) {
+            worker = thread;
+            thread = null;
+        }
+        if (worker == null) return;
+        queue.add(STOP);
+        try {
+            worker.join(SHUTDOWN_WAIT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Log.d(TAG, "Stopped: written=" + written + " merged=" + merged);
+    }
+    
+    private void run() {
+        List<Submission> batch = new ArrayList<>();
+        boolean stop = false;
+        try {
+            while (!stop) {
+                Submission first = queue.take();
+                if (first == STOP) break;
+                batch.add(first);
+                
+                // Coalesce whatever else arrives within the window into the same write
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(COALESCE_MS);
+                long wait;
+                while ((wait = deadline - System.nanoTime()) > 0) {
+                    Submission next = queue.poll(wait, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    if (next == STOP) {
+                        stop = true;
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            flush(batch);
+        }
+    }
+    
+    private void flush(List<Submission> batch) {
+        int size = batch.size();
+        if (size == 0) return;
+        
+        // Merge duplicates of the same run into one record
+        int[] scores = new int[size];
+        int[] levels = new int[size];
+        long[] timestamps = new long[size];
+        int count = 0;
+        for (Submission submission : batch) {
+            submission.slot = -1;
+            for (int i = 0; i < count; i++) {
+                if (scores[i] == submission.score && levels[i] == submission.level) {
+                    submission.slot = i;
+                    merged++;
+                    break;
+                }
+            }
+            if (submission.slot < 0) {
+                submission.slot = count;
+                scores[count] = submission.score;
+                levels[count] = submission.level;
+                timestamps[count] = submission.timestamp;
+                count++;
+            }
+        }
+        
+        boolean[] isHighScore = new boolean[count];
+        synchronized (lock) {
+            try {
+                scoreLog.appendAll(count, scores, levels, timestamps);
+                written += count;
+            } catch (IOException e) {
+                // The run still counts for this session's list even if the disk write failed
+                Log.e(TAG, "Error saving scores", e);
+            }
+            for (int i = 0; i < count; i++) {
+                isHighScore[i] = ranker.offer(scores[i], levels[i], timestamps[i]);
+            }
+        }
+        for (Submission submission : batch) {
+            if (submission.listener != null) {
+                submission.listener.onScoreSaved(submission.score, submission.level, isHighScore[submission.slot]);
+            }
+        }
+    }
+}
@@ -1,18 +1,20 @@
 package com.example.templerunclone.managers;
 
 import android.content.Context;
-import android.media.MediaPlayer;
 import android.media.SoundPool;
 import android.util.Log;
 
-import com.example.templerunclone.R;
+import com.example.templerunclone.levels.LevelConfig;
 
 /**
  * Manages all sound effects and background music
  */
 public class SoundManager {
+    private static final int LEVEL_CROSSFADE_MS = 2000;   // matches the level transition
+    
     private SoundPool soundPool;
-    private MediaPlayer bgMusic;
+    private AudioDispatcher audioDispatcher;
+    private MusicEngine music;
     
     private int soundShoot = 0;
     private int soundEnemyExplode = 0;
@@ -26,34 +28,39 @@ public class SoundManager {
     
     public void initialize(Context context) {
         try {
-            // Initialize SoundPool for sound effects
-            soundPool = new SoundPool.Builder()
-                .setMaxStreams(10)
-                .build();
-                
-            // Load sound effects from raw resources
-            soundShoot = soundPool.load(context, R.raw.shoot, 1);
-            soundEnemyExplode = soundPool.load(context, R.raw.enemy_explode, 1);
-            soundPlayerHit = soundPool.load(context, R.raw.player_explode, 1);
-            soundBorderHit = soundPool.load(context, R.raw.border, 1);
-            soundPowerUp = soundPool.load(context, R.raw.warning, 1); // Using warning sound for power-up
+            // Samples and music are shared with the menu's preload; this only loads
+            // them if the game was started without going through the menu
+            AudioBank bank = AudioBank.getInstance();
+            bank.load(context, null);
+            soundPool = bank.getSoundPool();
             
-            // Try to load congratulations sound
-            try {
-                soundCongratulations = soundPool.load(context, R.raw.congratulation, 1);
-            } catch (Exception e) {
+            soundShoot = bank.getSoundId(AudioBank.SAMPLE_SHOOT);
+            soundEnemyExplode = bank.getSoundId(AudioBank.SAMPLE_ENEMY_EXPLODE);
+            soundPlayerHit = bank.getSoundId(AudioBank.SAMPLE_PLAYER_EXPLODE);
+            soundBorderHit = bank.getSoundId(AudioBank.SAMPLE_BORDER);
+            soundPowerUp = bank.getSoundId(AudioBank.SAMPLE_WARNING); // Using warning sound for power-up
+            soundCongratulations = bank.getSoundId(AudioBank.SAMPLE_CONGRATULATION);
+            if (soundCongratulations == 0) {
                 Log.w("SoundManager", "Congratulations sound not found, will use default sound");
                 soundCongratulations = soundPowerUp; // Fallback to power-up sound
             }
             
-            // Initialize background music
-            bgMusic = MediaPlayer.create(context, R.raw.bg_music);
-            if (bgMusic != null) {
-                bgMusic.setLooping(true);
-                bgMusic.setVolume(0.5f, 0.5f); // Set volume to 50%
+            // Effects are played from the dispatcher's audio thread
+            audioDispatcher = new AudioDispatcher(soundPool);
+            audioDispatcher.setSound(AudioDispatcher.CUE_SHOOT, soundShoot);
+            audioDispatcher.setSound(AudioDispatcher.CUE_ENEMY_EXPLODE, soundEnemyExplode);
+            audioDispatcher.setSound(AudioDispatcher.CUE_PLAYER_HIT, soundPlayerHit);
+            audioDispatcher.setSound(AudioDispatcher.CUE_BORDER_HIT, soundBorderHit);
+            audioDispatcher.setSound(AudioDispatcher.CUE_POWER_UP, soundPowerUp);
+            audioDispatcher.setSound(AudioDispatcher.CUE_CONGRATULATIONS, soundCongratulations);
+            audioDispatcher.start();
+            
+            music = bank.getMusic();
+            if (music != null) {
+                music.setVolume(0.5f); // Set volume to 50%
             }
             
-            Log.d("SoundManager", "All sounds loaded successfully");
+            Log.d("SoundManager", "Audio bank attached");
             
         } catch (Exception e) {
             Log.e("SoundManager", "Error loading sounds", e);
@@ -61,75 +68,83 @@ public class SoundManager {
     }
     
     public void playShoot() {
-        if (soundEffectsEnabled && soundShoot != 0) {
-            soundPool.play(soundShoot, 1f, 1f, 1, 0, 1f);
+        if (soundEffectsEnabled && audioDispatcher != null) {
+            audioDispatcher.post(AudioDispatcher.CUE_SHOOT);
         }
     }
     
     public void playEnemyExplode() {
-        if (soundEffectsEnabled && soundEnemyExplode != 0) {
-            soundPool.play(soundEnemyExplode, 1f, 1f, 1, 0, 1f);
+        if (soundEffectsEnabled && audioDispatcher != null) {
+            audioDispatcher.post(AudioDispatcher.CUE_ENEMY_EXPLODE);
         }
     }
     
     public void playPlayerHit() {
-        if (soundEffectsEnabled && soundPlayerHit != 0) {
-            soundPool.play(soundPlayerHit, 1f, 1f, 1, 0, 1f);
+        if (soundEffectsEnabled && audioDispatcher != null) {
+            audioDispatcher.post(AudioDispatcher.CUE_PLAYER_HIT);
         }
     }
     
     public void playBorderHit() {
-        if (soundEffectsEnabled && soundBorderHit != 0) {
-            soundPool.play(soundBorderHit, 1f, 1f, 1, 0, 1f);
+        if (soundEffectsEnabled && audioDispatcher != null) {
+            audioDispatcher.post(AudioDispatcher.CUE_BORDER_HIT);
         }
     }
     
     public void playPowerUp() {
-        if (soundEffectsEnabled && soundPowerUp != 0) {
-            soundPool.play(soundPowerUp, 1f, 1f, 1, 0, 1f);
+        if (soundEffectsEnabled && audioDispatcher != null) {
+            audioDispatcher.post(AudioDispatcher.CUE_POWER_UP);
         }
     }
     
     public void playCongratulations() {
-        if (soundEffectsEnabled && soundCongratulations != 0) {
-            soundPool.play(soundCongratulations, 1f, 1f, 1, 0, 1f);
+        if (soundEffectsEnabled && audioDispatcher != null) {
+            audioDispatcher.post(AudioDispatcher.CUE_CONGRATULATIONS);
         }
     }
     
     public void startMusic() {
-        if (musicEnabled && bgMusic != null && !bgMusic.isPlaying()) {
-            bgMusic.start();
+        if (musicEnabled && music != null) {
+            music.resume();
+        }
+    }
+    
+    /**
+     * Crossfade to a level's track; it is prepared in the background, so this never blocks
+     */
+    public void playLevelMusic(LevelConfig config) {
+        if (music != null && config != null) {
+            music.play(config.getMusicPath(), LEVEL_CROSSFADE_MS);
         }
     }
     
     public void pauseMusic() {
-        if (bgMusic != null && bgMusic.isPlaying()) {
-            bgMusic.pause();
+        if (music != null) {
+            music.pause();
         }
     }
     
     public void resumeMusic() {
-        if (musicEnabled && bgMusic != null) {
-            bgMusic.start();
+        if (musicEnabled && music != null) {
+            music.resume();
         }
     }
     
     public void stopMusic() {
-        if (bgMusic != null) {
-            bgMusic.stop();
+        if (music != null) {
+            music.stop();
         }
     }
     
     public void cleanup() {
-        if (soundPool != null) {
-            soundPool.release();
-            soundPool = null;
-        }
-        
-        if (bgMusic != null) {
-            bgMusic.release();
-            bgMusic = null;
+        if (audioDispatcher != null) {
+            audioDispatcher.shutdown();
+            audioDispatcher = null;
         }
+        // The pool and music engine belong to the shared AudioBank and outlive this game
+        pauseMusic();
+        soundPool = null;
+        music = null;
     }
     
     // Getters and setters
@@ -0,0 +1,151 @@
+package com.example.templerunclone.managers;
+
+import com.example.templerunclone.entities.GameObject;
+
+import java.util.List;
+
+/**
+ * Uniform grid broadphase over the screen area.
+ * Rebuilt once per tick; each object is linked into every cell its bounds touch.
+ * Objects are inserted with their swept bounds for the tick (previous to current position).
+ * Objects outside the screen are clamped into the border cells so queries stay correct.
+ */
+public class SpatialGrid<T extends GameObject> {
+    private static final int INITIAL_ENTRIES = 256;
+    
+    private final float cellSize;
+    private final int cols, rows;
+    
+    // Per-cell head of a singly linked list of entries (-1 = empty)
+    private final int[] cellHeads;
+    
+    // Entry storage: which item and the next entry in the same cell
+    private int[] entryItem;
+    private int[] entryNext;
+    private int entryCount = 0;
+    
+    // Items indexed by insertion order
+    private Object[] items;
+    private int itemCount = 0;
+    
+    // Query de-duplication: an item is reported once per query stamp
+    private int[] itemStamp;
+    private int queryStamp = 0;
+    
+    public SpatialGrid(int worldWidth, int worldHeight, float cellSize) {
+        this.cellSize = cellSize;
+        this.cols = Math.max(1, (int) Math.ceil(Math.max(1, worldWidth) / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(Math.max(1, worldHeight) / cellSize));
+        this.cellHeads = new int[cols * rows];
+        this.entryItem = new int[INITIAL_ENTRIES];
+        this.entryNext = new int[INITIAL_ENTRIES];
+        this.items = new Object[INITIAL_ENTRIES];
+        this.itemStamp = new int[INITIAL_ENTRIES];
+        clear();
+    }
+    
+    public void clear() {
+        java.util.Arrays.fill(cellHeads, -1);
+        java.util.Arrays.fill(items, 0, itemCount, null);
+        entryCount = 0;
+        itemCount = 0;
+    }
+    
+    /**
+     * Rebuild the grid from the active objects in the list
+     */
+    public void rebuild(List<? extends T> objects) {
+        clear();
+        for (int i = 0, n = objects.size(); i < n; i++) {
+            T object = objects.get(i);
+            if (object.isActive()) {
+                insert(object);
+            }
+        }
+    }
+    
+    public void insert(T object) {
+        if (itemCount == items.length) {
+            items = java.util.Arrays.copyOf(items, itemCount * 2);
+            itemStamp = java.util.Arrays.copyOf(itemStamp, itemCount * 2);
+        }
+        int itemIndex = itemCount++;
+        items[itemIndex] = object;
+        itemStamp[itemIndex] = queryStamp;
+        
+        // Cover the whole motion of the tick so swept queries find the object too
+        float left = Math.min(object.getX(), object.getPrevX());
+        float top = Math.min(object.getY(), object.getPrevY());
+        int minCol = toCol(left);
+        int maxCol = toCol(Math.max(object.getX(), object.getPrevX()) + object.getWidth());
+        int minRow = toRow(top);
+        int maxRow = toRow(Math.max(object.getY(), object.getPrevY()) + object.getHeight());
+        
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                addEntry(row * cols + col, itemIndex);
+            }
+        }
+    }
+    
+    /**
+     * Collect every object whose cells overlap the query box. This is a broadphase:
+     * callers still run the exact overlap test on the results.
+     */
+    @SuppressWarnings("unchecked")
+    public void query(float left, float top, float right, float bottom, List<T> out) {
+        int stamp = nextStamp();
+        int minCol = toCol(left);
+        int maxCol = toCol(right);
+        int minRow = toRow(top);
+        int maxRow = toRow(bottom);
+        
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                for (int e = cellHeads[row * cols + col]; e != -1; e = entryNext[e]) {
+                    int itemIndex = entryItem[e];
+                    if (itemStamp[itemIndex] != stamp) {
+                        itemStamp[itemIndex] = stamp;
+                        out.add((T) items[itemIndex]);
+                    }
+                }
+            }
+        }
+    }
+    
+    private void addEntry(int cell, int itemIndex) {
+        if (entryCount == entryItem.length) {
+            entryItem = java.util.Arrays.copyOf(entryItem, entryCount * 2);
+            entryNext = java.util.Arrays.copyOf(entryNext, entryCount * 2);
+        }
+        entryItem[entryCount] = itemIndex;
+        entryNext[entryCount] = cellHeads[cell];
+        cellHeads[cell] = entryCount;
+        entryCount++;
+    }
+    
+    private int nextStamp() {
+        queryStamp++;
+        if (queryStamp == Integer.MAX_VALUE) {
+            // Wrap around safely
+            java.util.Arrays.fill(itemStamp, 0);
+            queryStamp = 1;
+        }
+        return queryStamp;
+    }
+    
+    int toCol(float x) {
+        int col = (int) (x / cellSize);
+        return col < 0 ? 0 : (col >= cols ? cols - 1 : col);
+    }
+    
+    int toRow(float y) {
+        int row = (int) (y / cellSize);
+        return row < 0 ? 0 : (row >= rows ? rows - 1 : row);
+    }
+    
+    public int getItemCount() { return itemCount; }
+    public float getCellSize() { return cellSize; }
+    public int getCols() { return cols; }
+    public int getRows() { return rows; }
+}
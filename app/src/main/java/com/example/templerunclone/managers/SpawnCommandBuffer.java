@@ -0,0 +1,61 @@
+package com.example.templerunclone.managers;
+
+import com.example.templerunclone.entities.Enemy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-tick buffer of enemy spawn and despawn requests.
+ * Any system can record commands while the enemy list is being iterated;
+ * EnemyManager applies them in one batch at a fixed point of the tick.
+ */
+public class SpawnCommandBuffer {
+    // Spawn kinds
+    public static final int KIND_BASIC = 0;
+    public static final int KIND_ZIGZAG = 1;
+    public static final int KIND_MINION = 2;
+    
+    private static final int INITIAL_CAPACITY = 32;
+    
+    // Spawn commands as parallel arrays (no object per command)
+    private int[] spawnKinds = new int[INITIAL_CAPACITY];
+    private float[] spawnX = new float[INITIAL_CAPACITY];
+    private float[] spawnY = new float[INITIAL_CAPACITY];
+    private int spawnCount = 0;
+    
+    private final List<Enemy> despawns = new ArrayList<>();
+    
+    public void spawnEnemy(int kind, float x, float y) {
+        if (spawnCount == spawnKinds.length) {
+            int capacity = spawnCount * 2;
+            spawnKinds = java.util.Arrays.copyOf(spawnKinds, capacity);
+            spawnX = java.util.Arrays.copyOf(spawnX, capacity);
+            spawnY = java.util.Arrays.copyOf(spawnY, capacity);
+        }
+        spawnKinds[spawnCount] = kind;
+        spawnX[spawnCount] = x;
+        spawnY[spawnCount] = y;
+        spawnCount++;
+    }
+    
+    public void despawn(Enemy enemy) {
+        despawns.add(enemy);
+    }
+    
+    public void clear() {
+        spawnCount = 0;
+        despawns.clear();
+    }
+    
+    public boolean isEmpty() {
+        return spawnCount == 0 && despawns.isEmpty();
+    }
+    
+    // Read access for EnemyManager.applyCommands()
+    int getSpawnCount() { return spawnCount; }
+    int getSpawnKind(int index) { return spawnKinds[index]; }
+    float getSpawnX(int index) { return spawnX[index]; }
+    float getSpawnY(int index) { return spawnY[index]; }
+    List<Enemy> getDespawns() { return despawns; }
+}
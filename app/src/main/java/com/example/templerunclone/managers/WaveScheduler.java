@@ -0,0 +1,191 @@
+package com.example.templerunclone.managers;
+
+import com.example.templerunclone.entities.Formation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Timeline of a level's spawn events, ordered by game time in a priority queue.
+ * The whole level is scheduled up front from its definition (regular stream, boss,
+ * bursts, formations); each tick only pops the events that are due, so a choreographed
+ * wave costs nothing until its moment comes. Time only advances with the game's
+ * delta time, so pauses do not cause a rush of spawns.
+ */
+public class WaveScheduler {
+    // Event types
+    public static final byte EVENT_REGULAR = 0;    // repeating single spawn from the level mix
+    public static final byte EVENT_MINION = 1;     // repeating boss-level minion spawn
+    public static final byte EVENT_BOSS = 2;       // boss phase: a boss unless one is alive
+    public static final byte EVENT_FORMATION = 3;  // count enemies flying as one formation
+    public static final byte EVENT_SINGLE = 4;     // one enemy (a step of a burst)
+    
+    // Seconds between the enemies of a burst
+    private static final float BURST_SPACING = 0.25f;
+    // Shortest period of a repeating event
+    private static final float MIN_PERIOD = 0.05f;
+    
+    /**
+     * One scheduled spawn; repeating events are put back in the queue rather than reallocated
+     */
+    public static final class Event {
+        float time;
+        byte type;
+        int count;
+        byte shape; // Formation.Shape ordinal (formation events)
+        int order; // ties at the same time fire in schedule order
+        
+        public byte getType() { return type; }
+        public int getCount() { return count; }
+        public Formation.Shape getShape() { return Formation.Shape.values()[shape]; }
+    }
+    
+    private final PriorityQueue<Event> queue = new PriorityQueue<>(16, (a, b) ->
+        a.time != b.time ? Float.compare(a.time, b.time) : Integer.compare(a.order, b.order));
+    private float clock = 0f;
+    private int nextOrder = 0;
+    
+    // Level timeline, kept so the level can be replayed from the start
+    private boolean boss = false;
+    private float streamDelay = 0f;
+    private float[] waveTimes = new float[0];
+    private String[] waveKinds = new String[0];
+    private int[] waveCounts = new int[0];
+    
+    /**
+     * Set the level's timeline: a regular stream (or a boss plus a minion stream when
+     * the level has a boss) starting after streamDelay seconds, and the level's timed
+     * waves (burst, line, v, circle, snake or boss)
+     */
+    public void configure(boolean boss, float streamDelay, float[] waveTimes, String[] waveKinds, int[] waveCounts) {
+        this.boss = boss;
+        this.streamDelay = streamDelay;
+        this.waveTimes = waveTimes.clone();
+        this.waveKinds = waveKinds.clone();
+        this.waveCounts = waveCounts.clone();
+        restart();
+    }
+    
+    /**
+     * Rewind to the start of the level and schedule every event again
+     */
+    public void restart() {
+        queue.clear();
+        clock = 0f;
+        nextOrder = 0;
+        
+        if (boss) {
+            schedule(EVENT_BOSS, 0f, 1);
+            schedule(EVENT_MINION, streamDelay, 1);
+        } else {
+            schedule(EVENT_REGULAR, streamDelay, 1);
+        }
+        
+        for (int i = 0; i < waveTimes.length; i++) {
+            switch (waveKinds[i]) {
+                case "burst":
+                    // Precompute each step so the burst needs no state of its own
+                    for (int j = 0; j < waveCounts[i]; j++) {
+                        schedule(EVENT_SINGLE, waveTimes[i] + j * BURST_SPACING, 1);
+                    }
+                    break;
+                case "line":
+                case "v":
+                case "circle":
+                case "snake":
+                    schedule(EVENT_FORMATION, waveTimes[i], waveCounts[i]).shape =
+                        (byte) Formation.Shape.valueOf(waveKinds[i].toUpperCase(java.util.Locale.ROOT)).ordinal();
+                    break;
+                case "boss":
+                    schedule(EVENT_BOSS, waveTimes[i], 1);
+                    break;
+                default:
+                    android.util.Log.w("WaveScheduler", "Unknown wave kind: " + waveKinds[i]);
+                    break;
+            }
+        }
+    }
+    
+    private Event schedule(byte type, float time, int count) {
+        Event event = new Event();
+        event.time = time;
+        event.type = type;
+        event.count = count;
+        event.order = nextOrder++;
+        queue.add(event);
+        return event;
+    }
+    
+    public void advance(float deltaTime) {
+        clock += deltaTime;
+    }
+    
+    /**
+     * Next event that is due by now, removed from the queue; null when none is due
+     */
+    public Event pollDue() {
+        Event next = queue.peek();
+        if (next == null || next.time > clock) return null;
+        return queue.poll();
+    }
+    
+    /**
+     * Put a polled repeating event back, to fire again after delay seconds from now
+     */
+    public void repeat(Event event, float delay) {
+        event.time = clock + Math.max(MIN_PERIOD, delay);
+        event.order = nextOrder++;
+        queue.add(event);
+    }
+    
+    public int getPendingCount() {
+        return queue.size();
+    }
+    
+    /**
+     * Write the clock and the pending events to a game snapshot
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeFloat(clock);
+        List<Event> pending = new ArrayList<>(queue);
+        out.writeInt(pending.size());
+        for (int i = 0, n = pending.size(); i < n; i++) {
+            Event event = pending.get(i);
+            out.writeFloat(event.time);
+            out.writeByte(event.type);
+            out.writeInt(event.count);
+            out.writeByte(event.shape);
+            out.writeInt(event.order);
+        }
+    }
+    
+    /**
+     * Replace the timeline with the one in a game snapshot
+     */
+    public void readState(DataInput in) throws IOException {
+        queue.clear();
+        clock = in.readFloat();
+        int count = in.readInt();
+        nextOrder = 0;
+        for (int i = 0; i < count; i++) {
+            Event event = new Event();
+            event.time = in.readFloat();
+            event.type = in.readByte();
+            event.count = in.readInt();
+            event.shape = in.readByte();
+            event.order = in.readInt();
+            if (event.type < EVENT_REGULAR || event.type > EVENT_SINGLE) {
+                throw new IOException("Unknown spawn event " + event.type);
+            }
+            if (event.shape < 0 || event.shape >= Formation.Shape.values().length) {
+                throw new IOException("Unknown formation shape " + event.shape);
+            }
+            nextOrder = Math.max(nextOrder, event.order + 1);
+            queue.add(event);
+        }
+    }
+}
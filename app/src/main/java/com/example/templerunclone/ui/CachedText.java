@@ -0,0 +1,170 @@
+package com.example.templerunclone.ui;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+import com.example.templerunclone.engine.Renderer;
+
+/**
+ * A HUD text element ("Score: 120", "Time: 01:05", ...) rendered into its own small
+ * bitmap only when the value changes. Steady-state drawing is a single drawBitmap:
+ * no String building, no formatting and no text layout.
+ */
+public class CachedText {
+    
+    public enum Format {
+        STATIC,  // prefix only
+        INT,     // prefix + a
+        CLOCK,   // prefix + mm:ss from a seconds
+        TENTHS,  // prefix + a/10 with one decimal
+        RATIO    // prefix + a/b
+    }
+    
+    private final Format format;
+    private final String suffix;
+    private final Paint paint;
+    
+    // Text is composed here without allocating
+    private final char[] chars = new char[48];
+    private final int prefixLength;
+    private int length;
+    
+    private int valueA = 0, valueB = 0;
+    private boolean dirty = true;
+    
+    private Bitmap bitmap;
+    private int bitmapWidth, bitmapHeight;
+    private Canvas bitmapCanvas;
+    private float baselineOffset; // distance from the bitmap top to the text baseline
+    
+    public CachedText(String prefix, String suffix, Format format, int color, float textSize) {
+        this.format = format;
+        this.suffix = suffix != null ? suffix : "";
+        prefix.getChars(0, prefix.length(), chars, 0);
+        this.prefixLength = prefix.length();
+        this.length = prefixLength;
+        
+        paint = new Paint();
+        paint.setAntiAlias(true);
+        paint.setColor(color);
+        paint.setTextSize(textSize);
+    }
+    
+    public CachedText(String text, int color, float textSize) {
+        this(text, null, Format.STATIC, color, textSize);
+    }
+    
+    public void set(int a) {
+        set(a, 0);
+    }
+    
+    /**
+     * Update the value; the bitmap is re-rendered on the next draw only if it changed
+     */
+    public void set(int a, int b) {
+        if (a == valueA && b == valueB) return;
+        valueA = a;
+        valueB = b;
+        dirty = true;
+    }
+    
+    /**
+     * Draw with the text baseline at (x, y), like Canvas.drawText
+     */
+    public void draw(Renderer renderer, float x, float y) {
+        if (dirty) {
+            render();
+            dirty = false;
+        }
+        if (bitmap != null) {
+            renderer.drawSprite(bitmap, x, y - baselineOffset, bitmapWidth, bitmapHeight, null);
+        }
+    }
+    
+    private void render() {
+        compose();
+        
+        float ascent = paint.ascent();
+        int width = (int) Math.ceil(paint.measureText(chars, 0, length)) + 2;
+        int height = (int) Math.ceil(paint.descent() - ascent) + 2;
+        
+        // Reallocate only when the text outgrows the bitmap (leave room to grow)
+        if (bitmap == null || bitmap.getWidth() < width || bitmap.getHeight() < height) {
+            if (bitmap != null) {
+                bitmap.recycle();
+            }
+            bitmapWidth = width + width / 2;
+            bitmapHeight = height;
+            bitmap = Bitmap.createBitmap(bitmapWidth, bitmapHeight, Bitmap.Config.ARGB_8888);
+            bitmapCanvas = new Canvas(bitmap);
+        }
+        bitmap.eraseColor(0);
+        baselineOffset = -ascent + 1;
+        bitmapCanvas.drawText(chars, 0, length, 1, baselineOffset, paint);
+    }
+    
+    private void compose() {
+        length = prefixLength;
+        switch (format) {
+            case INT:
+                appendInt(valueA);
+                break;
+            case CLOCK:
+                appendTwoDigits(valueA / 60);
+                chars[length++] = ':';
+                appendTwoDigits(valueA % 60);
+                break;
+            case TENTHS:
+                appendInt(valueA / 10);
+                chars[length++] = '.';
+                chars[length++] = (char) ('0' + Math.abs(valueA % 10));
+                break;
+            case RATIO:
+                appendInt(valueA);
+                chars[length++] = '/';
+                appendInt(valueB);
+                break;
+            case STATIC:
+            default:
+                break;
+        }
+        for (int i = 0; i < suffix.length() && length < chars.length; i++) {
+            chars[length++] = suffix.charAt(i);
+        }
+    }
+    
+    private void appendTwoDigits(int value) {
+        if (value < 10) {
+            chars[length++] = '0';
+        }
+        appendInt(value);
+    }
+    
+    private void appendInt(int value) {
+        if (value < 0) {
+            chars[length++] = '-';
+            value = -value;
+        }
+        int start = length;
+        do {
+            chars[length++] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        // Digits were written least significant first
+        for (int i = start, j = length - 1; i < j; i++, j--) {
+            char t = chars[i];
+            chars[i] = chars[j];
+            chars[j] = t;
+        }
+    }
+    
+    public void release() {
+        if (bitmap != null) {
+            bitmap.recycle();
+            bitmap = null;
+            bitmapCanvas = null;
+        }
+        dirty = true;
+    }
+}
@@ -6,14 +6,19 @@ import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Rect;
 
+import com.example.templerunclone.engine.Renderer;
+
 /**
  * Game Over Manager để xử lý UI khi game kết thúc
  */
 public class GameOverManager {
+    private static final String HIGH_SCORE_TEXT = "NEW HIGH SCORE!";
+    
     private Paint textPaint;
     private Paint buttonPaint;
     private Paint buttonTextPaint;
     private Paint backgroundPaint;
+    private Paint borderPaint;
     
     private Bitmap gameOverBitmap;
     private Bitmap youLoseBitmap;
@@ -31,6 +36,15 @@ public class GameOverManager {
     private int screenWidth, screenHeight;
     private boolean useGameOverImage = true; // Toggle between "Game Over" and "YOU LOSE"
     
+    // Title, stats and buttons composed once into an offscreen layer
+    private final OverlayLayer contentLayer = new OverlayLayer();
+    private Rect titleRect;
+    private int layerTop;
+    private int cachedScore, cachedLevel;
+    private long cachedPlayTime;
+    private boolean newHighScore = false;
+    private final Rect bannerBounds = new Rect();
+    
     public GameOverManager(int screenWidth, int screenHeight) {
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
@@ -62,6 +76,12 @@ public class GameOverManager {
         buttonTextPaint.setTextSize(50);
         buttonTextPaint.setAntiAlias(true);
         buttonTextPaint.setTextAlign(Paint.Align.CENTER);
+        
+        // Button border paint
+        borderPaint = new Paint();
+        borderPaint.setStyle(Paint.Style.STROKE);
+        borderPaint.setStrokeWidth(3);
+        borderPaint.setAntiAlias(true);
     }
     
     private void setupButtons() {
@@ -71,6 +91,10 @@ public class GameOverManager {
         int centerX = screenWidth / 2;
         int startY = screenHeight / 2 + 100;
         
+        // Title image area
+        int titleY = screenHeight / 3;
+        titleRect = new Rect(centerX - 200, titleY - 75, centerX + 200, titleY + 75);
+        
         // Replay Button
         replayButton = new Rect(
             centerX - buttonWidth / 2,
@@ -100,20 +124,47 @@ public class GameOverManager {
         this.replayButtonBitmap = replayBitmap;
         this.menuButtonBitmap = menuBitmap;
         this.settingButtonBitmap = settingBitmap;
+        contentLayer.invalidate();
     }
     
-    public void draw(Canvas canvas, int finalScore, int level, long playTime) {
+    public void draw(Renderer renderer, int finalScore, int level, long playTime) {
         // Draw semi-transparent background
-        canvas.drawRect(0, 0, screenWidth, screenHeight, backgroundPaint);
+        renderer.drawRect(0, 0, screenWidth, screenHeight, backgroundPaint);
         
-        // Draw Game Over image or text
-        drawGameOverTitle(canvas);
+        // Re-compose only when entering the end state or when the stats change
+        if (!contentLayer.isValid() || finalScore != cachedScore || level != cachedLevel
+                || playTime != cachedPlayTime) {
+            composeLayer(finalScore, level, playTime);
+        }
+        contentLayer.draw(renderer, 0, layerTop);
+    }
+    
+    private void composeLayer(int finalScore, int level, long playTime) {
+        // Layer spans from above the title (and its high score banner) to below the last button
+        layerTop = Math.max(0, titleRect.top - 80);
+        int layerBottom = Math.min(screenHeight, menuButton.bottom + 10);
+        Canvas layer = contentLayer.begin(screenWidth, layerBottom - layerTop);
         
-        // Draw final stats
-        drawFinalStats(canvas, finalScore, level, playTime);
+        layer.save();
+        layer.translate(0, -layerTop);
+        drawGameOverTitle(layer);
+        if (newHighScore) {
+            drawNewHighScore(layer);
+        }
+        drawFinalStats(layer, finalScore, level, playTime);
+        drawButtons(layer);
+        layer.restore();
         
-        // Draw buttons
-        drawButtons(canvas);
+        cachedScore = finalScore;
+        cachedLevel = level;
+        cachedPlayTime = playTime;
+    }
+    
+    /**
+     * Drop the cached layer (call when leaving the end screen)
+     */
+    public void releaseLayer() {
+        contentLayer.release();
     }
     
     private void drawGameOverTitle(Canvas canvas) {
@@ -122,26 +173,10 @@ public class GameOverManager {
         
         if (gameOverBitmap != null && useGameOverImage) {
             // Draw GameOver.png if available
-            int imageWidth = 400;
-            int imageHeight = 150;
-            Rect destRect = new Rect(
-                centerX - imageWidth / 2,
-                titleY - imageHeight / 2,
-                centerX + imageWidth / 2,
-                titleY + imageHeight / 2
-            );
-            canvas.drawBitmap(gameOverBitmap, null, destRect, null);
+            canvas.drawBitmap(gameOverBitmap, null, titleRect, null);
         } else if (youLoseBitmap != null && !useGameOverImage) {
             // Draw YOU LOSE.png if available
-            int imageWidth = 400;
-            int imageHeight = 150;
-            Rect destRect = new Rect(
-                centerX - imageWidth / 2,
-                titleY - imageHeight / 2,
-                centerX + imageWidth / 2,
-                titleY + imageHeight / 2
-            );
-            canvas.drawBitmap(youLoseBitmap, null, destRect, null);
+            canvas.drawBitmap(youLoseBitmap, null, titleRect, null);
         } else {
             // Fallback to text
             textPaint.setColor(Color.RED);
@@ -150,6 +185,23 @@ public class GameOverManager {
         }
     }
     
+    private void drawNewHighScore(Canvas canvas) {
+        textPaint.setColor(Color.rgb(255, 215, 0));
+        textPaint.setTextSize(45);
+        canvas.drawText(HIGH_SCORE_TEXT, screenWidth / 2, titleRect.top - 20, textPaint);
+    }
+    
+    /**
+     * Screen area of the "new high score" banner, so its appearance redraws only that area
+     */
+    public Rect getHighScoreBannerBounds() {
+        textPaint.setTextSize(45);
+        int halfWidth = (int) Math.ceil(textPaint.measureText(HIGH_SCORE_TEXT) / 2f) + 4;
+        int baseline = titleRect.top - 20;
+        bannerBounds.set(screenWidth / 2 - halfWidth, baseline - 50, screenWidth / 2 + halfWidth, baseline + 15);
+        return bannerBounds;
+    }
+    
     private void drawFinalStats(Canvas canvas, int finalScore, int level, long playTime) {
         int centerX = screenWidth / 2;
         int statsY = screenHeight / 2 - 50;
@@ -199,11 +251,7 @@ public class GameOverManager {
         canvas.drawRoundRect(buttonRect.left, buttonRect.top, buttonRect.right, buttonRect.bottom, 10, 10, buttonPaint);
         
         // Draw button border
-        Paint borderPaint = new Paint();
         borderPaint.setColor(highlightColor);
-        borderPaint.setStyle(Paint.Style.STROKE);
-        borderPaint.setStrokeWidth(3);
-        borderPaint.setAntiAlias(true);
         canvas.drawRoundRect(buttonRect.left, buttonRect.top, buttonRect.right, buttonRect.bottom, 10, 10, borderPaint);
         
         // Draw button text
@@ -228,17 +276,31 @@ public class GameOverManager {
     // Setters for game over images
     public void setGameOverBitmap(Bitmap gameOverBitmap) {
         this.gameOverBitmap = gameOverBitmap;
+        contentLayer.invalidate();
     }
     
     public void setYouLoseBitmap(Bitmap youLoseBitmap) {
         this.youLoseBitmap = youLoseBitmap;
+        contentLayer.invalidate();
+    }
+    
+    /**
+     * Show or hide the "new high score" banner (known once the score has been saved)
+     */
+    public void setNewHighScore(boolean newHighScore) {
+        if (this.newHighScore != newHighScore) {
+            this.newHighScore = newHighScore;
+            contentLayer.invalidate();
+        }
     }
     
     public void setUseGameOverImage(boolean useGameOverImage) {
         this.useGameOverImage = useGameOverImage;
+        contentLayer.invalidate();
     }
     
     public void cleanup() {
+        contentLayer.release();
         // Recycle bitmaps to free memory
         if (gameOverBitmap != null && !gameOverBitmap.isRecycled()) {
             gameOverBitmap.recycle();
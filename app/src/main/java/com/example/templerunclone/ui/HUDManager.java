@@ -1,17 +1,16 @@
 package com.example.templerunclone.ui;
 
-import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Rect;
 import com.example.templerunclone.engine.GameState;
+import com.example.templerunclone.engine.Renderer;
 import com.example.templerunclone.entities.Player;
 
 /**
  * HUD Manager để hiển thị thông tin game trên màn hình
  */
 public class HUDManager {
-    private Paint textPaint;
     private Paint backgroundPaint;
     private Paint healthBarPaint;
     private Paint healthBackgroundPaint;
@@ -21,6 +20,19 @@ public class HUDManager {
     private long gameEndTime = -1; // Thời điểm game over
     private boolean isGameRunning = true;
     
+    // Bottom HUD text is refreshed at most every refreshIntervalMs (quality tier)
+    private long refreshIntervalMs = 0;
+    private long lastRefreshTime = 0;
+    
+    // Cached text elements: each re-renders only when its value changes
+    private CachedText scoreText;
+    private CachedText levelText;
+    private CachedText timeText;
+    private CachedText speedText;
+    private CachedText healthText;
+    private CachedText healthLabel;
+    private CachedText rapidLabel, multiLabel, laserLabel, shieldLabel, energyLabel, forceLabel;
+    
     public HUDManager(int screenWidth, int screenHeight) {
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
@@ -30,12 +42,6 @@ public class HUDManager {
     }
     
     private void initializePaints() {
-        // Text paint
-        textPaint = new Paint();
-        textPaint.setColor(Color.WHITE);
-        textPaint.setTextSize(50);
-        textPaint.setAntiAlias(true);
-        
         // Background paint for HUD elements
         backgroundPaint = new Paint();
         backgroundPaint.setColor(Color.argb(120, 0, 0, 0)); // Semi-transparent black
@@ -47,122 +53,153 @@ public class HUDManager {
         // Health background paint
         healthBackgroundPaint = new Paint();
         healthBackgroundPaint.setColor(Color.RED);
+        
+        // Cached HUD text
+        scoreText = new CachedText("Score: ", null, CachedText.Format.INT, Color.YELLOW, 60);
+        levelText = new CachedText("Level: ", null, CachedText.Format.INT, Color.CYAN, 60);
+        timeText = new CachedText("Time: ", null, CachedText.Format.CLOCK, Color.WHITE, 45);
+        speedText = new CachedText("Speed: ", "x", CachedText.Format.TENTHS, Color.rgb(255, 165, 0), 45);
+        healthText = new CachedText("", null, CachedText.Format.RATIO, Color.WHITE, 35);
+        healthLabel = new CachedText("HP:", Color.WHITE, 30);
+        rapidLabel = new CachedText("⚡ RAPID", Color.YELLOW, 40);
+        multiLabel = new CachedText("🔥 MULTI", Color.CYAN, 40);
+        laserLabel = new CachedText("🔵 LASER", Color.CYAN, 40);
+        shieldLabel = new CachedText("🛡 SHIELD", Color.BLUE, 40);
+        energyLabel = new CachedText("⚡ ENERGY", Color.rgb(255, 215, 0), 40); // Gold
+        forceLabel = new CachedText("🔮 FORCE", Color.rgb(148, 0, 211), 40); // Dark violet
     }
     
-    public void draw(Canvas canvas, GameState gameState, Player player) {
-        drawTopHUD(canvas, gameState, player);
-        drawBottomHUD(canvas, gameState);
-        drawLeftHUD(canvas, gameState); // Chuyển từ right sang left
+    public void draw(Renderer renderer, GameState gameState, Player player) {
+        drawTopHUD(renderer, gameState, player);
+        drawBottomHUD(renderer, gameState);
+        drawLeftHUD(renderer, gameState); // Chuyển từ right sang left
     }
     
-    private void drawTopHUD(Canvas canvas, GameState gameState, Player player) {
+    private void drawTopHUD(Renderer renderer, GameState gameState, Player player) {
         // Background for top HUD
-        canvas.drawRect(0, 0, screenWidth, 120, backgroundPaint);
+        renderer.drawRect(0, 0, screenWidth, 120, backgroundPaint);
         
         // Score
-        textPaint.setTextSize(60);
-        textPaint.setColor(Color.YELLOW);
-        canvas.drawText("Score: " + gameState.getScore(), 30, 50, textPaint);
+        scoreText.set(gameState.getScore());
+        scoreText.draw(renderer, 30, 50);
         
         // Level
-        textPaint.setColor(Color.CYAN);
-        canvas.drawText("Level: " + gameState.getLevel(), 30, 100, textPaint);
+        levelText.set(gameState.getLevel());
+        levelText.draw(renderer, 30, 100);
         
         // Health Bar
-        drawHealthBar(canvas, player, screenWidth - 250, 20);
+        drawHealthBar(renderer, player, screenWidth - 250, 20);
     }
     
-    private void drawBottomHUD(Canvas canvas, GameState gameState) {
+    private void drawBottomHUD(Renderer renderer, GameState gameState) {
         // Background for bottom HUD
         int hudHeight = 100;
-        canvas.drawRect(0, screenHeight - hudHeight, screenWidth, screenHeight, backgroundPaint);
+        renderer.drawRect(0, screenHeight - hudHeight, screenWidth, screenHeight, backgroundPaint);
         
         // Game Time - dừng khi game over
-        long playTime;
-        if (isGameRunning) {
-            playTime = (System.currentTimeMillis() - gameStartTime) / 1000;
-        } else {
-            playTime = (gameEndTime - gameStartTime) / 1000;
+        long now = System.currentTimeMillis();
+        if (now - lastRefreshTime >= refreshIntervalMs) {
+            timeText.set((int) getPlayTime());
+            speedText.set(Math.round(gameState.getSpeedMultiplier() * 10f));
+            lastRefreshTime = now;
         }
-        String timeText = String.format("Time: %02d:%02d", playTime / 60, playTime % 60);
-        textPaint.setTextSize(45);
-        textPaint.setColor(Color.WHITE);
-        canvas.drawText(timeText, 30, screenHeight - 30, textPaint);
+        timeText.draw(renderer, 30, screenHeight - 30);
         
         // Speed Multiplier
-        String speedText = String.format("Speed: %.1fx", gameState.getSpeedMultiplier());
-        textPaint.setColor(Color.rgb(255, 165, 0)); // Orange color
-        canvas.drawText(speedText, screenWidth - 200, screenHeight - 30, textPaint);
+        speedText.draw(renderer, screenWidth - 200, screenHeight - 30);
     }
     
-    private void drawLeftHUD(Canvas canvas, GameState gameState) {
+    private void drawLeftHUD(Renderer renderer, GameState gameState) {
         // Active Power-ups display - hiển thị ở lề trái
         int yOffset = 200;
-        textPaint.setTextSize(40);
         
         if (gameState.isRapidFireActive()) {
-            textPaint.setColor(Color.YELLOW);
-            canvas.drawText("⚡ RAPID", 20, yOffset, textPaint);
+            rapidLabel.draw(renderer, 20, yOffset);
             yOffset += 50;
         }
         
         if (gameState.isMultiShotActive()) {
-            textPaint.setColor(Color.CYAN);
-            canvas.drawText("🔥 MULTI", 20, yOffset, textPaint);
+            multiLabel.draw(renderer, 20, yOffset);
             yOffset += 50;
         }
         
         if (gameState.isLaserBeamActive()) {
-            textPaint.setColor(Color.CYAN);
-            canvas.drawText("🔵 LASER", 20, yOffset, textPaint);
+            laserLabel.draw(renderer, 20, yOffset);
             yOffset += 50;
         }
         
         if (gameState.isShieldActive()) {
-            textPaint.setColor(Color.BLUE);
-            canvas.drawText("🛡 SHIELD", 20, yOffset, textPaint);
+            shieldLabel.draw(renderer, 20, yOffset);
             yOffset += 50;
         }
         
         if (gameState.isEnergyShieldActive()) {
-            textPaint.setColor(Color.rgb(255, 215, 0)); // Gold
-            canvas.drawText("⚡ ENERGY", 20, yOffset, textPaint);
+            energyLabel.draw(renderer, 20, yOffset);
             yOffset += 50;
         }
         
         if (gameState.isForceFieldActive()) {
-            textPaint.setColor(Color.rgb(148, 0, 211)); // Dark violet
-            canvas.drawText("🔮 FORCE", 20, yOffset, textPaint);
+            forceLabel.draw(renderer, 20, yOffset);
             yOffset += 50;
         }
     }
     
-    private void drawHealthBar(Canvas canvas, Player player, float x, float y) {
+    private void drawHealthBar(Renderer renderer, Player player, float x, float y) {
         float barWidth = 200;
         float barHeight = 20;
         
         // Draw health background (red)
-        canvas.drawRect(x, y, x + barWidth, y + barHeight, healthBackgroundPaint);
+        renderer.drawRect(x, y, x + barWidth, y + barHeight, healthBackgroundPaint);
         
         // Draw current health (green)
         float healthPercent = (float) player.getHealth() / player.getMaxHealth();
-        canvas.drawRect(x, y, x + (barWidth * healthPercent), y + barHeight, healthBarPaint);
+        renderer.drawRect(x, y, x + (barWidth * healthPercent), y + barHeight, healthBarPaint);
         
         // Draw health text
-        textPaint.setTextSize(35);
-        textPaint.setColor(Color.WHITE);
-        String healthText = player.getHealth() + "/" + player.getMaxHealth();
-        canvas.drawText(healthText, x + 50, y + 15, textPaint);
+        healthText.set(player.getHealth(), player.getMaxHealth());
+        healthText.draw(renderer, x + 50, y + 15);
         
         // Health label
-        textPaint.setTextSize(30);
-        canvas.drawText("HP:", x - 40, y + 15, textPaint);
+        healthLabel.draw(renderer, x - 40, y + 15);
+    }
+    
+    public void setRefreshInterval(long refreshIntervalMs) {
+        this.refreshIntervalMs = refreshIntervalMs;
     }
     
     public void reset() {
         gameStartTime = System.currentTimeMillis();
         gameEndTime = -1;
         isGameRunning = true;
+        lastRefreshTime = 0;
+    }
+    
+    /**
+     * Continue the clock from a restored run's play time (seconds)
+     */
+    public void setPlayTime(long seconds) {
+        gameStartTime = System.currentTimeMillis() - seconds * 1000;
+        gameEndTime = -1;
+        isGameRunning = true;
+        lastRefreshTime = 0;
+    }
+    
+    /**
+     * Free the cached text bitmaps; they are redrawn if the HUD is drawn again
+     */
+    public void cleanup() {
+        scoreText.release();
+        levelText.release();
+        timeText.release();
+        speedText.release();
+        healthText.release();
+        healthLabel.release();
+        rapidLabel.release();
+        multiLabel.release();
+        laserLabel.release();
+        shieldLabel.release();
+        energyLabel.release();
+        forceLabel.release();
     }
     
     public void stopTimer() {
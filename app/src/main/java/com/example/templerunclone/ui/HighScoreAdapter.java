@@ -0,0 +1,191 @@
+package com.example.templerunclone.ui;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.graphics.Typeface;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import com.example.templerunclone.managers.HighScoreManager;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Recycling adapter for the high-score list.
+ * Rows are fetched a page at a time from a paged query and formatted once when
+ * their page is loaded; only the most recently used pages are kept, so the list
+ * costs the same to open and scroll whether it holds eight runs or thousands.
+ */
+public class HighScoreAdapter extends BaseAdapter {
+    private static final int PAGE_SIZE = 50;
+    private static final int MAX_CACHED_PAGES = 8;
+    private static final int MIN_ROWS = 8;   // empty ranks are shown as "---" up to this
+    private static final int GOLD = Color.rgb(255, 215, 0);
+    
+    /**
+     * Paged view of one leaderboard
+     */
+    public interface Source {
+        int getCount();
+        
+        List<HighScoreManager.HighScore> getPage(int offset, int limit);
+    }
+    
+    /**
+     * A row's text, formatted once per page load
+     */
+    private static final class Row {
+        String rank, score, level, date;
+    }
+    
+    private static final class ViewHolder {
+        TextView rankView, scoreView, levelView, dateView;
+    }
+    
+    private final Context context;
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
+    private final Date date = new Date();
+    private final Map<Integer, Row[]> pages = new LinkedHashMap<Integer, Row[]>(MAX_CACHED_PAGES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Row[]> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    private Source source;
+    private int count = 0;
+    
+    public HighScoreAdapter(Context context) {
+        this.context = context;
+    }
+    
+    /**
+     * Show another leaderboard (or the same one after it changed)
+     */
+    public void setSource(Source source) {
+        this.source = source;
+        refresh();
+    }
+    
+    public void refresh() {
+        pages.clear();
+        count = source != null ? source.getCount() : 0;
+        notifyDataSetChanged();
+    }
+    
+    @Override
+    public int getCount() {
+        return Math.max(MIN_ROWS, count);
+    }
+    
+    @Override
+    public Object getItem(int position) {
+        return position < count ? row(position) : null;
+    }
+    
+    @Override
+    public long getItemId(int position) {
+        return position;
+    }
+    
+    @Override
+    public boolean hasStableIds() {
+        return true;
+    }
+    
+    @Override
+    public View getView(int position, View convertView, ViewGroup parent) {
+        if (convertView == null) {
+            convertView = createRowView();
+        }
+        ViewHolder holder = (ViewHolder) convertView.getTag();
+        
+        boolean top3 = position < 3;
+        Row row = position < count ? row(position) : null;
+        if (row != null) {
+            holder.rankView.setText(row.rank);
+            holder.scoreView.setText(row.score);
+            holder.scoreView.setTextColor(top3 ? GOLD : Color.WHITE); // Gold for top 3
+            holder.scoreView.setTypeface(top3 ? Typeface.DEFAULT_BOLD : Typeface.DEFAULT);
+            holder.levelView.setText(row.level);
+            holder.dateView.setText(row.date);
+        } else {
+            // Empty slot
+            holder.rankView.setText((position + 1) + ".");
+            holder.scoreView.setText("---");
+            holder.scoreView.setTextColor(Color.GRAY);
+            holder.scoreView.setTypeface(Typeface.DEFAULT);
+            holder.levelView.setText("");
+            holder.dateView.setText("");
+        }
+        return convertView;
+    }
+    
+    private View createRowView() {
+        LinearLayout scoreLayout = new LinearLayout(context);
+        scoreLayout.setOrientation(LinearLayout.HORIZONTAL);
+        scoreLayout.setPadding(0, 10, 0, 10);
+        
+        ViewHolder holder = new ViewHolder();
+        holder.rankView = new TextView(context);
+        holder.rankView.setTextColor(Color.WHITE);
+        holder.rankView.setTextSize(24);
+        holder.rankView.setMinWidth(80);
+        holder.rankView.setTypeface(Typeface.DEFAULT_BOLD);
+        scoreLayout.addView(holder.rankView);
+        
+        holder.scoreView = new TextView(context);
+        holder.scoreView.setTextSize(24);
+        holder.scoreView.setMinWidth(200);
+        scoreLayout.addView(holder.scoreView);
+        
+        holder.levelView = new TextView(context);
+        holder.levelView.setTextColor(Color.CYAN);
+        holder.levelView.setTextSize(20);
+        holder.levelView.setMinWidth(150);
+        scoreLayout.addView(holder.levelView);
+        
+        holder.dateView = new TextView(context);
+        holder.dateView.setTextColor(Color.GRAY);
+        holder.dateView.setTextSize(16);
+        scoreLayout.addView(holder.dateView);
+        
+        scoreLayout.setTag(holder);
+        return scoreLayout;
+    }
+    
+    private Row row(int position) {
+        int pageIndex = position / PAGE_SIZE;
+        Row[] page = pages.get(pageIndex);
+        if (page == null) {
+            page = loadPage(pageIndex);
+            pages.put(pageIndex, page);
+        }
+        int index = position % PAGE_SIZE;
+        return index < page.length ? page[index] : null;
+    }
+    
+    private Row[] loadPage(int pageIndex) {
+        int offset = pageIndex * PAGE_SIZE;
+        List<HighScoreManager.HighScore> scores = source.getPage(offset, PAGE_SIZE);
+        Row[] page = new Row[scores.size()];
+        for (int i = 0; i < page.length; i++) {
+            HighScoreManager.HighScore score = scores.get(i);
+            Row row = new Row();
+            row.rank = (offset + i + 1) + ".";
+            row.score = String.valueOf(score.score);
+            row.level = "Level " + score.level;
+            date.setTime(score.timestamp);
+            row.date = dateFormat.format(date);
+            page[i] = row;
+        }
+        return page;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.templerunclone.ui;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+
+import com.example.templerunclone.engine.Renderer;
+
+/**
+ * Offscreen layer for a static overlay.
+ * The owner composes into it once (when the end state is entered or its data
+ * changes) and every frame after that is a single drawBitmap.
+ */
+public class OverlayLayer {
+    private Bitmap bitmap;
+    private int width, height;
+    private Canvas layerCanvas;
+    private boolean valid = false;
+    
+    /**
+     * Get a cleared canvas of at least the given size to compose into
+     */
+    public Canvas begin(int width, int height) {
+        width = Math.max(1, width);
+        height = Math.max(1, height);
+        if (bitmap == null || bitmap.isRecycled()
+                || bitmap.getWidth() != width || bitmap.getHeight() != height) {
+            release();
+            bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            this.width = width;
+            this.height = height;
+            layerCanvas = new Canvas(bitmap);
+        }
+        bitmap.eraseColor(0);
+        valid = true;
+        return layerCanvas;
+    }
+    
+    public void draw(Renderer renderer, float x, float y) {
+        if (valid && bitmap != null) {
+            renderer.drawSprite(bitmap, x, y, width, height, null);
+        }
+    }
+    
+    public boolean isValid() {
+        return valid && bitmap != null && !bitmap.isRecycled();
+    }
+    
+    public void invalidate() {
+        valid = false;
+    }
+    
+    public void release() {
+        if (bitmap != null && !bitmap.isRecycled()) {
+            bitmap.recycle();
+        }
+        bitmap = null;
+        layerCanvas = null;
+        valid = false;
+    }
+}
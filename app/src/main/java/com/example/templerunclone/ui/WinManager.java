@@ -6,10 +6,14 @@ import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Rect;
 
+import com.example.templerunclone.engine.Renderer;
+
 /**
  * Win Manager để xử lý UI khi game thắng
  */
 public class WinManager {
+    private static final String HIGH_SCORE_TEXT = "NEW HIGH SCORE!";
+    
     private Paint textPaint;
     private Paint buttonPaint;
     private Paint buttonTextPaint;
@@ -29,6 +33,13 @@ public class WinManager {
     
     private int screenWidth, screenHeight;
     
+    // Title, stats and buttons composed once into an offscreen layer
+    private final OverlayLayer contentLayer = new OverlayLayer();
+    private int layerTop;
+    private int cachedScore, cachedLevel;
+    private boolean newHighScore = false;
+    private final Rect bannerBounds = new Rect();
+    
     public WinManager(int screenWidth, int screenHeight) {
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
@@ -88,10 +99,33 @@ public class WinManager {
         this.replayButtonBitmap = replayBitmap;
         this.menuButtonBitmap = menuBitmap;
         this.highScoresButtonBitmap = highScoresBitmap;
+        contentLayer.invalidate();
+    }
+    
+    /**
+     * Show or hide the "new high score" line (known once the score has been saved)
+     */
+    public void setNewHighScore(boolean newHighScore) {
+        if (this.newHighScore != newHighScore) {
+            this.newHighScore = newHighScore;
+            contentLayer.invalidate();
+        }
+    }
+    
+    /**
+     * Screen area of the "new high score" line, so its appearance redraws only that area
+     */
+    public Rect getHighScoreBannerBounds() {
+        textPaint.setTextSize(45);
+        int halfWidth = (int) Math.ceil(textPaint.measureText(HIGH_SCORE_TEXT) / 2f) + 4;
+        int baseline = (int) (screenHeight / 2f + 160);
+        bannerBounds.set(screenWidth / 2 - halfWidth, baseline - 50, screenWidth / 2 + halfWidth, baseline + 15);
+        return bannerBounds;
     }
     
     public void setCongratulationsBitmap(Bitmap congratulationsBitmap) {
         this.congratulationsBitmap = congratulationsBitmap;
+        contentLayer.invalidate();
         if (congratulationsBitmap != null) {
             android.util.Log.d("WinManager", "Congratulations bitmap set successfully, size: " + 
                 congratulationsBitmap.getWidth() + "x" + congratulationsBitmap.getHeight());
@@ -100,10 +134,46 @@ public class WinManager {
         }
     }
     
-    public void draw(Canvas canvas, int score, int level) {
+    public void draw(Renderer renderer, int score, int level) {
         // Draw semi-transparent background
-        canvas.drawRect(0, 0, screenWidth, screenHeight, backgroundPaint);
-
+        renderer.drawRect(0, 0, screenWidth, screenHeight, backgroundPaint);
+        
+        // Re-compose only when entering the end state or when the stats change
+        if (!contentLayer.isValid() || score != cachedScore || level != cachedLevel) {
+            composeLayer(score, level);
+        }
+        contentLayer.draw(renderer, 0, layerTop);
+    }
+    
+    private void composeLayer(int score, int level) {
+        // Layer spans from the top of the image (or title) to below the buttons
+        float top = screenHeight / 2f - 90;
+        float bottom = highScoresButton.bottom + 10;
+        if (congratulationsBitmap != null && !congratulationsBitmap.isRecycled()) {
+            top = Math.min(top, screenHeight / 2f - 200);
+            bottom = Math.max(bottom, screenHeight / 2f - 200 + congratulationsBitmap.getHeight());
+        }
+        layerTop = (int) Math.max(0, top);
+        int layerBottom = (int) Math.min(screenHeight, bottom);
+        Canvas layer = contentLayer.begin(screenWidth, layerBottom - layerTop);
+        
+        layer.save();
+        layer.translate(0, -layerTop);
+        drawContent(layer, score, level);
+        layer.restore();
+        
+        cachedScore = score;
+        cachedLevel = level;
+    }
+    
+    /**
+     * Drop the cached layer (call when leaving the end screen)
+     */
+    public void releaseLayer() {
+        contentLayer.release();
+    }
+    
+    private void drawContent(Canvas canvas, int score, int level) {
         // Draw congratulations image only
         if (congratulationsBitmap != null && !congratulationsBitmap.isRecycled()) {
             float imageX = (screenWidth - congratulationsBitmap.getWidth()) / 2f;
@@ -134,6 +204,13 @@ public class WinManager {
         float levelTextX = (screenWidth - levelTextWidth) / 2f;
         canvas.drawText(levelText, levelTextX, screenHeight / 2f + 100, textPaint);
         
+        if (newHighScore) {
+            textPaint.setColor(Color.rgb(255, 215, 0));
+            textPaint.setTextSize(45);
+            float highScoreTextX = (screenWidth - textPaint.measureText(HIGH_SCORE_TEXT)) / 2f;
+            canvas.drawText(HIGH_SCORE_TEXT, highScoreTextX, screenHeight / 2f + 160, textPaint);
+        }
+        
         // Draw buttons
         drawButtons(canvas);
     }
@@ -179,6 +256,7 @@ public class WinManager {
     }
     
     public void cleanup() {
+        contentLayer.release();
         if (congratulationsBitmap != null && !congratulationsBitmap.isRecycled()) {
             congratulationsBitmap.recycle();
         }
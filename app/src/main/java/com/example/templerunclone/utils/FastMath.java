@@ -0,0 +1,44 @@
+package com.example.templerunclone.utils;
+
+/**
+ * Table-based trigonometry for per-frame movement and effects.
+ * One shared sine table with linear interpolation; accurate to ~1e-5, plenty for pixels.
+ */
+public final class FastMath {
+    public static final float PI = (float) Math.PI;
+    public static final float TWO_PI = (float) (Math.PI * 2);
+    
+    private static final int SIN_BITS = 12;
+    private static final int SIN_SIZE = 1 << SIN_BITS; // samples per full turn
+    private static final int SIN_MASK = SIN_SIZE - 1;
+    private static final float RAD_TO_INDEX = SIN_SIZE / TWO_PI;
+    private static final int QUARTER_TURN = SIN_SIZE / 4;
+    
+    // One extra entry so interpolation never has to wrap
+    private static final float[] SIN_TABLE = new float[SIN_SIZE + 1];
+    
+    static {
+        for (int i = 0; i <= SIN_SIZE; i++) {
+            SIN_TABLE[i] = (float) Math.sin(i * (Math.PI * 2) / SIN_SIZE);
+        }
+    }
+    
+    private FastMath() {
+    }
+    
+    public static float sin(float radians) {
+        return lookup(radians * RAD_TO_INDEX, 0);
+    }
+    
+    public static float cos(float radians) {
+        return lookup(radians * RAD_TO_INDEX, QUARTER_TURN);
+    }
+    
+    private static float lookup(float index, int offset) {
+        float floor = (float) Math.floor(index);
+        int i = ((int) floor + offset) & SIN_MASK;
+        float frac = index - floor;
+        float a = SIN_TABLE[i];
+        return a + (SIN_TABLE[i + 1] - a) * frac;
+    }
+}
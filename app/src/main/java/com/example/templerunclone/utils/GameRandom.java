@@ -0,0 +1,52 @@
+package com.example.templerunclone.utils;
+
+import java.util.Random;
+
+/**
+ * Gameplay random source whose whole state is one long (xorshift64*), so it can
+ * be saved in a game snapshot and resumed on exactly the same sequence.
+ * Drop-in for java.util.Random; not meant to be shared across threads.
+ */
+public class GameRandom extends Random {
+    private long state;
+    
+    public GameRandom() {
+        this(System.nanoTime());
+    }
+    
+    public GameRandom(long seed) {
+        super(seed);
+    }
+    
+    @Override
+    public synchronized void setSeed(long seed) {
+        // Called by the Random constructor before the subclass fields are initialized;
+        // mix the seed so small or similar seeds still give unrelated sequences
+        long z = seed + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        state = z != 0 ? z : 0x9E3779B97F4A7C15L;
+    }
+    
+    @Override
+    protected int next(int bits) {
+        long x = state;
+        x ^= x >>> 12;
+        x ^= x << 25;
+        x ^= x >>> 27;
+        state = x;
+        return (int) ((x * 0x2545F4914F6CDD1DL) >>> (64 - bits));
+    }
+    
+    public long getState() {
+        return state;
+    }
+    
+    /**
+     * Continue the sequence from a value returned by getState()
+     */
+    public void setState(long state) {
+        this.state = state != 0 ? state : 0x9E3779B97F4A7C15L;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.templerunclone.utils;
+
+/**
+ * Parametric movement pattern sampled into a table once, so evaluating an enemy's
+ * offset each frame is an interpolated table read.
+ * Offsets are relative to the enemy's anchor point, in pixels, as a function of time in seconds.
+ */
+public final class MovementPath {
+    
+    public enum Type {
+        SINE            // Horizontal swing
+    }
+    
+    private static final int DEFAULT_SAMPLES = 256;
+    
+    private final Type type;
+    private final float[] offsetX;
+    private final float[] offsetY;
+    private final float duration; // seconds covered by the table
+    private final boolean looping;
+    private final float samplesPerSecond;
+    
+    private MovementPath(Type type, float[] offsetX, float[] offsetY, float duration, boolean looping) {
+        this.type = type;
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+        this.duration = duration;
+        this.looping = looping;
+        this.samplesPerSecond = (offsetX.length - 1) / duration;
+    }
+    
+    public float getX(float timeSeconds) {
+        return sample(offsetX, timeSeconds);
+    }
+    
+    public float getY(float timeSeconds) {
+        return sample(offsetY, timeSeconds);
+    }
+    
+    private float sample(float[] table, float timeSeconds) {
+        float index = timeSeconds * samplesPerSecond;
+        int last = table.length - 1;
+        if (looping) {
+            index %= last;
+            if (index < 0) index += last;
+        } else if (index <= 0f) {
+            return table[0];
+        } else if (index >= last) {
+            return table[last];
+        }
+        int i = (int) index;
+        float a = table[i];
+        return a + (table[i + 1] - a) * (index - i);
+    }
+    
+    public Type getType() { return type; }
+    public float getDuration() { return duration; }
+    public boolean isLooping() { return looping; }
+    
+    /**
+     * Horizontal swing: x = sin(2*pi*f*t) * amplitude
+     */
+    public static MovementPath sine(float amplitude, float frequency) {
+        float period = 1f / frequency;
+        float[] xs = new float[DEFAULT_SAMPLES + 1];
+        float[] ys = new float[DEFAULT_SAMPLES + 1];
+        for (int i = 0; i <= DEFAULT_SAMPLES; i++) {
+            xs[i] = (float) Math.sin(2 * Math.PI * i / DEFAULT_SAMPLES) * amplitude;
+        }
+        return new MovementPath(Type.SINE, xs, ys, period, true);
+    }
+    
+    /**
+     * Build the path table for one type
+     */
+    public static MovementPath create(Type type) {
+        switch (type) {
+            case SINE:
+            default:
+                return sine(120f, 2f);
+        }
+    }
+}
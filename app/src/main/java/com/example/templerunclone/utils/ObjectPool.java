@@ -0,0 +1,60 @@
+package com.example.templerunclone.utils;
+
+/**
+ * Simple fixed-capacity object pool to avoid allocations in the game loop
+ */
+public class ObjectPool<T> {
+    
+    public interface Factory<T> {
+        T create();
+    }
+    
+    private final Factory<T> factory;
+    private final Object[] freeItems;
+    private int freeCount = 0;
+    
+    public ObjectPool(Factory<T> factory, int capacity) {
+        this.factory = factory;
+        this.freeItems = new Object[capacity];
+    }
+    
+    /**
+     * Take an object from the pool, creating a new one only if the pool is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T obtain() {
+        if (freeCount > 0) {
+            T item = (T) freeItems[--freeCount];
+            freeItems[freeCount] = null;
+            return item;
+        }
+        return factory.create();
+    }
+    
+    /**
+     * Give an object back to the pool. Objects beyond capacity are left to the GC.
+     */
+    public void release(T item) {
+        if (item != null && freeCount < freeItems.length) {
+            freeItems[freeCount++] = item;
+        }
+    }
+    
+    /**
+     * Pre-allocate objects so the first frames of a heavy scene don't allocate
+     */
+    public void prefill(int count) {
+        int target = Math.min(count, freeItems.length);
+        while (freeCount < target) {
+            freeItems[freeCount++] = factory.create();
+        }
+    }
+    
+    public int getFreeCount() {
+        return freeCount;
+    }
+    
+    public int getCapacity() {
+        return freeItems.length;
+    }
+}
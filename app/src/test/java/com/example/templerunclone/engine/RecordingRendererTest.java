@@ -0,0 +1,111 @@
+package com.example.templerunclone.engine;
+
+import android.graphics.Paint;
+
+import com.example.templerunclone.entities.Bullet;
+import com.example.templerunclone.entities.bullets.LaserBullet;
+import com.example.templerunclone.managers.ParticleSystem;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Render-path regression checks: a frame is drawn through RecordingRenderer and
+ * its draw calls, batch breaks and overdraw are compared with what the scene needs
+ */
+public class RecordingRendererTest {
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+    
+    private RecordingRenderer renderer;
+    private Paint paint;
+    
+    @Before
+    public void setUp() {
+        renderer = new RecordingRenderer(WIDTH, HEIGHT);
+        paint = new Paint();
+    }
+    
+    /**
+     * Three plain bullets (no sprite, so a rect each), a laser (beam plus glow)
+     * and one kill burst (one batched points call per color)
+     */
+    private void drawScene() {
+        for (int i = 0; i < 3; i++) {
+            new Bullet(100f + i * 50f, 500f, 600f).draw(renderer, paint);
+        }
+        new LaserBullet(400f, 800f, 900f).draw(renderer, paint);
+        
+        ParticleSystem particles = new ParticleSystem();
+        particles.burstKill(540f, 960f);
+        particles.draw(renderer);
+    }
+    
+    @Test
+    public void frameRecordsEachDrawOperation() {
+        drawScene();
+        
+        assertEquals(5, renderer.getDrawCalls(RecordingRenderer.OP_RECT));
+        assertEquals(2, renderer.getDrawCalls(RecordingRenderer.OP_POINTS));
+        assertEquals(0, renderer.getDrawCalls(RecordingRenderer.OP_SPRITE));
+        assertEquals(7, renderer.getDrawCalls());
+    }
+    
+    @Test
+    public void sharedPaintDoesNotBreakBatches() {
+        drawScene();
+        
+        // Rects share the entities' paint and both particle batches share the
+        // particle paint, so the only break is rects -> points
+        assertEquals(1, renderer.getStateChanges());
+    }
+    
+    @Test
+    public void overdrawCountsCoveredArea() {
+        drawScene();
+        
+        // Bullets 8x16 each, laser 6x20 beam plus a 10x20 glow; points add no area
+        double covered = 3 * 8 * 16 + 6 * 20 + 10 * 20;
+        assertEquals(covered / (WIDTH * HEIGHT), renderer.getOverdraw(), 1e-9);
+    }
+    
+    @Test
+    public void spritesCoverTheSizeTheyAreDrawnAt() {
+        // A full-screen background blit under ten 80x80 enemy sprites; bitmaps report
+        // 0x0 on the JVM, so the area must come from the size passed in
+        renderer.drawSprite(null, 0f, 0f, WIDTH, HEIGHT, paint);
+        for (int i = 0; i < 10; i++) {
+            renderer.drawSprite(null, i * 100f, 300f, 80f, 80f, paint);
+        }
+        
+        assertEquals(11, renderer.getDrawCalls(RecordingRenderer.OP_SPRITE));
+        assertEquals(1.0 + 10 * 80.0 * 80.0 / (WIDTH * HEIGHT), renderer.getOverdraw(), 1e-9);
+    }
+    
+    @Test
+    public void backgroundCoversTheWholeScreen() {
+        // No level bitmap on the JVM: the fallback fill plus its stripes
+        new BackgroundRenderer(WIDTH, HEIGHT).draw(renderer, paint);
+        
+        assertTrue(renderer.getOverdraw() >= 1.0);
+    }
+    
+    @Test
+    public void offscreenGeometryIsClipped() {
+        renderer.drawRect(-100f, -100f, 100f, 100f, paint);
+        
+        assertEquals(100.0 * 100.0 / (WIDTH * HEIGHT), renderer.getOverdraw(), 1e-9);
+    }
+    
+    @Test
+    public void resetStartsANewFrame() {
+        drawScene();
+        renderer.reset();
+        
+        assertEquals(0, renderer.getDrawCalls());
+        assertEquals(0, renderer.getStateChanges());
+        assertEquals(0.0, renderer.getOverdraw(), 0.0);
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.templerunclone.managers;
+
+import com.example.templerunclone.entities.Bullet;
+import com.example.templerunclone.entities.Enemy;
+import com.example.templerunclone.entities.bullets.LaserBullet;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Collision queries run against moving objects tick by tick, as the game loop does
+ */
+public class CollisionManagerTest {
+    private static final int SCREEN_WIDTH = 1080;
+    private static final int SCREEN_HEIGHT = 1920;
+    private static final float TICK_MS = 1000f / 60f;
+    
+    /** Enemy that only descends at its speed, so every run is repeatable */
+    private static class DescendingEnemy extends Enemy {
+        DescendingEnemy(float x, float y, float speed) {
+            super(x, y, 80f, 80f, null, speed, 1, new Random(1));
+        }
+        
+        @Override
+        public void update(float deltaTime) {
+            y += speed * deltaTime / 1000f;
+        }
+    }
+    
+    /** Stationary enemy of any size, e.g. a thin one a fast bullet could skip over */
+    private static class ThinEnemy extends Enemy {
+        ThinEnemy(float x, float y, float width, float height) {
+            super(x, y, width, height, null, 0f, 1, new Random(1));
+        }
+        
+        @Override
+        public void update(float deltaTime) {
+        }
+    }
+    
+    @Test
+    public void laserHitsDescendingEnemyHeadOn() {
+        // Sweep the enemy's start over more than one tick of relative motion,
+        // so every phase between laser and enemy is covered
+        for (int phase = 0; phase < 40; phase++) {
+            assertEquals("phase " + phase, 1, countLaserHits(100f + phase, 150f, 600f));
+        }
+    }
+    
+    @Test
+    public void laserHitsFastDescendingEnemy() {
+        for (int phase = 0; phase < 40; phase++) {
+            assertEquals("phase " + phase, 1, countLaserHits(100f + phase * 2, 500f, 900f));
+        }
+    }
+    
+    @Test
+    public void laserMissesEnemyOutsideItsColumn() {
+        CollisionManager collisions = new CollisionManager(SCREEN_WIDTH, SCREEN_HEIGHT);
+        List<Enemy> enemies = new ArrayList<>();
+        enemies.add(new DescendingEnemy(100f, 400f, 150f));
+        collisions.updateBroadphase(enemies);
+        
+        assertTrue(collisions.raycastVertical(500f, 506f, 1500f, 0f, 4).isEmpty());
+    }
+    
+    @Test
+    public void fastBulletDoesNotTunnelThroughThinEnemy() {
+        // 3000 px/s covers 50 px a tick: both the bullet's start and end boxes
+        // miss a 10 px tall enemy sitting between them
+        CollisionManager collisions = new CollisionManager(SCREEN_WIDTH, SCREEN_HEIGHT);
+        Enemy thin = new ThinEnemy(500f, 1000f, 80f, 10f);
+        List<Enemy> enemies = new ArrayList<>();
+        enemies.add(thin);
+        collisions.updateBroadphase(enemies);
+        
+        Bullet bullet = new Bullet(530f, 1020f, 3000f);
+        bullet.savePreviousPosition();
+        bullet.update(TICK_MS);
+        assertTrue(bullet.getY() + bullet.getHeight() < thin.getY());
+        assertFalse(bullet.intersects(thin));
+        
+        assertSame(thin, collisions.queryFirstBulletHit(bullet));
+        float toi = collisions.getLastTimeOfImpact();
+        assertTrue(toi > 0f && toi < 1f);
+    }
+    
+    @Test
+    public void sweepReportsWhenTheBoxesFirstTouch() {
+        Enemy thin = new ThinEnemy(500f, 1000f, 80f, 10f);
+        Bullet bullet = new Bullet(530f, 1040f, 3000f);   // 30 px below the enemy
+        bullet.savePreviousPosition();
+        bullet.update(TICK_MS);                            // moves 50 px up
+        
+        assertEquals(30f / 50f, CollisionManager.sweep(bullet, thin), 1e-4f);
+        
+        Bullet wide = new Bullet(700f, 1040f, 3000f);      // passes beside it
+        wide.savePreviousPosition();
+        wide.update(TICK_MS);
+        assertEquals(CollisionManager.NO_HIT, CollisionManager.sweep(wide, thin), 0f);
+    }
+    
+    @Test
+    public void firstHitIsTheEarliestAlongThePath() {
+        // Listed far enemy first, so the answer cannot come from list order
+        CollisionManager collisions = new CollisionManager(SCREEN_WIDTH, SCREEN_HEIGHT);
+        Enemy far = new ThinEnemy(500f, 985f, 80f, 10f);
+        Enemy near = new ThinEnemy(500f, 1005f, 80f, 10f);
+        List<Enemy> enemies = new ArrayList<>();
+        enemies.add(far);
+        enemies.add(near);
+        collisions.updateBroadphase(enemies);
+        
+        Bullet bullet = new Bullet(530f, 1020f, 3000f);
+        bullet.savePreviousPosition();
+        bullet.update(TICK_MS);
+        
+        assertSame(near, collisions.queryFirstBulletHit(bullet));
+        float nearToi = collisions.getLastTimeOfImpact();
+        assertEquals(5f / 50f, nearToi, 1e-4f);
+        assertTrue(nearToi < CollisionManager.sweep(bullet, far));
+    }
+    
+    @Test
+    public void firstHitSkipsInactiveEnemies() {
+        CollisionManager collisions = new CollisionManager(SCREEN_WIDTH, SCREEN_HEIGHT);
+        Enemy far = new ThinEnemy(500f, 985f, 80f, 10f);
+        Enemy near = new ThinEnemy(500f, 1005f, 80f, 10f);
+        near.setActive(false);
+        List<Enemy> enemies = new ArrayList<>();
+        enemies.add(near);
+        enemies.add(far);
+        collisions.updateBroadphase(enemies);
+        
+        Bullet bullet = new Bullet(530f, 1020f, 3000f);
+        bullet.savePreviousPosition();
+        bullet.update(TICK_MS);
+        
+        assertSame(far, collisions.queryFirstBulletHit(bullet));
+    }
+    
+    @Test
+    public void radiusQueryMeasuresToEnemyBounds() {
+        CollisionManager collisions = new CollisionManager(SCREEN_WIDTH, SCREEN_HEIGHT);
+        List<Enemy> enemies = new ArrayList<>();
+        Enemy touching = new DescendingEnemy(160f, 500f, 0f);  // left edge 60 px from the centre
+        Enemy outside = new DescendingEnemy(161f, 600f, 0f);   // nearest corner about 85 px away
+        Enemy inactive = new DescendingEnemy(100f, 460f, 0f);
+        inactive.setActive(false);
+        enemies.add(touching);
+        enemies.add(outside);
+        enemies.add(inactive);
+        collisions.updateBroadphase(enemies);
+        
+        List<Enemy> splashed = collisions.findEnemiesInRadius(100f, 540f, 60f);
+        assertEquals(1, splashed.size());
+        assertSame(touching, splashed.get(0));
+    }
+    
+    @Test
+    public void radiusQueryNeedsBroadphase() {
+        CollisionManager collisions = new CollisionManager(SCREEN_WIDTH, SCREEN_HEIGHT);
+        assertTrue(collisions.findEnemiesInRadius(100f, 100f, 500f).isEmpty());
+    }
+    
+    @Test
+    public void nearestEnemiesComeBackNearestFirst() {
+        CollisionManager collisions = new CollisionManager(SCREEN_WIDTH, SCREEN_HEIGHT);
+        List<Enemy> enemies = new ArrayList<>();
+        Enemy far = new DescendingEnemy(860f, 960f, 0f);
+        Enemy near = new DescendingEnemy(560f, 960f, 0f);
+        Enemy middle = new DescendingEnemy(460f, 1260f, 0f);
+        enemies.add(far);
+        enemies.add(near);
+        enemies.add(middle);
+        collisions.updateBroadphase(enemies);
+        
+        // Centres lie 400, 100 and 300 px from (500, 1000)
+        List<Enemy> nearest = collisions.findNearestEnemies(500f, 1000f, 2);
+        assertEquals(2, nearest.size());
+        assertSame(near, nearest.get(0));
+        assertSame(middle, nearest.get(1));
+        assertSame(near, collisions.findNearestEnemy(500f, 1000f));
+    }
+    
+    @Test
+    public void nearestEnemiesReachSparseCorners() {
+        // One enemy per corner: the search square has to grow across the whole screen
+        CollisionManager collisions = new CollisionManager(SCREEN_WIDTH, SCREEN_HEIGHT);
+        List<Enemy> enemies = new ArrayList<>();
+        Enemy topLeft = new DescendingEnemy(0f, 0f, 0f);
+        Enemy bottomRight = new DescendingEnemy(SCREEN_WIDTH - 80f, SCREEN_HEIGHT - 80f, 0f);
+        enemies.add(bottomRight);
+        enemies.add(topLeft);
+        collisions.updateBroadphase(enemies);
+        
+        List<Enemy> nearest = collisions.findNearestEnemies(10f, 10f, 5);
+        assertEquals(2, nearest.size());
+        assertSame(topLeft, nearest.get(0));
+        assertSame(bottomRight, nearest.get(1));
+    }
+    
+    @Test
+    public void nearestEnemySkipsInactiveOnes() {
+        CollisionManager collisions = new CollisionManager(SCREEN_WIDTH, SCREEN_HEIGHT);
+        List<Enemy> enemies = new ArrayList<>();
+        Enemy gone = new DescendingEnemy(500f, 500f, 0f);
+        gone.setActive(false);
+        Enemy alive = new DescendingEnemy(900f, 1500f, 0f);
+        enemies.add(gone);
+        enemies.add(alive);
+        collisions.updateBroadphase(enemies);
+        
+        assertSame(alive, collisions.findNearestEnemy(540f, 540f));
+        assertTrue(collisions.findNearestEnemies(540f, 540f, 0).isEmpty());
+    }
+    
+    /**
+     * Fire a laser from the bottom of the screen at an enemy above it and count the
+     * ticks on which the beam reports the enemy
+     */
+    private static int countLaserHits(float enemyY, float enemySpeed, float laserSpeed) {
+        CollisionManager collisions = new CollisionManager(SCREEN_WIDTH, SCREEN_HEIGHT);
+        Enemy enemy = new DescendingEnemy(500f, enemyY, enemySpeed);
+        List<Enemy> enemies = new ArrayList<>();
+        enemies.add(enemy);
+        LaserBullet laser = new LaserBullet(537f, SCREEN_HEIGHT - 200f, laserSpeed);
+        
+        int hits = 0;
+        for (int tick = 0; tick < 600 && !laser.isOffScreen(); tick++) {
+            enemy.savePreviousPosition();
+            enemy.update(TICK_MS);
+            laser.savePreviousPosition();
+            laser.update(TICK_MS);
+            collisions.updateBroadphase(enemies);
+            
+            List<Enemy> hit = collisions.raycastVertical(laser.getX(), laser.getX() + laser.getWidth(),
+                laser.getPrevY(), laser.getY(), 4);
+            hits += hit.size();
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.templerunclone.managers;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.*;
+
+/**
+ * Day and week boards are checked with the clock stepped across their boundaries
+ */
+public class LeaderboardIndexTest {
+    private static final long HOUR = 60L * 60L * 1000L;
+    private static final long DAY = 24L * HOUR;
+    
+    /** Local noon on a Wednesday, mid-week whichever day the locale starts weeks on */
+    private static long wednesdayNoon() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(2026, Calendar.OCTOBER, 14, 12, 0, 0);
+        return calendar.getTimeInMillis();
+    }
+    
+    /** Local midnight starting the given day */
+    private static long midnight(long time) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar.getTimeInMillis();
+    }
+    
+    private static HighScoreManager.HighScore run(int score, int level, long timestamp) {
+        return new HighScoreManager.HighScore(score, level, timestamp);
+    }
+    
+    @Test
+    public void runsLandOnTheirLevelAndAllLevels() {
+        long now = wednesdayNoon();
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.add(run(100, 2, now), now);
+        
+        assertEquals(1, index.get(2, Leaderboard.Period.ALL_TIME, now).size());
+        assertEquals(1, index.get(LeaderboardIndex.ALL_LEVELS, Leaderboard.Period.ALL_TIME, now).size());
+        assertEquals(0, index.get(1, Leaderboard.Period.ALL_TIME, now).size());
+    }
+    
+    @Test
+    public void olderRunsOnlyReachTheWiderBoards() {
+        long now = wednesdayNoon();
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.add(run(100, 1, now - DAY), now);          // Tuesday
+        index.add(run(200, 1, now - 30 * DAY), now);     // last month
+        
+        assertEquals(0, index.get(1, Leaderboard.Period.DAY, now).size());
+        assertEquals(1, index.get(1, Leaderboard.Period.WEEK, now).size());
+        assertEquals(2, index.get(1, Leaderboard.Period.ALL_TIME, now).size());
+    }
+    
+    @Test
+    public void dayBoardEmptiesAtMidnight() {
+        long now = wednesdayNoon();
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.add(run(100, 1, now), now);
+        
+        long beforeMidnight = midnight(now + DAY) - 1;
+        assertEquals(1, index.get(1, Leaderboard.Period.DAY, beforeMidnight).size());
+        
+        long thursday = midnight(now + DAY) + HOUR;
+        assertEquals(0, index.get(1, Leaderboard.Period.DAY, thursday).size());
+        assertEquals(1, index.get(1, Leaderboard.Period.WEEK, thursday).size());
+        assertEquals(1, index.get(1, Leaderboard.Period.ALL_TIME, thursday).size());
+        
+        // Runs saved after the rollover fill the new day's board
+        index.add(run(50, 1, thursday), thursday);
+        assertEquals(1, index.get(1, Leaderboard.Period.DAY, thursday).size());
+        assertEquals(50, index.get(1, Leaderboard.Period.DAY, thursday).get(0).score);
+    }
+    
+    @Test
+    public void weekBoardEmptiesWhenTheWeekRollsOver() {
+        long now = wednesdayNoon();
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.add(run(100, 1, now), now);
+        
+        long nextWeek = now + 7 * DAY;
+        assertEquals(0, index.get(1, Leaderboard.Period.WEEK, nextWeek).size());
+        assertEquals(0, index.get(1, Leaderboard.Period.DAY, nextWeek).size());
+        assertEquals(1, index.get(1, Leaderboard.Period.ALL_TIME, nextWeek).size());
+    }
+    
+    @Test
+    public void replayedHistoryIsSortedOnceLoaded() {
+        long now = wednesdayNoon();
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.beginLoad();
+        index.add(run(100, 1, now - 2 * HOUR), now);
+        index.add(run(300, 1, now - HOUR), now);
+        index.add(run(200, 1, now), now);
+        index.endLoad();
+        
+        Leaderboard today = index.get(1, Leaderboard.Period.DAY, now);
+        assertEquals(300, today.get(0).score);
+        assertEquals(200, today.get(1).score);
+        assertEquals(100, today.get(2).score);
+        assertEquals(2, today.rankOf(250));
+    }
+}
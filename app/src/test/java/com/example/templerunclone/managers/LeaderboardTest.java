@@ -0,0 +1,92 @@
+package com.example.templerunclone.managers;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Ordering and rank lookups of one leaderboard
+ */
+public class LeaderboardTest {
+    
+    private static HighScoreManager.HighScore run(int score, long timestamp) {
+        return new HighScoreManager.HighScore(score, 1, timestamp);
+    }
+    
+    @Test
+    public void tiesKeepTheEarlierRunFirst() {
+        Leaderboard board = new Leaderboard();
+        HighScoreManager.HighScore first = run(100, 1000L);
+        HighScoreManager.HighScore second = run(100, 2000L);
+        HighScoreManager.HighScore best = run(200, 3000L);
+        board.add(first);
+        board.add(second);
+        board.add(best);
+        
+        assertEquals(3, board.size());
+        assertSame(best, board.get(0));
+        assertSame(first, board.get(1));
+        assertSame(second, board.get(2));
+    }
+    
+    @Test
+    public void bulkLoadSortsLikeAdding() {
+        Leaderboard board = new Leaderboard();
+        HighScoreManager.HighScore first = run(100, 1000L);
+        HighScoreManager.HighScore best = run(200, 2000L);
+        HighScoreManager.HighScore second = run(100, 3000L);
+        board.append(first);
+        board.append(best);
+        board.append(second);
+        board.sort();
+        
+        assertSame(best, board.get(0));
+        assertSame(first, board.get(1));
+        assertSame(second, board.get(2));
+    }
+    
+    @Test
+    public void rankCountsOnlyStrictlyHigherScores() {
+        Leaderboard board = new Leaderboard();
+        board.add(run(300, 1000L));
+        board.add(run(200, 2000L));
+        board.add(run(200, 3000L));
+        board.add(run(100, 4000L));
+        
+        assertEquals(1, board.rankOf(400));
+        assertEquals(1, board.rankOf(300));
+        assertEquals(2, board.rankOf(250));
+        assertEquals(2, board.rankOf(200));
+        assertEquals(4, board.rankOf(150));
+        assertEquals(5, board.rankOf(50));
+    }
+    
+    @Test
+    public void growsPastItsInitialCapacity() {
+        Leaderboard board = new Leaderboard();
+        for (int i = 0; i < 100; i++) {
+            board.add(run(i, i));
+        }
+        assertEquals(100, board.size());
+        assertEquals(99, board.get(0).score);
+        assertEquals(0, board.get(99).score);
+        assertEquals(51, board.rankOf(49));
+    }
+    
+    @Test
+    public void pagesAreClampedToTheBoard() {
+        Leaderboard board = new Leaderboard();
+        for (int i = 1; i <= 5; i++) {
+            board.add(run(i * 10, i));
+        }
+        
+        List<HighScoreManager.HighScore> page = board.page(3, 10);
+        assertEquals(2, page.size());
+        assertEquals(20, page.get(0).score);
+        assertEquals(10, page.get(1).score);
+        assertTrue(board.page(5, 3).isEmpty());
+        assertTrue(board.page(0, 0).isEmpty());
+    }
+}
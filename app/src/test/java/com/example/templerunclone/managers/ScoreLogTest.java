@@ -0,0 +1,123 @@
+package com.example.templerunclone.managers;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * The score log is reopened from disk the way the game does at startup
+ */
+public class ScoreLogTest {
+    private static final int HEADER_SIZE = 8;
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    /** Collects the live runs a replay ends with */
+    private static class Replay implements ScoreLog.Visitor {
+        final List<Integer> scores = new ArrayList<>();
+        int clears;
+        
+        @Override
+        public void onRecord(int score, int level, long timestamp) {
+            scores.add(score);
+        }
+        
+        @Override
+        public void onCleared() {
+            scores.clear();
+            clears++;
+        }
+    }
+    
+    @Test
+    public void runsSurviveReopening() throws IOException {
+        File file = new File(folder.getRoot(), "scores.bin");
+        ScoreLog log = new ScoreLog(file);
+        log.append(120, 1, 1000L);
+        log.appendAll(2, new int[]{300, 80}, new int[]{2, 1}, new long[]{2000L, 3000L});
+        
+        Replay replay = new Replay();
+        assertEquals(3, new ScoreLog(file).load(replay));
+        assertEquals(3, replay.scores.size());
+        assertEquals(Integer.valueOf(120), replay.scores.get(0));
+        assertEquals(Integer.valueOf(80), replay.scores.get(2));
+    }
+    
+    @Test
+    public void tombstoneDropsEarlierRuns() throws IOException {
+        File file = new File(folder.getRoot(), "scores.bin");
+        ScoreLog log = new ScoreLog(file);
+        log.append(120, 1, 1000L);
+        log.append(300, 2, 2000L);
+        log.appendClear();
+        log.append(50, 1, 3000L);
+        assertEquals(1, log.getRecordCount());
+        
+        Replay replay = new Replay();
+        ScoreLog reopened = new ScoreLog(file);
+        assertEquals(1, reopened.load(replay));
+        assertEquals(1, replay.clears);
+        assertEquals(1, replay.scores.size());
+        assertEquals(Integer.valueOf(50), replay.scores.get(0));
+    }
+    
+    @Test
+    public void clearWithNothingAfterItLeavesNoRuns() throws IOException {
+        File file = new File(folder.getRoot(), "scores.bin");
+        ScoreLog log = new ScoreLog(file);
+        log.append(120, 1, 1000L);
+        log.appendClear();
+        
+        Replay replay = new Replay();
+        assertEquals(0, new ScoreLog(file).load(replay));
+        assertTrue(replay.scores.isEmpty());
+    }
+    
+    @Test
+    public void tornTailIsCompactedAwayBeforeTheNextAppend() throws IOException {
+        File file = new File(folder.getRoot(), "scores.bin");
+        ScoreLog log = new ScoreLog(file);
+        log.append(120, 1, 1000L);
+        log.append(300, 2, 2000L);
+        
+        // A crash halfway through the third record
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(new byte[]{0, 0, 1, 0, 0});
+        }
+        
+        ScoreLog reopened = new ScoreLog(file);
+        Replay replay = new Replay();
+        assertEquals(2, reopened.load(replay));
+        assertEquals(2, replay.scores.size());
+        
+        // The next record starts on a record boundary, not after the torn bytes
+        reopened.append(75, 3, 3000L);
+        assertEquals(HEADER_SIZE + 3 * ScoreLog.RECORD_SIZE, file.length());
+        
+        replay = new Replay();
+        assertEquals(3, new ScoreLog(file).load(replay));
+        assertEquals(Integer.valueOf(75), replay.scores.get(2));
+    }
+    
+    @Test
+    public void unrecognizedFileStartsOver() throws IOException {
+        File file = new File(folder.getRoot(), "scores.bin");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write("not a score log".getBytes("UTF-8"));
+        }
+        
+        ScoreLog log = new ScoreLog(file);
+        assertEquals(0, log.load(new Replay()));
+        log.append(10, 1, 1000L);
+        assertEquals(1, new ScoreLog(file).load(new Replay()));
+    }
+}